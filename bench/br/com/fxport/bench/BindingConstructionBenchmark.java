@@ -0,0 +1,105 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.Bindings;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.binding.NumberBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+/**
+ * Cost of creating a single arithmetic node through the {@link Bindings}
+ * factories, next to the same node built with JavaFX {@code double} bindings.
+ * <p>
+ * Every created binding subscribes to its operands, so the operands are
+ * recreated per invocation to keep their listener lists from growing across
+ * the whole measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BindingConstructionBenchmark {
+
+    private BigDecimalProperty a;
+    private BigDecimalProperty b;
+    private DoubleProperty da;
+    private DoubleProperty db;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        a = new SimpleBigDecimalProperty(new BigDecimal("12.50"));
+        b = new SimpleBigDecimalProperty(new BigDecimal("0.25"));
+        da = new SimpleDoubleProperty(12.5);
+        db = new SimpleDoubleProperty(0.25);
+    }
+
+    @Benchmark
+    public BigDecimalBinding add() {
+        return Bindings.add(a, b);
+    }
+
+    @Benchmark
+    public BigDecimalBinding subtract() {
+        return Bindings.subtract(a, b);
+    }
+
+    @Benchmark
+    public BigDecimalBinding multiply() {
+        return Bindings.multiply(a, b);
+    }
+
+    @Benchmark
+    public BigDecimalBinding divide() {
+        return Bindings.divide(a, b);
+    }
+
+    @Benchmark
+    public BigDecimalBinding addConstant() {
+        return Bindings.add(a, 100);
+    }
+
+    @Benchmark
+    public NumberBinding doubleAdd() {
+        return javafx.beans.binding.Bindings.add(da, db);
+    }
+
+    @Benchmark
+    public NumberBinding doubleSubtract() {
+        return javafx.beans.binding.Bindings.subtract(da, db);
+    }
+
+    @Benchmark
+    public NumberBinding doubleMultiply() {
+        return javafx.beans.binding.Bindings.multiply(da, db);
+    }
+
+    @Benchmark
+    public NumberBinding doubleDivide() {
+        return javafx.beans.binding.Bindings.divide(da, db);
+    }
+
+    @Benchmark
+    public DoubleBinding doubleAddConstant() {
+        return da.add(100.0);
+    }
+}
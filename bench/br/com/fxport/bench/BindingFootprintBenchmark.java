@@ -0,0 +1,91 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.Bindings;
+import javafx.beans.Observable;
+
+/**
+ * Memory footprint of arithmetic and comparison nodes. Run with
+ * {@code -prof gc}: {@code graph} builds 256 properties and reduces them
+ * pairwise with {@code operation} into 255 nodes, {@code leaves} only builds
+ * the properties, so
+ * {@code (graph - leaves) / 255} of {@code gc.alloc.rate.norm} is the number
+ * of bytes a node keeps alive: the binding, its observer and its share of the
+ * listener arrays of its operands. Nothing allocated here is garbage before
+ * the graph is dropped, except the one-listener helper an operand replaces
+ * when it gets a second listener, as the leaves of {@code greaterThan} do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BindingFootprintBenchmark {
+
+    private static final int LEAVES = 256;
+    private static final BigDecimal VALUE = new BigDecimal("12.50");
+
+    @Param({ "add", "multiply", "addConstant", "greaterThan" })
+    public String operation;
+
+    @Benchmark
+    public Object leaves() {
+        final SimpleBigDecimalProperty[] leaves = new SimpleBigDecimalProperty[LEAVES];
+        for (int i = 0; i < LEAVES; i++) {
+            leaves[i] = new SimpleBigDecimalProperty(VALUE);
+        }
+        return leaves;
+    }
+
+    @Benchmark
+    public Object graph() {
+        final ObservableBigDecimalValue[] level = new ObservableBigDecimalValue[LEAVES];
+        for (int i = 0; i < LEAVES; i++) {
+            level[i] = new SimpleBigDecimalProperty(VALUE);
+        }
+        if ("greaterThan".equals(operation)) {
+            // comparisons end a graph, so the leaves are compared pairwise
+            final Observable[] result = new Observable[LEAVES - 1];
+            for (int i = 0; i < (LEAVES - 1); i++) {
+                result[i] = Bindings.greaterThan(level[i], level[i + 1]);
+            }
+            return result;
+        }
+        for (int n = LEAVES; n > 1; n /= 2) {
+            for (int i = 0; i < (n / 2); i++) {
+                level[i] = combine(level[2 * i], level[(2 * i) + 1]);
+            }
+        }
+        return level[0];
+    }
+
+    private ObservableBigDecimalValue combine(ObservableBigDecimalValue op1, ObservableBigDecimalValue op2) {
+        switch (operation) {
+        case "add":
+            return Bindings.add(op1, op2);
+        case "multiply":
+            return Bindings.multiply(op1, op2);
+        case "addConstant":
+            // op2 is dropped, its allocation is part of leaves as well
+            return Bindings.add(op1, 100);
+        default:
+            throw new IllegalStateException(operation);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BigDecimalExpression;
+import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.BigDecimalSumBinding;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.Bindings;
+import javafx.beans.binding.DoubleExpression;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+/**
+ * Measures one tick through a binding graph: {@code set} on a source property,
+ * the invalidation cascade through every {@link BigDecimalBinding} and the
+ * final {@code get()} that recomputes the graph.
+ * <p>
+ * Three graph shapes are built for {@code size} nodes, each with a
+ * {@code double} twin of the same shape:
+ * <ul>
+ * <li>chain: {@code x(i) = x(i-1) + 1}, the source feeds the head;</li>
+ * <li>diamond: {@code x(i) = (x(i-1) + 1) + (x(i-1) - 1)}, so every level
+ * reads its parent twice;</li>
+ * <li>fan-in: {@code size} source properties added into one total, only one
+ * of them changes per tick;</li>
+ * <li>fused fan-in: the same sources summed by one
+ * {@link Bindings#sum(ObservableBigDecimalValue...)} node;</li>
+ * <li>incremental fan-in: the same sources summed by a
+ * {@link BigDecimalSumBinding}, which applies only the changed operand.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BindingPropagationBenchmark {
+
+    private static final BigDecimal[] TICKS = { new BigDecimal("10.25"), new BigDecimal("10.50") };
+    private static final double[] DOUBLE_TICKS = { 10.25, 10.50 };
+
+    @Param({ "1", "16", "256" })
+    public int size;
+
+    private int tick;
+
+    private BigDecimalProperty chainSource;
+    private BigDecimalExpression chain;
+    private DoubleProperty doubleChainSource;
+    private DoubleExpression doubleChain;
+
+    private BigDecimalProperty diamondSource;
+    private BigDecimalExpression diamond;
+    private DoubleProperty doubleDiamondSource;
+    private DoubleExpression doubleDiamond;
+
+    private BigDecimalProperty[] fanInSources;
+    private BigDecimalExpression fanIn;
+    private BigDecimalProperty[] fusedFanInSources;
+    private BigDecimalBinding fusedFanIn;
+    private BigDecimalProperty[] incrementalFanInSources;
+    private BigDecimalSumBinding incrementalFanIn;
+    private DoubleProperty[] doubleFanInSources;
+    private DoubleExpression doubleFanIn;
+
+    @Setup
+    public void setUp() {
+        chainSource = new SimpleBigDecimalProperty(BigDecimal.ZERO);
+        doubleChainSource = new SimpleDoubleProperty();
+        chain = chainSource;
+        doubleChain = doubleChainSource;
+        for (int i = 0; i < size; i++) {
+            chain = chain.add(1);
+            doubleChain = doubleChain.add(1.0);
+        }
+
+        // Diamond levels double the value, keep the depth bounded for double.
+        final int depth = Math.min(size, 64);
+        diamondSource = new SimpleBigDecimalProperty(BigDecimal.ZERO);
+        doubleDiamondSource = new SimpleDoubleProperty();
+        diamond = diamondSource;
+        doubleDiamond = doubleDiamondSource;
+        for (int i = 0; i < depth; i++) {
+            diamond = diamond.add(1).add(diamond.subtract(1));
+            doubleDiamond = doubleDiamond.add(1.0).add(doubleDiamond.subtract(1.0));
+        }
+
+        fanInSources = new BigDecimalProperty[size];
+        doubleFanInSources = new DoubleProperty[size];
+        ObservableBigDecimalValue total = null;
+        DoubleExpression doubleTotal = null;
+        for (int i = 0; i < size; i++) {
+            fanInSources[i] = new SimpleBigDecimalProperty(BigDecimal.ONE);
+            doubleFanInSources[i] = new SimpleDoubleProperty(1.0);
+            total = (total == null) ? fanInSources[i] : Bindings.add(total, fanInSources[i]);
+            doubleTotal = (doubleTotal == null) ? doubleFanInSources[i] : doubleTotal.add(doubleFanInSources[i]);
+        }
+        fanIn = BigDecimalExpression.bigDecimalExpression(total);
+        doubleFanIn = doubleTotal;
+
+        fusedFanInSources = new BigDecimalProperty[size];
+        for (int i = 0; i < size; i++) {
+            fusedFanInSources[i] = new SimpleBigDecimalProperty(BigDecimal.ONE);
+        }
+        fusedFanIn = Bindings.sum(fusedFanInSources);
+
+        incrementalFanInSources = new BigDecimalProperty[size];
+        for (int i = 0; i < size; i++) {
+            incrementalFanInSources[i] = new SimpleBigDecimalProperty(BigDecimal.ONE);
+        }
+        incrementalFanIn = Bindings.incrementalSum(incrementalFanInSources);
+
+        chain.get();
+        doubleChain.get();
+        diamond.getValue();
+        doubleDiamond.get();
+        fanIn.get();
+        fusedFanIn.get();
+        incrementalFanIn.get();
+        doubleFanIn.get();
+    }
+
+    private int nextTick() {
+        tick ^= 1;
+        return tick;
+    }
+
+    @Benchmark
+    public BigDecimal chain() {
+        chainSource.set(TICKS[nextTick()]);
+        return chain.getValue();
+    }
+
+    @Benchmark
+    public double doubleChain() {
+        doubleChainSource.set(DOUBLE_TICKS[nextTick()]);
+        return doubleChain.get();
+    }
+
+    @Benchmark
+    public BigDecimal diamond() {
+        diamondSource.set(TICKS[nextTick()]);
+        return diamond.getValue();
+    }
+
+    @Benchmark
+    public double doubleDiamond() {
+        doubleDiamondSource.set(DOUBLE_TICKS[nextTick()]);
+        return doubleDiamond.get();
+    }
+
+    @Benchmark
+    public BigDecimal fanIn() {
+        fanInSources[size / 2].set(TICKS[nextTick()]);
+        return fanIn.getValue();
+    }
+
+    @Benchmark
+    public BigDecimal fusedFanIn() {
+        fusedFanInSources[size / 2].set(TICKS[nextTick()]);
+        return fusedFanIn.get();
+    }
+
+    @Benchmark
+    public BigDecimal incrementalFanIn() {
+        incrementalFanInSources[size / 2].set(TICKS[nextTick()]);
+        return incrementalFanIn.get();
+    }
+
+    @Benchmark
+    public double doubleFanIn() {
+        doubleFanInSources[size / 2].set(DOUBLE_TICKS[nextTick()]);
+        return doubleFanIn.get();
+    }
+}
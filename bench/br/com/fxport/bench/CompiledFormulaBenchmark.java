@@ -0,0 +1,79 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.BigDecimalExpressionCompiler;
+import br.com.fxport.util.BigDecimalExpressionCompiler.Backend;
+import br.com.fxport.util.BigDecimalExpressionCompiler.Expression;
+import br.com.fxport.util.Bindings;
+
+/**
+ * One tick of {@code (price * qty - discount) * (1 + tax)}: one of the four
+ * properties is set and the total is read. {@code formula=nodes} is the graph
+ * of four bindings built by {@link Bindings}, {@code formula=compiled} the
+ * same graph compiled by {@link BigDecimalExpressionCompiler}, which listens
+ * to the properties only and evaluates the formula in one pass, and
+ * {@code formula=generated} the same with {@link Backend#BYTECODE}. With
+ * {@code -prof gc} the allocation per tick is compared as well.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompiledFormulaBenchmark {
+
+    private static final BigDecimal[][] TICKS = {
+            { new BigDecimal("10.25"), new BigDecimal("10.50") },
+            { new BigDecimal("3"), new BigDecimal("4") },
+            { new BigDecimal("1.25"), new BigDecimal("0.75") },
+            { new BigDecimal("0.08"), new BigDecimal("0.07") } };
+
+    @Param({ "nodes", "compiled", "generated" })
+    public String formula;
+
+    private int tick;
+    private BigDecimalProperty[] inputs;
+    private BigDecimalBinding total;
+
+    @Setup
+    public void setUp() {
+        inputs = new BigDecimalProperty[4];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new SimpleBigDecimalProperty(TICKS[i][0]);
+        }
+        if ("nodes".equals(formula)) {
+            total = Bindings.multiply(Bindings.subtract(Bindings.multiply(inputs[0], inputs[1]), inputs[2]),
+                    Bindings.add(1, inputs[3]));
+        } else {
+            total = BigDecimalExpressionCompiler.compile(Expression.of(inputs[0]).multiply(inputs[1])
+                    .subtract(inputs[2]).multiply(Expression.of(BigDecimal.ONE).add(inputs[3])),
+                    "generated".equals(formula) ? Backend.BYTECODE : Backend.INTERPRETER);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal tick() {
+        final int input = tick & 3;
+        inputs[input].set(TICKS[input][(tick >> 2) & 1]);
+        tick++;
+        return total.get();
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fxport.util.DecimalStringConverter;
+import javafx.util.converter.BigDecimalStringConverter;
+
+/**
+ * Parses the text of an edited cell, {@code "1.234.567,89"} in
+ * {@code Locale.GERMANY}. {@code decimalFormat} is a {@code DecimalFormat}
+ * with {@code setParseBigDecimal(true)}; {@code plain} is the JavaFX
+ * {@code BigDecimalStringConverter} on {@code "1234567.89"}, which is not
+ * locale aware and shown as the lower bound of {@code new BigDecimal(String)}.
+ * {@code long} has more digits than fit in a long.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecimalParserBenchmark {
+
+    @Param({ "short", "long" })
+    public String input;
+
+    private String localized;
+    private String plain;
+    private DecimalFormat decimalFormat;
+    private DecimalStringConverter converter;
+    private BigDecimalStringConverter plainConverter;
+
+    @Setup
+    public void setUp() {
+        if ("short".equals(input)) {
+            localized = "1.234.567,89";
+            plain = "1234567.89";
+        } else {
+            localized = "123.456.789.012.345.678.901.234,56789";
+            plain = "123456789012345678901234.56789";
+        }
+        decimalFormat = (DecimalFormat) NumberFormat.getNumberInstance(Locale.GERMANY);
+        decimalFormat.setParseBigDecimal(true);
+        converter = new DecimalStringConverter(Locale.GERMANY);
+        plainConverter = new BigDecimalStringConverter();
+    }
+
+    @Benchmark
+    public BigDecimal decimalFormat() throws ParseException {
+        return (BigDecimal) decimalFormat.parse(localized);
+    }
+
+    @Benchmark
+    public BigDecimal converter() {
+        return converter.fromString(localized);
+    }
+
+    @Benchmark
+    public BigDecimal plain() {
+        return plainConverter.fromString(plain);
+    }
+}
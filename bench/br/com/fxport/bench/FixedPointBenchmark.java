@@ -0,0 +1,93 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.FixedPointDecimalBinding;
+import br.com.fxport.properties.FixedPointDecimalProperty;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.Bindings;
+
+/**
+ * One price tick through {@code amount = round(price * qty, 2) + fee}, once
+ * with {@link FixedPointDecimalProperty} read as an unscaled {@code long} and
+ * once with {@link SimpleBigDecimalProperty}. Run with {@code -prof gc} to see
+ * the allocation rate of both.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FixedPointBenchmark {
+
+    private static final long[] PRICE_TICKS = { 1025000000L, 1050000000L };
+    private static final BigDecimal[] DECIMAL_PRICE_TICKS = { BigDecimal.valueOf(PRICE_TICKS[0], 8),
+            BigDecimal.valueOf(PRICE_TICKS[1], 8) };
+
+    private int tick;
+
+    private FixedPointDecimalProperty price;
+    private FixedPointDecimalBinding amount;
+
+    private BigDecimalProperty decimalPrice;
+    private BigDecimalBinding decimalAmount;
+
+    @Setup
+    public void setUp() {
+        price = new FixedPointDecimalProperty(8, DECIMAL_PRICE_TICKS[0]);
+        final FixedPointDecimalProperty qty = new FixedPointDecimalProperty(2, new BigDecimal("150.00"));
+        final FixedPointDecimalProperty fee = new FixedPointDecimalProperty(2, new BigDecimal("1.25"));
+        amount = Bindings.add(Bindings.multiply(price, qty, 2, RoundingMode.HALF_EVEN), fee);
+
+        decimalPrice = new SimpleBigDecimalProperty(DECIMAL_PRICE_TICKS[0]);
+        final BigDecimalProperty decimalQty = new SimpleBigDecimalProperty(new BigDecimal("150.00"));
+        final BigDecimalProperty decimalFee = new SimpleBigDecimalProperty(new BigDecimal("1.25"));
+        decimalAmount = Bindings.add(
+                Bindings.createBigDecimalBinding(
+                        () -> decimalPrice.get().multiply(decimalQty.get()).setScale(2, RoundingMode.HALF_EVEN),
+                        decimalPrice, decimalQty),
+                decimalFee);
+
+        amount.getUnscaledValue();
+        decimalAmount.get();
+    }
+
+    private int nextTick() {
+        tick ^= 1;
+        return tick;
+    }
+
+    @Benchmark
+    public long fixedPoint() {
+        price.set(PRICE_TICKS[nextTick()]);
+        return amount.getUnscaledValue();
+    }
+
+    @Benchmark
+    public BigDecimal fixedPointAsBigDecimal() {
+        price.set(PRICE_TICKS[nextTick()]);
+        return amount.get();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        decimalPrice.set(DECIMAL_PRICE_TICKS[nextTick()]);
+        return decimalAmount.get();
+    }
+}
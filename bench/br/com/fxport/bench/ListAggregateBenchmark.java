@@ -0,0 +1,85 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.Bindings;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * A blotter of {@code size} rows with a sum and a maximum over the list: one
+ * row changes its value, or a row is removed and added back, followed by a
+ * {@code get()} of both aggregates. The rebuild case recomputes the sum over
+ * the whole list, as a {@code createBigDecimalBinding} over the list does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListAggregateBenchmark {
+
+    private static final BigDecimal[] TICKS = { new BigDecimal("10.25"), new BigDecimal("10.50") };
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    private int tick;
+    private ObservableList<SimpleBigDecimalProperty> rows;
+    private BigDecimalBinding sum;
+    private BigDecimalBinding max;
+
+    @Setup
+    public void setUp() {
+        rows = FXCollections.observableArrayList();
+        for (int i = 0; i < size; i++) {
+            rows.add(new SimpleBigDecimalProperty(BigDecimal.valueOf(i, 2)));
+        }
+        sum = Bindings.sum(rows);
+        max = Bindings.max(rows);
+        sum.get();
+        max.get();
+    }
+
+    @Benchmark
+    public BigDecimal rowChanged() {
+        tick ^= 1;
+        rows.get(size / 2).set(TICKS[tick]);
+        max.get();
+        return sum.get();
+    }
+
+    @Benchmark
+    public BigDecimal rowReplaced() {
+        rows.add(rows.remove(size / 2));
+        max.get();
+        return sum.get();
+    }
+
+    @Benchmark
+    public BigDecimal rebuild() {
+        tick ^= 1;
+        rows.get(size / 2).set(TICKS[tick]);
+        BigDecimal total = BigDecimal.ZERO;
+        for (final SimpleBigDecimalProperty row : rows) {
+            total = total.add(row.get());
+        }
+        return total;
+    }
+}
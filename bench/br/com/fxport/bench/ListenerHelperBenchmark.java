@@ -0,0 +1,84 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.javafx.binding.ExpressionHelper;
+
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.BigDecimalExpressionHelper;
+import javafx.beans.InvalidationListener;
+
+/**
+ * Compares {@link BigDecimalExpressionHelper} with the JavaFX
+ * {@link ExpressionHelper} it replaces, both holding {@code listeners}
+ * invalidation listeners: removing and re-adding the listener in the middle,
+ * and one notification of all of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListenerHelperBenchmark {
+
+    @Param({ "1", "10", "1000", "100000" })
+    public int listeners;
+
+    private final SimpleBigDecimalProperty observable = new SimpleBigDecimalProperty(BigDecimal.ONE);
+    private InvalidationListener[] all;
+    private int notified;
+    private ExpressionHelper<BigDecimal> expressionHelper;
+    private BigDecimalExpressionHelper helper;
+
+    @Setup
+    public void setUp() {
+        all = new InvalidationListener[listeners];
+        for (int i = 0; i < listeners; i++) {
+            all[i] = observable -> notified++;
+            expressionHelper = ExpressionHelper.addListener(expressionHelper, observable, all[i]);
+            helper = BigDecimalExpressionHelper.addListener(helper, observable, all[i]);
+        }
+    }
+
+    @Benchmark
+    public Object expressionHelperAddRemove() {
+        final InvalidationListener middle = all[listeners / 2];
+        expressionHelper = ExpressionHelper.removeListener(expressionHelper, middle);
+        expressionHelper = ExpressionHelper.addListener(expressionHelper, observable, middle);
+        return expressionHelper;
+    }
+
+    @Benchmark
+    public Object helperAddRemove() {
+        final InvalidationListener middle = all[listeners / 2];
+        helper = BigDecimalExpressionHelper.removeListener(helper, middle);
+        helper = BigDecimalExpressionHelper.addListener(helper, observable, middle);
+        return helper;
+    }
+
+    @Benchmark
+    public int expressionHelperFire() {
+        ExpressionHelper.fireValueChangedEvent(expressionHelper);
+        return notified;
+    }
+
+    @Benchmark
+    public int helperFire() {
+        BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+        return notified;
+    }
+}
@@ -0,0 +1,306 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.properties.base.BigDecimalConstant;
+import br.com.fxport.util.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.collections.FXCollections;
+
+/**
+ * One tick through a graph mixing add, subtract, multiply, divide and negate:
+ * {@code width} properties feed {@code depth} levels of {@code width} nodes,
+ * node {@code i} of a level reads nodes {@code i} and {@code i + 1} of the
+ * level below with the operation {@code (i + level) % 5}. On top of them, flag
+ * {@code i} compares nodes {@code i} and {@code i + 1} of the top level with
+ * the comparison {@code i % 6}. A tick sets one property and reads the flags.
+ * <p>
+ * {@code nodes=factories} builds the graph with {@link Bindings}, where every
+ * operation is a {@code BigDecimalOperationBinding} and every comparison a
+ * {@code BigDecimalComparisonBinding}. {@code nodes=classes} builds the same
+ * graph with one {@code BigDecimalBinding} or {@code BooleanBinding} subclass
+ * per operation and comparison, the way the factories used to, so
+ * {@code computeValue()} and the {@code get()} of the operands are called on
+ * many binding classes and a property class from the same call sites. Each
+ * runs in its own fork, so the type profiles of one do not leak into the
+ * other.
+ * <p>
+ * Before measuring, the setup evaluates a few other kinds of bindings, as an
+ * application would, so the call sites shared by all bindings have seen more
+ * than two receiver classes either way.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MixedGraphBenchmark {
+
+    private static final BigDecimal[] TICKS = { new BigDecimal("10.25"), new BigDecimal("10.50") };
+    private static final BigDecimalConstant TWO = BigDecimalConstant.valueOf(2);
+
+    @Param({ "16" })
+    public int width;
+
+    @Param({ "8" })
+    public int depth;
+
+    @Param({ "factories", "classes" })
+    public String nodes;
+
+    private int tick;
+    private BigDecimalProperty[] sources;
+    private BooleanBinding[] flags;
+
+    @Setup
+    public void setUp() {
+        sources = new BigDecimalProperty[width];
+        for (int i = 0; i < width; i++) {
+            sources[i] = new SimpleBigDecimalProperty(BigDecimal.valueOf(i + 1));
+        }
+        final boolean useFactories = "factories".equals(nodes);
+        final BigDecimalBinding[] top = build(useFactories);
+        flags = new BooleanBinding[width];
+        for (int i = 0; i < width; i++) {
+            final BigDecimalBinding a = top[i];
+            final BigDecimalBinding b = top[(i + 1) % width];
+            flags[i] = useFactories ? factoryComparison(i % 6, a, b) : subclassComparison(i % 6, a, b);
+        }
+        warmOtherBindings();
+    }
+
+    private void warmOtherBindings() {
+        final BigDecimalBinding[] others = {
+                Bindings.createBigDecimalBinding(() -> sources[0].get().abs(), sources[0]),
+                Bindings.sum(sources),
+                Bindings.product(sources[0], sources[1]),
+                Bindings.incrementalSum(sources),
+                Bindings.max(FXCollections.observableArrayList(sources)) };
+        final BooleanBinding positive = javafx.beans.binding.Bindings
+                .createBooleanBinding(() -> sources[0].get().signum() > 0, sources[0]);
+        final BooleanBinding[] otherFlags = {
+                positive,
+                javafx.beans.binding.Bindings.not(positive),
+                javafx.beans.binding.Bindings.and(positive, javafx.beans.binding.Bindings.not(positive)) };
+        for (int i = 0; i < 20_000; i++) {
+            sources[0].set(TICKS[i & 1]);
+            for (final BigDecimalBinding other : others) {
+                other.get();
+            }
+            for (final BooleanBinding other : otherFlags) {
+                other.get();
+            }
+        }
+    }
+
+    private BigDecimalBinding[] build(boolean useFactories) {
+        ObservableBigDecimalValue[] level = sources;
+        BigDecimalBinding[] next = null;
+        for (int l = 0; l < depth; l++) {
+            next = new BigDecimalBinding[width];
+            for (int i = 0; i < width; i++) {
+                final ObservableBigDecimalValue a = level[i];
+                final ObservableBigDecimalValue b = level[(i + 1) % width];
+                next[i] = useFactories ? factory((i + l) % 5, a, b) : subclass((i + l) % 5, a, b);
+            }
+            level = next;
+        }
+        return next;
+    }
+
+    private static BigDecimalBinding factory(int op, ObservableBigDecimalValue a, ObservableBigDecimalValue b) {
+        switch (op) {
+        case 0:
+            return Bindings.add(a, b);
+        case 1:
+            return Bindings.subtract(a, b);
+        case 2:
+            return Bindings.multiply(a, 2);
+        case 3:
+            return Bindings.divide(a, 2);
+        default:
+            return Bindings.negate(a);
+        }
+    }
+
+    private static BigDecimalBinding subclass(int op, ObservableBigDecimalValue a, ObservableBigDecimalValue b) {
+        switch (op) {
+        case 0:
+            return new BigDecimalBinding() {
+                {
+                    bind(a, b);
+                }
+
+                @Override
+                protected BigDecimal computeValue() {
+                    return a.get().add(b.get());
+                }
+            };
+        case 1:
+            return new BigDecimalBinding() {
+                {
+                    bind(a, b);
+                }
+
+                @Override
+                protected BigDecimal computeValue() {
+                    return a.get().subtract(b.get());
+                }
+            };
+        case 2:
+            return new BigDecimalBinding() {
+                {
+                    bind(a);
+                }
+
+                @Override
+                protected BigDecimal computeValue() {
+                    return a.get().multiply(TWO.get());
+                }
+            };
+        case 3:
+            return new BigDecimalBinding() {
+                {
+                    bind(a);
+                }
+
+                @Override
+                protected BigDecimal computeValue() {
+                    return a.get().divide(TWO.get());
+                }
+            };
+        default:
+            return new BigDecimalBinding() {
+                {
+                    bind(a);
+                }
+
+                @Override
+                protected BigDecimal computeValue() {
+                    return a.get().negate();
+                }
+            };
+        }
+    }
+
+    private static BooleanBinding factoryComparison(int op, ObservableBigDecimalValue a,
+            ObservableBigDecimalValue b) {
+        switch (op) {
+        case 0:
+            return Bindings.equal(a, b);
+        case 1:
+            return Bindings.notEqual(a, b);
+        case 2:
+            return Bindings.greaterThan(a, b);
+        case 3:
+            return Bindings.lessThan(a, b);
+        case 4:
+            return Bindings.greaterThanOrEqual(a, b);
+        default:
+            return Bindings.lessThanOrEqual(a, b);
+        }
+    }
+
+    private static BooleanBinding subclassComparison(int op, ObservableBigDecimalValue a,
+            ObservableBigDecimalValue b) {
+        switch (op) {
+        case 0:
+            return new BooleanBinding() {
+                {
+                    bind(a, b);
+                }
+
+                @Override
+                protected boolean computeValue() {
+                    return a.get().compareTo(b.get()) == 0;
+                }
+            };
+        case 1:
+            return new BooleanBinding() {
+                {
+                    bind(a, b);
+                }
+
+                @Override
+                protected boolean computeValue() {
+                    return a.get().compareTo(b.get()) != 0;
+                }
+            };
+        case 2:
+            return new BooleanBinding() {
+                {
+                    bind(a, b);
+                }
+
+                @Override
+                protected boolean computeValue() {
+                    return a.get().compareTo(b.get()) > 0;
+                }
+            };
+        case 3:
+            return new BooleanBinding() {
+                {
+                    bind(a, b);
+                }
+
+                @Override
+                protected boolean computeValue() {
+                    return a.get().compareTo(b.get()) < 0;
+                }
+            };
+        case 4:
+            return new BooleanBinding() {
+                {
+                    bind(a, b);
+                }
+
+                @Override
+                protected boolean computeValue() {
+                    return a.get().compareTo(b.get()) >= 0;
+                }
+            };
+        default:
+            return new BooleanBinding() {
+                {
+                    bind(a, b);
+                }
+
+                @Override
+                protected boolean computeValue() {
+                    return a.get().compareTo(b.get()) <= 0;
+                }
+            };
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        sources[tick % width].set(TICKS[(tick / width) & 1]);
+        tick++;
+        int set = 0;
+        for (final BooleanBinding flag : flags) {
+            if (flag.get()) {
+                set++;
+            }
+        }
+        return set;
+    }
+}
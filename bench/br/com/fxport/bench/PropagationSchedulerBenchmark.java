@@ -0,0 +1,77 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.PropagationScheduler;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.Bindings;
+
+/**
+ * A stack of {@code size} diamonds, {@code x(i) = x(i-1) * 2 + x(i-1) * 3},
+ * with a {@code ChangeListener} on every sum. Without the
+ * {@link PropagationScheduler} a sum notifies as soon as its first product
+ * does, so its listener computes it from a stale second product and it is
+ * notified and computed again right after. The notifications double with every
+ * level, hence the small sizes. With the scheduler every sum notifies once, in
+ * rank order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropagationSchedulerBenchmark {
+
+    private static final BigDecimal[] TICKS = { new BigDecimal("10.25"), new BigDecimal("10.50") };
+
+    @Param({ "4", "12" })
+    public int size;
+
+    @Param({ "false", "true" })
+    public boolean scheduled;
+
+    private int tick;
+    private BigDecimalProperty source;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        PropagationScheduler.setEnabled(scheduled);
+        source = new SimpleBigDecimalProperty(BigDecimal.ONE);
+        BigDecimalBinding level = Bindings.add(source, 0);
+        for (int i = 0; i < size; i++) {
+            level = Bindings.add(Bindings.multiply(level, 2), Bindings.multiply(level, 3));
+            level.addListener((observable, oldValue, newValue) -> this.blackhole.consume(newValue));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        PropagationScheduler.setEnabled(false);
+    }
+
+    @Benchmark
+    public void tick() {
+        tick ^= 1;
+        source.set(TICKS[tick]);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.javafx.binding.StringFormatter;
+
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.Bindings;
+import javafx.beans.binding.StringBinding;
+
+/**
+ * A grid cell formatted with {@code "%,.2f"}: the value changes and the text is
+ * read, or the value is set to a numerically equal one, as when a row is
+ * refreshed without a price change. {@code formatter} is the previous
+ * {@code asString(Locale, String)}, going through {@code StringFormatter}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringBindingBenchmark {
+
+    private static final BigDecimal[] TICKS = { new BigDecimal("1234567.125"), new BigDecimal("1234567.5") };
+    private static final BigDecimal[] SAME = { new BigDecimal("1234567.5"), new BigDecimal("1234567.50") };
+
+    @Param({ "formatter", "compiled" })
+    public String impl;
+
+    private int tick;
+    private SimpleBigDecimalProperty value;
+    private StringBinding text;
+
+    @Setup
+    public void setUp() {
+        value = new SimpleBigDecimalProperty(TICKS[0]);
+        text = "formatter".equals(impl) ? (StringBinding) StringFormatter.format(Locale.GERMANY, "%,.2f", value)
+                : Bindings.format(Locale.GERMANY, "%,.2f", value);
+        text.get();
+    }
+
+    @Benchmark
+    public String changed() {
+        tick ^= 1;
+        value.set(TICKS[tick]);
+        return text.get();
+    }
+
+    @Benchmark
+    public String unchanged() {
+        tick ^= 1;
+        value.set(SAME[tick]);
+        return text.get();
+    }
+}
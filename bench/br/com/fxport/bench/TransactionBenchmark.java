@@ -0,0 +1,76 @@
+package br.com.fxport.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.BigDecimalTransaction;
+import br.com.fxport.util.Bindings;
+
+/**
+ * A market data frame: {@code size} properties are set one after the other,
+ * while a {@code ChangeListener} watches a total over all of them. Without a
+ * transaction the listener recomputes the total after every {@code set}, with
+ * one it runs once per frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionBenchmark {
+
+    private static final BigDecimal[] TICKS = { new BigDecimal("10.25"), new BigDecimal("10.50") };
+
+    @Param({ "16", "256" })
+    public int size;
+
+    private int tick;
+    private BigDecimalProperty[] sources;
+    private BigDecimalBinding total;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        sources = new BigDecimalProperty[size];
+        for (int i = 0; i < size; i++) {
+            sources[i] = new SimpleBigDecimalProperty(BigDecimal.ONE);
+        }
+        total = Bindings.sum(sources);
+        total.addListener((observable, oldValue, newValue) -> this.blackhole.consume(newValue));
+    }
+
+    private void frame() {
+        tick ^= 1;
+        for (final BigDecimalProperty source : sources) {
+            source.set(TICKS[tick]);
+        }
+    }
+
+    @Benchmark
+    public void withoutTransaction() {
+        frame();
+    }
+
+    @Benchmark
+    public void withTransaction() {
+        BigDecimalTransaction.run(this::frame);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.fxport.interfaces;
+
+/**
+ * An {@link ObservableBigDecimalValue} backed by an unscaled {@code long} at a
+ * fixed scale, i.e. the value is {@code unscaledValue * 10^-scale}.
+ * <p>
+ * Readers that understand this interface can work on the {@code long} and
+ * avoid creating a {@code BigDecimal} for every update. Values that do not
+ * fit into a {@code long} at the fixed scale are still supported, they are
+ * reported as not {@link #isCompact() compact} and are only available through
+ * {@link #get()}.
+ */
+public interface ObservableFixedPointValue extends ObservableBigDecimalValue {
+
+    /**
+     * Returns the fixed scale of this value.
+     *
+     * @return the scale
+     */
+    int getScale();
+
+    /**
+     * Returns {@code true} if the current value fits into a {@code long} at
+     * {@link #getScale()}, so {@link #getUnscaledValue()} can be called.
+     *
+     * @return {@code true} if the value is held as an unscaled {@code long}
+     */
+    boolean isCompact();
+
+    /**
+     * Returns the current value as an unscaled {@code long} at
+     * {@link #getScale()}.
+     *
+     * @return the unscaled value
+     * @throws ArithmeticException
+     *             if the value is not {@link #isCompact() compact}
+     */
+    long getUnscaledValue();
+}
@@ -0,0 +1,404 @@
+package br.com.fxport.properties;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.sun.javafx.binding.Logging;
+import com.sun.javafx.collections.ImmutableObservableList;
+
+import br.com.fxport.interfaces.InterfaceBigDecimalBinding;
+import br.com.fxport.util.BigDecimalExpressionHelper;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * A binding that evaluates a function of the values of its dependencies on a
+ * background {@link Executor} and serves the last result in the meantime.
+ * <p>
+ * {@link #get()} never blocks. If the dependencies changed since the last
+ * result, it starts a computation and returns the previous result (the
+ * initial value at first). When the computation finishes, the result is handed
+ * to the apply executor, which should run it on the UI thread, e.g.
+ * {@code Platform::runLater}; there the binding stores it and notifies its
+ * listeners. If a dependency changes while a computation is running, the
+ * computation is cancelled (its thread is interrupted) and a new one is
+ * started, so only results for the current inputs are ever published.
+ * <p>
+ * When a computation starts, the values of the dependencies are read on the
+ * thread that uses the binding, which also revalidates them so that their next
+ * change is reported, and the function receives them in the order of the
+ * dependencies, {@code null} for an {@code Observable} that is not an
+ * {@link ObservableValue}. The function runs on the background thread and must
+ * not read the dependencies itself, nor any other state that is not safe to
+ * read from there. Everything else, the dependencies, {@code get()}, the
+ * listeners and the published results, is confined to one thread: the one the
+ * apply executor runs its tasks on. The background thread only hands the
+ * result to the apply executor and never touches the binding itself. As in
+ * {@link br.com.fxport.util.Bindings#createBigDecimalBinding(Callable, Observable...)},
+ * an exception thrown by the function is logged and publishes zero.
+ * <p>
+ * The default executor runs every computation on its own virtual thread when
+ * the runtime supports them, and on a shared pool of daemon threads
+ * otherwise. There is no default apply executor, as only the application
+ * knows its UI thread: bindings created without one require it to be set
+ * first with {@link #setDefaultApplyExecutor(Executor)}, e.g. to
+ * {@code Platform::runLater}.
+ */
+public class AsyncBigDecimalBinding extends BigDecimalExpression implements InterfaceBigDecimalBinding {
+
+    private static volatile Executor defaultExecutor = null;
+    private static volatile Executor defaultApplyExecutor = null;
+
+    private final Function<Object[], BigDecimal> function;
+    private final Observable[] dependencies;
+    private final Executor executor;
+    private final Executor applyExecutor;
+    private final InvalidationListener listener;
+    private BigDecimalExpressionHelper helper = null;
+    private BigDecimal value;
+    private boolean valid = false;
+    private long generation = 0;
+    private Computation running = null;
+    private ObservableList<?> dependencyList;
+
+    /**
+     * The constructor of {@code AsyncBigDecimalBinding}, using the default
+     * executors and zero as the initial value.
+     *
+     * @param function
+     *            the function that calculates the value from the values of
+     *            the dependencies
+     * @param dependencies
+     *            the dependencies of this binding
+     * @throws IllegalStateException
+     *             if no default apply executor was set
+     */
+    public AsyncBigDecimalBinding(Function<Object[], BigDecimal> function, Observable... dependencies) {
+        this(function, getDefaultExecutor(), requireDefaultApplyExecutor(), BigDecimal.ZERO, dependencies);
+    }
+
+    /**
+     * The constructor of {@code AsyncBigDecimalBinding}.
+     *
+     * @param function
+     *            the function that calculates the value from the values of
+     *            the dependencies
+     * @param executor
+     *            the {@code Executor} that runs {@code function}
+     * @param applyExecutor
+     *            the {@code Executor} that publishes results, usually the UI
+     *            thread; it must run its tasks on the thread that uses the
+     *            binding
+     * @param initialValue
+     *            the value served until the first result is published
+     * @param dependencies
+     *            the dependencies of this binding
+     * @throws NullPointerException
+     *             if {@code function} or one of the executors is {@code null}
+     */
+    public AsyncBigDecimalBinding(Function<Object[], BigDecimal> function, Executor executor, Executor applyExecutor,
+            BigDecimal initialValue, Observable... dependencies) {
+        if ((function == null) || (executor == null) || (applyExecutor == null)) {
+            throw new NullPointerException("Function and executors cannot be null.");
+        }
+        this.function = function;
+        this.executor = executor;
+        this.applyExecutor = applyExecutor;
+        this.value = initialValue;
+        this.dependencies = (dependencies == null) ? new Observable[0] : dependencies.clone();
+        this.listener = new Listener(this);
+        for (final Observable dep : this.dependencies) {
+            dep.addListener(listener);
+        }
+    }
+
+    /**
+     * Returns the executor used by bindings created without one. Runs every
+     * computation on its own virtual thread if the runtime supports them, on
+     * a cached pool of daemon threads otherwise.
+     *
+     * @return the default {@code Executor}
+     */
+    public static Executor getDefaultExecutor() {
+        Executor executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (AsyncBigDecimalBinding.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    executor = defaultExecutor = createDefaultExecutor();
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Sets the executor used by bindings created without one from now on.
+     *
+     * @param executor
+     *            the new default {@code Executor}
+     * @throws NullPointerException
+     *             if {@code executor} is {@code null}
+     */
+    public static void setDefaultExecutor(Executor executor) {
+        if (executor == null) {
+            throw new NullPointerException("Executor cannot be null.");
+        }
+        defaultExecutor = executor;
+    }
+
+    /**
+     * Returns the executor that publishes results of bindings created without
+     * one.
+     *
+     * @return the default apply {@code Executor}, or {@code null} if none was
+     *         set
+     */
+    public static Executor getDefaultApplyExecutor() {
+        return defaultApplyExecutor;
+    }
+
+    /**
+     * Returns the default apply executor of the bindings created without one.
+     *
+     * @throws IllegalStateException
+     *             if none was set
+     */
+    static Executor requireDefaultApplyExecutor() {
+        final Executor applyExecutor = defaultApplyExecutor;
+        if (applyExecutor == null) {
+            throw new IllegalStateException("No apply executor, pass one or set the default with "
+                    + "AsyncBigDecimalBinding.setDefaultApplyExecutor, e.g. to Platform::runLater.");
+        }
+        return applyExecutor;
+    }
+
+    /**
+     * Sets the executor that publishes results of bindings created without one
+     * from now on. A JavaFX application sets it to {@code Platform::runLater}.
+     * It must run its tasks on the thread that uses those bindings.
+     *
+     * @param applyExecutor
+     *            the new default apply {@code Executor}
+     * @throws NullPointerException
+     *             if {@code applyExecutor} is {@code null}
+     */
+    public static void setDefaultApplyExecutor(Executor applyExecutor) {
+        if (applyExecutor == null) {
+            throw new NullPointerException("Executor cannot be null.");
+        }
+        defaultApplyExecutor = applyExecutor;
+    }
+
+    private static Executor createDefaultExecutor() {
+        try {
+            // Java 21+, looked up reflectively as the library targets Java 17
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            final AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                final Thread thread = new Thread(runnable, "AsyncBigDecimalBinding-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    @Override
+    public void addListener(ChangeListener<? super BigDecimal> listener) {
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeListener(ChangeListener<? super BigDecimal> listener) {
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    /**
+     * Returns the last published value. If the dependencies changed since,
+     * a computation is started unless one is already running.
+     *
+     * @return the last published value
+     */
+    @Override
+    public BigDecimal get() {
+        if (!valid && (running == null)) {
+            start();
+        }
+        return value;
+    }
+
+    /**
+     * Returns {@code true} while a computation is running.
+     *
+     * @return {@code true} if a result is pending
+     */
+    public boolean isComputing() {
+        return running != null;
+    }
+
+    private void start() {
+        final Object[] values = new Object[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            if (dependencies[i] instanceof ObservableValue) {
+                values[i] = ((ObservableValue<?>) dependencies[i]).getValue();
+            }
+        }
+        final Computation computation = new Computation(this, generation, values);
+        running = computation;
+        executor.execute(computation);
+    }
+
+    private void dependencyInvalidated() {
+        generation++;
+        if (running != null) {
+            // somebody is waiting for the value, restart with the new inputs
+            running.cancel(true);
+            start();
+        }
+        if (valid) {
+            valid = false;
+            BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+        }
+    }
+
+    private void publish(long computedFor, Computation computation, BigDecimal result) {
+        if ((computedFor != generation) || (running != computation)) {
+            return;
+        }
+        running = null;
+        value = result;
+        valid = true;
+        PropagationScheduler.beginPropagation();
+        try {
+            BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+        } finally {
+            PropagationScheduler.endPropagation();
+        }
+    }
+
+    /**
+     * Discards the current value as if a dependency had changed.
+     */
+    @Override
+    public void invalidate() {
+        dependencyInvalidated();
+    }
+
+    /**
+     * Returns {@code true} if the last published value was computed from the
+     * current values of the dependencies.
+     */
+    @Override
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Stops observing the dependencies and cancels a running computation.
+     */
+    @Override
+    public void dispose() {
+        for (final Observable dep : dependencies) {
+            dep.removeListener(listener);
+        }
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        if (dependencyList == null) {
+            dependencyList = (dependencies.length == 0)?
+                    FXCollections.emptyObservableList()
+                    : (dependencies.length == 1)?
+                            FXCollections.singletonObservableList(dependencies[0])
+                            : new ImmutableObservableList<Observable>(dependencies);
+        }
+        return dependencyList;
+    }
+
+    /**
+     * Returns a string representation of this {@code AsyncBigDecimalBinding} object.
+     * @return a string representation of this {@code AsyncBigDecimalBinding} object.
+     */
+    @Override
+    public String toString() {
+        return "AsyncBigDecimalBinding [value: " + value + (valid ? "" : ", invalid")
+                + (isComputing() ? ", computing" : "") + "]";
+    }
+
+    private static class Computation extends FutureTask<BigDecimal> {
+
+        private final AsyncBigDecimalBinding binding;
+        private final long generation;
+
+        Computation(AsyncBigDecimalBinding binding, long generation, Object[] values) {
+            super(() -> binding.function.apply(values));
+            this.binding = binding;
+            this.generation = generation;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            BigDecimal result;
+            try {
+                result = get();
+            } catch (ExecutionException e) {
+                Logging.getLogger().warning("Exception while evaluating binding", e.getCause());
+                result = BigDecimal.ZERO;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            final BigDecimal value = result;
+            binding.applyExecutor.execute(() -> binding.publish(generation, this, value));
+        }
+    }
+
+    private static class Listener implements InvalidationListener {
+
+        private final WeakReference<AsyncBigDecimalBinding> wref;
+
+        public Listener(AsyncBigDecimalBinding ref) {
+            this.wref = new WeakReference<>(ref);
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            AsyncBigDecimalBinding ref = wref.get();
+            if (ref == null) {
+                observable.removeListener(this);
+            } else {
+                ref.dependencyInvalidated();
+            }
+        }
+    }
+}
@@ -3,9 +3,11 @@ package br.com.fxport.properties;
 import java.math.BigDecimal;
 
 import com.sun.javafx.binding.BindingHelperObserver;
-import com.sun.javafx.binding.ExpressionHelper;
 
 import br.com.fxport.interfaces.InterfaceBigDecimalBinding;
+import br.com.fxport.util.BigDecimalExpressionHelper;
+import br.com.fxport.util.BigDecimalTransaction;
+import br.com.fxport.util.EqualityPolicy;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
@@ -16,27 +18,68 @@ public abstract class BigDecimalBinding extends BigDecimalExpression implements
 
     private BigDecimal value;
     private boolean valid;
-    private BindingHelperObserver observer;
-    private ExpressionHelper<BigDecimal> helper = null;
+    private BigDecimalExpressionHelper helper = null;
+    private int rank = 0;
+    private Extras extras = null;
+
+    {
+        final BindingMetrics.Counters metrics = BindingMetrics.register(this);
+        if (metrics != null) {
+            extras().metrics = metrics;
+        }
+    }
+
+    /**
+     * The state only some bindings use: the observer of
+     * {@link BigDecimalBinding#bind(Observable...)}, the early cutoff policy,
+     * the metrics and the stamps of transaction deliveries. It is created on
+     * first use, so a node that observes its operands itself and is never
+     * read in a transaction, like {@link BigDecimalOperationBinding}, only
+     * pays for the reference.
+     */
+    private static final class Extras {
+        BindingHelperObserver observer;
+        EqualityPolicy earlyCutoffPolicy;
+        BindingMetrics.Counters metrics;
+        long notifiedIn;
+        long computedIn;
+    }
+
+    private Extras extras() {
+        if (extras == null) {
+            extras = new Extras();
+        }
+        return extras;
+    }
 
     @Override
     public void addListener(InvalidationListener listener) {
-        helper = ExpressionHelper.addListener(helper, this, listener);
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
     }
 
     @Override
     public void removeListener(InvalidationListener listener) {
-        helper = ExpressionHelper.removeListener(helper, listener);
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
     }
 
     @Override
     public void addListener(ChangeListener<? super BigDecimal> listener) {
-        helper = ExpressionHelper.addListener(helper, this, listener);
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
     }
 
     @Override
     public void removeListener(ChangeListener<? super BigDecimal> listener) {
-        helper = ExpressionHelper.removeListener(helper, listener);
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    /**
+     * Returns the number of {@code InvalidationListener}s and
+     * {@code ChangeListener}s registered with this binding.
+     *
+     * @return the number of listeners
+     */
+    public int getListenerCount() {
+        return BigDecimalExpressionHelper.getListenerCount(helper);
     }
 
     /**
@@ -48,15 +91,40 @@ public abstract class BigDecimalBinding extends BigDecimalExpression implements
      */
     protected final void bind(Observable... dependencies) {
         if ((dependencies != null) && (dependencies.length > 0)) {
-            if (observer == null) {
-                observer = new BindingHelperObserver(this);
+            final Extras x = extras();
+            if (x.observer == null) {
+                x.observer = new BindingHelperObserver(this);
             }
             for (final Observable dep : dependencies) {
-                dep.addListener(observer);
+                dep.addListener(x.observer);
             }
+            updateRank(dependencies);
         }
     }
 
+    /**
+     * Raises the rank of this binding above the ranks of the given
+     * dependencies, see {@link PropagationScheduler}. Called by
+     * {@link #bind(Observable...)}; extending classes that observe their
+     * dependencies with their own listeners call it themselves.
+     *
+     * @param dependencies
+     *            the dependencies of this binding
+     */
+    protected final void updateRank(Observable... dependencies) {
+        rank = PropagationScheduler.rankOf(rank, dependencies);
+    }
+
+    /**
+     * Returns the topological rank of this binding: 0 without dependencies,
+     * otherwise one more than the highest rank of its dependencies.
+     *
+     * @return the rank of this binding
+     */
+    public final int getRank() {
+        return rank;
+    }
+
     /**
      * Stop observing the dependencies for changes.
      *
@@ -64,11 +132,11 @@ public abstract class BigDecimalBinding extends BigDecimalExpression implements
      *            the dependencies to stop observing
      */
     protected final void unbind(Observable... dependencies) {
-        if (observer != null) {
+        if ((extras != null) && (extras.observer != null)) {
             for (final Observable dep : dependencies) {
-                dep.removeListener(observer);
+                dep.removeListener(extras.observer);
             }
-            observer = null;
+            extras.observer = null;
         }
     }
 
@@ -95,18 +163,65 @@ public abstract class BigDecimalBinding extends BigDecimalExpression implements
      * {@code computeValue()} is only called if the binding is invalid. The
      * result is cached and returned if the binding did not become invalid since
      * the last call of {@code get()}.
+     * <p>
+     * While a {@link BigDecimalTransaction} is delivering its notifications,
+     * a value cached before the current delivery round is recomputed as well,
+     * as the binding may not have been notified of the frame yet.
      *
      * @return the current value
      */
     @Override
     public final BigDecimal get() {
-        if (!valid) {
-            value = computeValue();
+        final long stamp = BigDecimalTransaction.deliveryStamp();
+        if (!valid || ((stamp != 0) && ((extras == null) || (extras.computedIn != stamp)))) {
+            value = compute();
             valid = true;
+            if (stamp != 0) {
+                // stamps only grow, a value computed outside a delivery is
+                // older than the next round either way
+                extras().computedIn = stamp;
+            }
+        } else if (BindingMetrics.isEnabled()) {
+            extras.metrics.hit();
         }
         return value;
     }
 
+    /**
+     * Returns the policy used for early cutoff, or {@code null} if the binding
+     * is evaluated lazily.
+     *
+     * @return the early cutoff {@code EqualityPolicy} or {@code null}
+     */
+    public final EqualityPolicy getEarlyCutoffPolicy() {
+        return (extras == null) ? null : extras.earlyCutoffPolicy;
+    }
+
+    /**
+     * Switches the binding between lazy evaluation (the default, {@code null})
+     * and early cutoff.
+     * <p>
+     * With early cutoff, an invalidation of a dependency makes the binding
+     * recompute right away and compare the result with the cached value under
+     * the given policy. If they are the same the binding stays valid and its
+     * listeners are not notified, so the cascade stops here. Otherwise the new
+     * value is cached and the listeners are notified; the binding itself stays
+     * valid, as its value is already up to date.
+     * <p>
+     * This pays off for nodes whose result often does not change even though
+     * their inputs do, like a {@code setScale} or a comparison, at the price of
+     * computing the value even if nobody reads it.
+     *
+     * @param earlyCutoffPolicy
+     *            the {@code EqualityPolicy} to compare results with, or
+     *            {@code null} to evaluate lazily
+     */
+    public final void setEarlyCutoffPolicy(EqualityPolicy earlyCutoffPolicy) {
+        if ((earlyCutoffPolicy != null) || (extras != null)) {
+            extras().earlyCutoffPolicy = earlyCutoffPolicy;
+        }
+    }
+
     /**
      * The method onInvalidating() can be overridden by extending classes to
      * react, if this binding becomes invalid. The default implementation is
@@ -118,10 +233,60 @@ public abstract class BigDecimalBinding extends BigDecimalExpression implements
     @Override
     public final void invalidate() {
         if (valid) {
+            if (BindingMetrics.isEnabled()) {
+                extras.metrics.invalidated();
+            }
+            BindingEvents.touched();
+            final long stamp = BigDecimalTransaction.deliveryStamp();
+            if (stamp != 0) {
+                final Extras x = extras();
+                if (x.notifiedIn == stamp) {
+                    // Already notified in this commit and, if read since,
+                    // computed from the final values of the frame.
+                    if (x.earlyCutoffPolicy == null) {
+                        valid = false;
+                    }
+                    return;
+                }
+                x.notifiedIn = stamp;
+            }
+            if (PropagationScheduler.schedule(this, rank, value)) {
+                valid = false;
+                return;
+            }
+            final EqualityPolicy earlyCutoffPolicy = getEarlyCutoffPolicy();
+            if (earlyCutoffPolicy != null) {
+                final BigDecimal newValue = compute();
+                if (earlyCutoffPolicy.isSame(value, newValue)) {
+                    return;
+                }
+                value = newValue;
+                onInvalidating();
+                BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+                return;
+            }
             valid = false;
             onInvalidating();
-            ExpressionHelper.fireValueChangedEvent(helper);
+            BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+        }
+    }
+
+    /**
+     * Notifies the listeners of an invalidation queued by the
+     * {@link PropagationScheduler}, with early cutoff against the value cached
+     * when it was queued.
+     */
+    final void propagate(BigDecimal before) {
+        final EqualityPolicy earlyCutoffPolicy = getEarlyCutoffPolicy();
+        if (earlyCutoffPolicy != null) {
+            if (earlyCutoffPolicy.isSame(before, get())) {
+                return;
+            }
+        } else {
+            valid = false;
         }
+        onInvalidating();
+        BigDecimalExpressionHelper.fireValueChangedEvent(helper);
     }
 
     @Override
@@ -129,6 +294,33 @@ public abstract class BigDecimalBinding extends BigDecimalExpression implements
         return valid;
     }
 
+    private BigDecimal compute() {
+        final BindingEvents.SlowRecompute event = new BindingEvents.SlowRecompute();
+        if (!BindingMetrics.isEnabled() && !event.isEnabled()) {
+            return evaluate();
+        }
+        final long start = System.nanoTime();
+        event.begin();
+        try {
+            return computeValue();
+        } finally {
+            if (BindingMetrics.isEnabled()) {
+                extras.metrics.recomputed(System.nanoTime() - start);
+            }
+            BindingEvents.endRecompute(event, this);
+        }
+    }
+
+    /**
+     * Computes the value on the fast path, without metrics or events. The
+     * default calls {@link #computeValue()}; node classes of this package
+     * override it with a final method that evaluates without megamorphic
+     * calls, see {@link BigDecimalOperationBinding}.
+     */
+    BigDecimal evaluate() {
+        return computeValue();
+    }
+
     /**
      * Calculates the current value of this binding.
      * <p>
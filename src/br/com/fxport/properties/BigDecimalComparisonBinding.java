@@ -0,0 +1,167 @@
+package br.com.fxport.properties;
+
+import com.sun.javafx.collections.ImmutableObservableList;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.properties.base.BigDecimalConstant;
+import javafx.beans.binding.BooleanBinding;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * A {@code BooleanBinding} that compares two {@code BigDecimal} operands with
+ * {@code compareTo}, so {@code 2.0} equals {@code 2.00}. This is the node
+ * created by {@code Bindings.equal}, {@code notEqual}, {@code greaterThan},
+ * {@code lessThan}, {@code greaterThanOrEqual} and {@code lessThanOrEqual}.
+ * <p>
+ * Like {@link BigDecimalOperationBinding}, all comparisons share this class,
+ * keep their {@link Comparison} as a byte and observe the operands that are
+ * not a {@link BigDecimalConstant} directly. The operands are read through
+ * the same type checks as those of arithmetic nodes. The call from
+ * {@code BooleanBinding.get()} to {@link #computeValue()} belongs to JavaFX
+ * and stays virtual.
+ *
+ * @see br.com.fxport.util.Bindings
+ */
+public final class BigDecimalComparisonBinding extends BooleanBinding {
+
+    /**
+     * The comparison of a {@code BigDecimalComparisonBinding}.
+     */
+    public enum Comparison {
+        /** {@code op1.compareTo(op2) == 0} */
+        EQUAL,
+        /** {@code op1.compareTo(op2) != 0} */
+        NOT_EQUAL,
+        /** {@code op1.compareTo(op2) > 0} */
+        GREATER_THAN,
+        /** {@code op1.compareTo(op2) < 0} */
+        LESS_THAN,
+        /** {@code op1.compareTo(op2) >= 0} */
+        GREATER_THAN_OR_EQUAL,
+        /** {@code op1.compareTo(op2) <= 0} */
+        LESS_THAN_OR_EQUAL
+    }
+
+    private static final Comparison[] COMPARISONS = Comparison.values();
+    private static final byte EQUAL = 0;
+    private static final byte NOT_EQUAL = 1;
+    private static final byte GREATER_THAN = 2;
+    private static final byte LESS_THAN = 3;
+    private static final byte GREATER_THAN_OR_EQUAL = 4;
+    private static final byte LESS_THAN_OR_EQUAL = 5;
+
+    private final byte opcode;
+    private final ObservableBigDecimalValue op1;
+    private final ObservableBigDecimalValue op2;
+    private final WeakBindingObserver observer;
+    private ObservableList<?> dependencyList;
+
+    /**
+     * Creates a comparison of two operands.
+     *
+     * @param comparison
+     *            the comparison
+     * @param op1
+     *            the first operand
+     * @param op2
+     *            the second operand
+     * @throws NullPointerException
+     *             if one of the arguments is {@code null}
+     */
+    public BigDecimalComparisonBinding(Comparison comparison, ObservableBigDecimalValue op1,
+            ObservableBigDecimalValue op2) {
+        if (comparison == null) {
+            throw new NullPointerException("Comparison cannot be null.");
+        }
+        if ((op1 == null) || (op2 == null)) {
+            throw new NullPointerException("Operands cannot be null.");
+        }
+        this.opcode = (byte) comparison.ordinal();
+        this.op1 = op1;
+        this.op2 = op2;
+        this.observer = new WeakBindingObserver(this);
+        if (isObserved(op1)) {
+            op1.addListener(observer);
+        }
+        if (isObserved(op2)) {
+            op2.addListener(observer);
+        }
+    }
+
+    private static boolean isObserved(ObservableBigDecimalValue operand) {
+        return !(operand instanceof BigDecimalConstant);
+    }
+
+    /**
+     * Returns the comparison of this binding.
+     *
+     * @return the comparison
+     */
+    public Comparison getComparison() {
+        return COMPARISONS[opcode];
+    }
+
+    /**
+     * Returns the first operand.
+     *
+     * @return the first operand
+     */
+    public ObservableBigDecimalValue getFirstOperand() {
+        return op1;
+    }
+
+    /**
+     * Returns the second operand.
+     *
+     * @return the second operand
+     */
+    public ObservableBigDecimalValue getSecondOperand() {
+        return op2;
+    }
+
+    @Override
+    protected boolean computeValue() {
+        final int c = BigDecimalOperationBinding.read(op1).compareTo(BigDecimalOperationBinding.read(op2));
+        switch (opcode) {
+        case EQUAL:
+            return c == 0;
+        case NOT_EQUAL:
+            return c != 0;
+        case GREATER_THAN:
+            return c > 0;
+        case LESS_THAN:
+            return c < 0;
+        case GREATER_THAN_OR_EQUAL:
+            return c >= 0;
+        case LESS_THAN_OR_EQUAL:
+            return c <= 0;
+        default:
+            throw new AssertionError(opcode);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (isObserved(op1)) {
+            op1.removeListener(observer);
+        }
+        if (isObserved(op2)) {
+            op2.removeListener(observer);
+        }
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        if (dependencyList == null) {
+            final boolean first = isObserved(op1);
+            final boolean second = isObserved(op2);
+            dependencyList = (first && second)?
+                    new ImmutableObservableList<ObservableBigDecimalValue>(op1, op2)
+                    : first? FXCollections.singletonObservableList(op1)
+                    : second? FXCollections.singletonObservableList(op2)
+                    : FXCollections.emptyObservableList();
+        }
+        return dependencyList;
+    }
+}
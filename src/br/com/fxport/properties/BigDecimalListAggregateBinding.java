@@ -0,0 +1,308 @@
+package br.com.fxport.properties;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.util.BigDecimalTransaction;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * Base class for bindings that aggregate the values of an
+ * {@link ObservableList} of {@link ObservableBigDecimalValue}s and follow both
+ * the list and the values of its elements incrementally.
+ * <p>
+ * List changes are applied from their {@link ListChangeListener.Change}:
+ * removed elements are taken out of the aggregate, added ones put in,
+ * permutations are ignored. Every distinct element is observed by one
+ * listener, and the binding remembers the last value read from it; when
+ * elements change, only those are read again on the next evaluation. The work
+ * per change is proportional to the number of changed elements, not to the
+ * size of the list.
+ * <p>
+ * The binding keeps the {@link #getTotal() total} and {@link #getCount()
+ * count} of the values, and, if created with {@code ordered}, a sorted
+ * multiset of them for {@link #getMinimum()} and {@link #getMaximum()} in
+ * O(log n). Elements whose value is {@code null} are ignored. Extending
+ * classes compute their value from these in {@link #computeValue()}.
+ *
+ * @see br.com.fxport.util.Bindings#sum(ObservableList)
+ */
+public abstract class BigDecimalListAggregateBinding extends BigDecimalBinding {
+
+    private final ObservableList<? extends ObservableBigDecimalValue> list;
+    private final ListChangeListener<ObservableBigDecimalValue> listListener;
+    private final InvalidationListener elementListener;
+    private final Map<ObservableBigDecimalValue, Element> elements = new IdentityHashMap<>();
+    private final List<Element> dirty = new ArrayList<>();
+    private final TreeMap<BigDecimal, int[]> sorted;
+    private BigDecimal total = BigDecimal.ZERO;
+    private int count = 0;
+    private ObservableList<?> dependencyList;
+
+    /**
+     * The constructor of {@code BigDecimalListAggregateBinding}.
+     *
+     * @param list
+     *            the list to aggregate
+     * @param ordered
+     *            {@code true} to keep the values sorted for
+     *            {@link #getMinimum()} and {@link #getMaximum()}
+     * @throws NullPointerException
+     *             if {@code list} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    protected BigDecimalListAggregateBinding(ObservableList<? extends ObservableBigDecimalValue> list, boolean ordered) {
+        if (list == null) {
+            throw new NullPointerException("List cannot be null.");
+        }
+        this.list = list;
+        this.sorted = ordered ? new TreeMap<>() : null;
+        this.elementListener = new ElementListener(this);
+        this.listListener = new ListListener(this);
+        for (final ObservableBigDecimalValue element : list) {
+            added(element);
+        }
+        ((ObservableList<ObservableBigDecimalValue>) list).addListener(listListener);
+    }
+
+    /**
+     * Returns the sum of all non-{@code null} values. Its scale may be larger
+     * than the one of the plain sum, as in {@link BigDecimalSumBinding}.
+     *
+     * @return the sum of the values
+     */
+    protected final BigDecimal getTotal() {
+        refresh();
+        return total;
+    }
+
+    /**
+     * Returns the number of list elements with a non-{@code null} value.
+     *
+     * @return the number of values
+     */
+    protected final int getCount() {
+        refresh();
+        return count;
+    }
+
+    /**
+     * Returns the smallest value, or {@code null} if there is none. Only
+     * available if the binding was created with {@code ordered}.
+     *
+     * @return the smallest value or {@code null}
+     */
+    protected final BigDecimal getMinimum() {
+        refresh();
+        return sorted.isEmpty() ? null : sorted.firstKey();
+    }
+
+    /**
+     * Returns the largest value, or {@code null} if there is none. Only
+     * available if the binding was created with {@code ordered}.
+     *
+     * @return the largest value or {@code null}
+     */
+    protected final BigDecimal getMaximum() {
+        refresh();
+        return sorted.isEmpty() ? null : sorted.lastKey();
+    }
+
+    private void added(ObservableBigDecimalValue element) {
+        if (element == null) {
+            return;
+        }
+        Element entry = elements.get(element);
+        if (entry == null) {
+            entry = new Element(element);
+            elements.put(element, entry);
+            element.addListener(elementListener);
+            updateRank(element);
+        }
+        entry.occurrences++;
+        include(entry.last);
+    }
+
+    private void removed(ObservableBigDecimalValue element) {
+        if (element == null) {
+            return;
+        }
+        final Element entry = elements.get(element);
+        if (entry == null) {
+            return;
+        }
+        exclude(entry.last);
+        if (--entry.occurrences == 0) {
+            elements.remove(element);
+            element.removeListener(elementListener);
+        }
+    }
+
+    private void elementInvalidated(Observable observable) {
+        final Element entry = elements.get(observable);
+        if ((entry != null) && !entry.dirty) {
+            entry.dirty = true;
+            dirty.add(entry);
+        }
+        invalidate();
+    }
+
+    private void refresh() {
+        if (BigDecimalTransaction.deliveryStamp() != 0) {
+            // elements of the frame may not have notified us yet
+            for (final Element entry : elements.values()) {
+                update(entry);
+            }
+        } else {
+            for (int i = 0; i < dirty.size(); i++) {
+                final Element entry = dirty.get(i);
+                if (entry.occurrences > 0) {
+                    update(entry);
+                }
+            }
+        }
+        for (int i = 0; i < dirty.size(); i++) {
+            dirty.get(i).dirty = false;
+        }
+        dirty.clear();
+    }
+
+    private void update(Element entry) {
+        final BigDecimal newValue = entry.element.get();
+        if (newValue != entry.last) {
+            for (int k = 0; k < entry.occurrences; k++) {
+                exclude(entry.last);
+                include(newValue);
+            }
+            entry.last = newValue;
+        }
+    }
+
+    private void include(BigDecimal value) {
+        if (value == null) {
+            return;
+        }
+        total = total.add(value);
+        count++;
+        if (sorted != null) {
+            final int[] occurrences = sorted.get(value);
+            if (occurrences == null) {
+                sorted.put(value, new int[] { 1 });
+            } else {
+                occurrences[0]++;
+            }
+        }
+    }
+
+    private void exclude(BigDecimal value) {
+        if (value == null) {
+            return;
+        }
+        total = total.subtract(value);
+        count--;
+        if (sorted != null) {
+            final int[] occurrences = sorted.get(value);
+            if (--occurrences[0] == 0) {
+                sorted.remove(value);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void dispose() {
+        ((ObservableList<ObservableBigDecimalValue>) list).removeListener(listListener);
+        for (final ObservableBigDecimalValue element : elements.keySet()) {
+            element.removeListener(elementListener);
+        }
+        elements.clear();
+        dirty.clear();
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        if (dependencyList == null) {
+            dependencyList = FXCollections.singletonObservableList(list);
+        }
+        return dependencyList;
+    }
+
+    private static class Element {
+
+        private final ObservableBigDecimalValue element;
+        private BigDecimal last;
+        private int occurrences;
+        private boolean dirty;
+
+        Element(ObservableBigDecimalValue element) {
+            this.element = element;
+            this.last = element.get();
+        }
+    }
+
+    private static class ElementListener implements InvalidationListener {
+
+        private final WeakReference<BigDecimalListAggregateBinding> wref;
+
+        public ElementListener(BigDecimalListAggregateBinding ref) {
+            this.wref = new WeakReference<>(ref);
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            BigDecimalListAggregateBinding ref = wref.get();
+            if (ref == null) {
+                observable.removeListener(this);
+            } else {
+                ref.elementInvalidated(observable);
+            }
+        }
+    }
+
+    private static class ListListener implements ListChangeListener<ObservableBigDecimalValue> {
+
+        private final WeakReference<BigDecimalListAggregateBinding> wref;
+
+        public ListListener(BigDecimalListAggregateBinding ref) {
+            this.wref = new WeakReference<>(ref);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onChanged(Change<? extends ObservableBigDecimalValue> change) {
+            BigDecimalListAggregateBinding ref = wref.get();
+            if (ref == null) {
+                ((ObservableList<ObservableBigDecimalValue>) change.getList()).removeListener(this);
+                return;
+            }
+            boolean changed = false;
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated()) {
+                    // order does not matter, element values are observed directly
+                    continue;
+                }
+                for (final ObservableBigDecimalValue element : change.getRemoved()) {
+                    ref.removed(element);
+                }
+                final List<? extends ObservableBigDecimalValue> added = change.getAddedSubList();
+                for (int i = 0; i < added.size(); i++) {
+                    ref.added(added.get(i));
+                }
+                changed = true;
+            }
+            if (changed) {
+                ref.invalidate();
+            }
+        }
+    }
+}
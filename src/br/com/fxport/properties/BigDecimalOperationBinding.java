@@ -0,0 +1,224 @@
+package br.com.fxport.properties;
+
+import java.math.BigDecimal;
+
+import com.sun.javafx.collections.ImmutableObservableList;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.properties.base.BigDecimalConstant;
+import br.com.fxport.properties.base.BigDecimalPropertyBase;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * A {@link BigDecimalBinding} that applies one arithmetic {@link Operator} to
+ * one or two operands. This is the node created by {@code Bindings.add},
+ * {@code subtract}, {@code multiply}, {@code divide} and {@code negate}.
+ * <p>
+ * All operations share this class: the operator is stored as a byte and the
+ * operands are the only references the node keeps besides its observer.
+ * There is no dependency array; the operands that are not a
+ * {@link BigDecimalConstant} are observed, and reported by
+ * {@link #getDependencies()}, directly. The observer is a single weak
+ * reference instead of a {@code BindingHelperObserver} holding one.
+ *
+ * @see br.com.fxport.util.Bindings
+ */
+public final class BigDecimalOperationBinding extends BigDecimalBinding {
+
+    /**
+     * The operation of a {@code BigDecimalOperationBinding}.
+     */
+    public enum Operator {
+        /** {@code op1.add(op2)} */
+        ADD,
+        /** {@code op1.subtract(op2)} */
+        SUBTRACT,
+        /** {@code op1.multiply(op2)} */
+        MULTIPLY,
+        /** {@code op1.divide(op2)}, exact */
+        DIVIDE,
+        /** {@code op1.negate()}, without a second operand */
+        NEGATE;
+
+        /**
+         * Returns {@code true} if the operator takes a second operand.
+         *
+         * @return {@code true} for binary operators
+         */
+        public boolean isBinary() {
+            return this != NEGATE;
+        }
+    }
+
+    private static final Operator[] OPERATORS = Operator.values();
+    private static final byte ADD = 0;
+    private static final byte SUBTRACT = 1;
+    private static final byte MULTIPLY = 2;
+    private static final byte DIVIDE = 3;
+    private static final byte NEGATE = 4;
+
+    private final byte opcode;
+    private final ObservableBigDecimalValue op1;
+    private final ObservableBigDecimalValue op2;
+    private final WeakBindingObserver observer;
+    private ObservableList<?> dependencyList;
+
+    /**
+     * Creates a binding with one operand, for {@link Operator#NEGATE}.
+     *
+     * @param operator
+     *            the operator
+     * @param op1
+     *            the operand
+     * @throws NullPointerException
+     *             if {@code operator} or {@code op1} is {@code null}
+     * @throws IllegalArgumentException
+     *             if {@code operator} takes two operands
+     */
+    public BigDecimalOperationBinding(Operator operator, ObservableBigDecimalValue op1) {
+        this(operator, op1, null);
+    }
+
+    /**
+     * Creates a binding with two operands.
+     *
+     * @param operator
+     *            the operator
+     * @param op1
+     *            the first operand
+     * @param op2
+     *            the second operand, {@code null} for {@link Operator#NEGATE}
+     * @throws NullPointerException
+     *             if {@code operator} or an operand of it is {@code null}
+     * @throws IllegalArgumentException
+     *             if {@code op2} is given for {@link Operator#NEGATE}
+     */
+    public BigDecimalOperationBinding(Operator operator, ObservableBigDecimalValue op1,
+            ObservableBigDecimalValue op2) {
+        if (operator == null) {
+            throw new NullPointerException("Operator cannot be null.");
+        }
+        if ((op1 == null) || (operator.isBinary() && (op2 == null))) {
+            throw new NullPointerException("Operands cannot be null.");
+        }
+        if (!operator.isBinary() && (op2 != null)) {
+            throw new IllegalArgumentException(operator + " takes one operand.");
+        }
+        this.opcode = (byte) operator.ordinal();
+        this.op1 = op1;
+        this.op2 = op2;
+        this.observer = new WeakBindingObserver(this);
+        if (isObserved(op1)) {
+            op1.addListener(observer);
+            updateRank(op1);
+        }
+        if (isObserved(op2)) {
+            op2.addListener(observer);
+            updateRank(op2);
+        }
+    }
+
+    private static boolean isObserved(ObservableBigDecimalValue operand) {
+        return (operand != null) && !(operand instanceof BigDecimalConstant);
+    }
+
+    /**
+     * Returns the operator of this binding.
+     *
+     * @return the operator
+     */
+    public Operator getOperator() {
+        return OPERATORS[opcode];
+    }
+
+    /**
+     * Returns the first operand.
+     *
+     * @return the first operand
+     */
+    public ObservableBigDecimalValue getFirstOperand() {
+        return op1;
+    }
+
+    /**
+     * Returns the second operand.
+     *
+     * @return the second operand, {@code null} for {@link Operator#NEGATE}
+     */
+    public ObservableBigDecimalValue getSecondOperand() {
+        return op2;
+    }
+
+    @Override
+    protected BigDecimal computeValue() {
+        return evaluate();
+    }
+
+    /**
+     * Computes the value. {@code BigDecimalBinding} calls this instead of
+     * {@code computeValue()} on its fast path; the operands are read through
+     * {@link #read(ObservableBigDecimalValue)}, so the operation does not go
+     * through the megamorphic {@code get()} of the interface.
+     */
+    @Override
+    final BigDecimal evaluate() {
+        switch (opcode) {
+        case ADD:
+            return read(op1).add(read(op2));
+        case SUBTRACT:
+            return read(op1).subtract(read(op2));
+        case MULTIPLY:
+            return read(op1).multiply(read(op2));
+        case DIVIDE:
+            return read(op1).divide(read(op2));
+        case NEGATE:
+            return read(op1).negate();
+        default:
+            throw new AssertionError(opcode);
+        }
+    }
+
+    /**
+     * Reads an operand. The operands of a graph are bindings, properties and
+     * constants, so {@code get()} through the interface would be megamorphic;
+     * the type checks turn it into calls of known methods. Used by
+     * {@link BigDecimalComparisonBinding} as well.
+     */
+    static BigDecimal read(ObservableBigDecimalValue operand) {
+        if (operand instanceof BigDecimalBinding) {
+            return ((BigDecimalBinding) operand).get();
+        }
+        if (operand instanceof BigDecimalPropertyBase) {
+            return ((BigDecimalPropertyBase) operand).get();
+        }
+        if (operand instanceof BigDecimalConstant) {
+            return ((BigDecimalConstant) operand).get();
+        }
+        return operand.get();
+    }
+
+    @Override
+    public void dispose() {
+        if (isObserved(op1)) {
+            op1.removeListener(observer);
+        }
+        if (isObserved(op2)) {
+            op2.removeListener(observer);
+        }
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        if (dependencyList == null) {
+            final boolean first = isObserved(op1);
+            final boolean second = isObserved(op2);
+            dependencyList = (first && second)?
+                    new ImmutableObservableList<ObservableBigDecimalValue>(op1, op2)
+                    : first? FXCollections.singletonObservableList(op1)
+                    : second? FXCollections.singletonObservableList(op2)
+                    : FXCollections.emptyObservableList();
+        }
+        return dependencyList;
+    }
+}
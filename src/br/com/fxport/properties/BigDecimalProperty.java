@@ -6,7 +6,7 @@ import com.sun.javafx.binding.Logging;
 
 import br.com.fxport.interfaces.WritableBigDecimalValue;
 import br.com.fxport.properties.base.BigDecimalPropertyBase;
-import javafx.beans.binding.Bindings;
+import br.com.fxport.util.BidirectionalBindings;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.Property;
@@ -33,7 +33,7 @@ Property<BigDecimal>, WritableBigDecimalValue {
      */
     @Override
     public void bindBidirectional(Property<BigDecimal> other) {
-        Bindings.bindBidirectional(this, other);
+        BidirectionalBindings.bind(this, other);
     }
 
     /**
@@ -41,7 +41,7 @@ Property<BigDecimal>, WritableBigDecimalValue {
      */
     @Override
     public void unbindBidirectional(Property<BigDecimal> other) {
-        Bindings.unbindBidirectional(this, other);
+        BidirectionalBindings.unbind(this, other);
     }
 
     /**
@@ -105,8 +105,7 @@ Property<BigDecimal>, WritableBigDecimalValue {
         }
         return new BigDecimalPropertyBase() {
             {
-            	//TODO
-//                BidirectionalBinding.bindNumber(this, property);
+                BidirectionalBindings.bind(this, property);
             }
 
             @Override
@@ -122,8 +121,7 @@ Property<BigDecimal>, WritableBigDecimalValue {
             @Override
             protected void finalize() throws Throwable {
                 try {
-                	//TODO
-//                    BidirectionalBinding.unbindNumber(property, this);
+                    BidirectionalBindings.unbind(property, this);
                 } finally {
                     super.finalize();
                 }
@@ -155,8 +153,7 @@ Property<BigDecimal>, WritableBigDecimalValue {
         return new ObjectPropertyBase<BigDecimal> () {
 
             {
-            	//TODO
-//                BidirectionalBinding.bindNumber(this, BigDecimalProperty.this);
+                BidirectionalBindings.bind(this, BigDecimalProperty.this);
             }
 
             @Override
@@ -172,8 +169,7 @@ Property<BigDecimal>, WritableBigDecimalValue {
             @Override
             protected void finalize() throws Throwable {
                 try {
-                	//TODO
-//                    BidirectionalBinding.unbindNumber(this, BigDecimalProperty.this);
+                    BidirectionalBindings.unbind(this, BigDecimalProperty.this);
                 } finally {
                     super.finalize();
                 }
@@ -0,0 +1,535 @@
+package br.com.fxport.properties;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.util.BigDecimalTransaction;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.binding.IntegerBinding;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * A segment tree over an {@link ObservableList} of
+ * {@link ObservableBigDecimalValue}s that answers minimum, maximum and their
+ * positions in the list.
+ * <p>
+ * Every node of the tree holds the position of the smallest and of the
+ * largest value below it, so a changed value is applied by walking from its
+ * leaf to the root in O(log n), and the answers are read from the root in
+ * O(1). Unlike a sorted aggregate, removing the current maximum does not need
+ * a rescan. Appending and removing at the end of the list is O(log n) as
+ * well; an insertion, removal or permutation further up shifts the positions
+ * behind it and costs O(n - index).
+ * <p>
+ * The results are exposed as bindings: {@link #min()} and {@link #max()} as
+ * {@link BigDecimalBinding}s, which are zero for a list without values, and
+ * {@link #argMin()} and {@link #argMax()} as {@link IntegerBinding}s with the
+ * position in the list, or -1. Of equal values, the lowest position wins.
+ * {@code null} elements and elements with a {@code null} value are ignored.
+ * <p>
+ * The tree is an {@link Observable} that is invalidated whenever the list or
+ * one of its elements changes; its bindings depend on it.
+ */
+public class BigDecimalSegmentTree implements Observable {
+
+    private static final Leaf[] NO_LEAVES = new Leaf[0];
+    private static final InvalidationListener[] NO_LISTENERS = new InvalidationListener[0];
+
+    private final ObservableList<? extends ObservableBigDecimalValue> list;
+    private final ListChangeListener<ObservableBigDecimalValue> listListener;
+    // copied on write, a notification keeps walking the array it started with
+    private InvalidationListener[] listeners = NO_LISTENERS;
+    private final List<Leaf> dirty = new ArrayList<>();
+    private Leaf[] leaves = NO_LEAVES;
+    private BigDecimal[] values = new BigDecimal[0];
+    private int[] minimum = new int[0];
+    private int[] maximum = new int[0];
+    private int size = 0;
+    private int capacity = 0;
+    private boolean stale = false;
+    private long refreshedIn = 0;
+    private BigDecimalBinding min;
+    private BigDecimalBinding max;
+    private IntegerBinding argMin;
+    private IntegerBinding argMax;
+    private ObservableList<?> dependencyList;
+
+    /**
+     * The constructor of {@code BigDecimalSegmentTree}.
+     *
+     * @param list
+     *            the list to observe
+     * @throws NullPointerException
+     *             if {@code list} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public BigDecimalSegmentTree(ObservableList<? extends ObservableBigDecimalValue> list) {
+        if (list == null) {
+            throw new NullPointerException("List cannot be null.");
+        }
+        this.list = list;
+        replaceRange(0, 0, list);
+        this.listListener = new ListListener(this);
+        ((ObservableList<ObservableBigDecimalValue>) list).addListener(listListener);
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        final InvalidationListener[] current = listeners;
+        final InvalidationListener[] added = Arrays.copyOf(current, current.length + 1);
+        added[current.length] = listener;
+        listeners = added;
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        final InvalidationListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].equals(listener)) {
+                final InvalidationListener[] removed = new InvalidationListener[current.length - 1];
+                System.arraycopy(current, 0, removed, 0, i);
+                System.arraycopy(current, i + 1, removed, i, removed.length - i);
+                listeners = removed;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners that were registered when the notification
+     * started, even if one of them removes itself or another one. Exceptions
+     * thrown by listeners are passed to the uncaught exception handler of the
+     * current thread, as in {@code BigDecimalExpressionHelper}.
+     */
+    private void changed() {
+        if (!stale) {
+            stale = true;
+            for (final InvalidationListener listener : listeners) {
+                try {
+                    listener.invalidated(this);
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the smallest value, or {@code null} if there is none.
+     *
+     * @return the smallest value or {@code null}
+     */
+    public BigDecimal getMin() {
+        final int position = getArgMin();
+        return (position < 0) ? null : values[position];
+    }
+
+    /**
+     * Returns the largest value, or {@code null} if there is none.
+     *
+     * @return the largest value or {@code null}
+     */
+    public BigDecimal getMax() {
+        final int position = getArgMax();
+        return (position < 0) ? null : values[position];
+    }
+
+    /**
+     * Returns the position of the smallest value in the list, or -1.
+     *
+     * @return the position of the smallest value or -1
+     */
+    public int getArgMin() {
+        refresh();
+        return (size == 0) ? -1 : minimum[1];
+    }
+
+    /**
+     * Returns the position of the largest value in the list, or -1.
+     *
+     * @return the position of the largest value or -1
+     */
+    public int getArgMax() {
+        refresh();
+        return (size == 0) ? -1 : maximum[1];
+    }
+
+    /**
+     * Returns a binding of the smallest value, zero if there is none.
+     *
+     * @return the minimum {@code BigDecimalBinding}
+     */
+    public BigDecimalBinding min() {
+        if (min == null) {
+            min = new BigDecimalBinding() {
+                {
+                    bind(BigDecimalSegmentTree.this);
+                }
+
+                @Override
+                protected BigDecimal computeValue() {
+                    final BigDecimal value = getMin();
+                    return (value == null) ? BigDecimal.ZERO : value;
+                }
+
+                @Override
+                public ObservableList<?> getDependencies() {
+                    return dependencyList();
+                }
+            };
+        }
+        return min;
+    }
+
+    /**
+     * Returns a binding of the largest value, zero if there is none.
+     *
+     * @return the maximum {@code BigDecimalBinding}
+     */
+    public BigDecimalBinding max() {
+        if (max == null) {
+            max = new BigDecimalBinding() {
+                {
+                    bind(BigDecimalSegmentTree.this);
+                }
+
+                @Override
+                protected BigDecimal computeValue() {
+                    final BigDecimal value = getMax();
+                    return (value == null) ? BigDecimal.ZERO : value;
+                }
+
+                @Override
+                public ObservableList<?> getDependencies() {
+                    return dependencyList();
+                }
+            };
+        }
+        return max;
+    }
+
+    /**
+     * Returns a binding of the position of the smallest value, -1 if there is
+     * none.
+     *
+     * @return the argmin {@code IntegerBinding}
+     */
+    public IntegerBinding argMin() {
+        if (argMin == null) {
+            argMin = new IntegerBinding() {
+                {
+                    bind(BigDecimalSegmentTree.this);
+                }
+
+                @Override
+                protected int computeValue() {
+                    return getArgMin();
+                }
+
+                @Override
+                public ObservableList<?> getDependencies() {
+                    return dependencyList();
+                }
+            };
+        }
+        return argMin;
+    }
+
+    /**
+     * Returns a binding of the position of the largest value, -1 if there is
+     * none.
+     *
+     * @return the argmax {@code IntegerBinding}
+     */
+    public IntegerBinding argMax() {
+        if (argMax == null) {
+            argMax = new IntegerBinding() {
+                {
+                    bind(BigDecimalSegmentTree.this);
+                }
+
+                @Override
+                protected int computeValue() {
+                    return getArgMax();
+                }
+
+                @Override
+                public ObservableList<?> getDependencies() {
+                    return dependencyList();
+                }
+            };
+        }
+        return argMax;
+    }
+
+    private ObservableList<?> dependencyList() {
+        // shared by the four bindings
+        if (dependencyList == null) {
+            dependencyList = FXCollections.singletonObservableList(list);
+        }
+        return dependencyList;
+    }
+
+    /**
+     * Stops observing the list and its elements.
+     */
+    @SuppressWarnings("unchecked")
+    public void dispose() {
+        ((ObservableList<ObservableBigDecimalValue>) list).removeListener(listListener);
+        for (int i = 0; i < size; i++) {
+            leaves[i].detach();
+        }
+        dirty.clear();
+    }
+
+    private void refresh() {
+        final long stamp = BigDecimalTransaction.deliveryStamp();
+        if ((stamp != 0) && (refreshedIn != stamp)) {
+            // elements of the frame may not have notified us yet
+            refreshedIn = stamp;
+            for (int i = 0; i < size; i++) {
+                final BigDecimal value = leaves[i].value();
+                if (value != values[i]) {
+                    values[i] = value;
+                    update(i);
+                }
+            }
+        } else {
+            for (int i = 0; i < dirty.size(); i++) {
+                final Leaf leaf = dirty.get(i);
+                if (leaf.index >= 0) {
+                    values[leaf.index] = leaf.value();
+                    update(leaf.index);
+                }
+            }
+        }
+        for (int i = 0; i < dirty.size(); i++) {
+            dirty.get(i).dirty = false;
+        }
+        dirty.clear();
+        stale = false;
+    }
+
+    private void leafInvalidated(Leaf leaf) {
+        if (!leaf.dirty) {
+            leaf.dirty = true;
+            dirty.add(leaf);
+        }
+        changed();
+    }
+
+    /**
+     * Replaces {@code removed} positions at {@code from} with the added
+     * elements and rebuilds the tree from {@code from} on.
+     */
+    private void replaceRange(int from, int removed, List<? extends ObservableBigDecimalValue> added) {
+        for (int i = from; i < from + removed; i++) {
+            leaves[i].detach();
+        }
+        final int newSize = size - removed + added.size();
+        final int tail = size - from - removed;
+        if (newSize > leaves.length) {
+            final int length = Math.max(newSize, leaves.length * 2);
+            leaves = Arrays.copyOf(leaves, length);
+            values = Arrays.copyOf(values, length);
+        }
+        System.arraycopy(leaves, from + removed, leaves, from + added.size(), tail);
+        System.arraycopy(values, from + removed, values, from + added.size(), tail);
+        for (int i = 0; i < added.size(); i++) {
+            final Leaf leaf = new Leaf(this, added.get(i));
+            leaves[from + i] = leaf;
+            values[from + i] = leaf.attach();
+        }
+        for (int i = newSize; i < size; i++) {
+            leaves[i] = null;
+            values[i] = null;
+        }
+        final int oldSize = size;
+        size = newSize;
+        for (int i = from; i < size; i++) {
+            leaves[i].index = i;
+        }
+        rebuild(from, Math.max(oldSize, newSize));
+    }
+
+    private void permute(int from, int to, int[] permutation) {
+        final Leaf[] moved = Arrays.copyOfRange(leaves, from, to);
+        final BigDecimal[] movedValues = Arrays.copyOfRange(values, from, to);
+        for (int i = from; i < to; i++) {
+            final int target = permutation[i - from];
+            leaves[target] = moved[i - from];
+            values[target] = movedValues[i - from];
+            leaves[target].index = target;
+        }
+        rebuild(from, to);
+    }
+
+    /**
+     * Recomputes the leaves in {@code [from, to)} and every node above them.
+     */
+    private void rebuild(int from, int to) {
+        if (size > capacity) {
+            capacity = Math.max(1, Integer.highestOneBit(Math.max(1, size - 1)) << 1);
+            minimum = new int[2 * capacity];
+            maximum = new int[2 * capacity];
+            from = 0;
+            to = capacity;
+        }
+        if (from >= to) {
+            return;
+        }
+        int lo = from + capacity;
+        int hi = Math.min(to, capacity) - 1 + capacity;
+        for (int node = lo; node <= hi; node++) {
+            final int position = node - capacity;
+            final int leaf = ((position < size) && (values[position] != null)) ? position : -1;
+            minimum[node] = leaf;
+            maximum[node] = leaf;
+        }
+        while (lo > 1) {
+            lo >>= 1;
+            hi >>= 1;
+            for (int node = lo; node <= hi; node++) {
+                pull(node);
+            }
+        }
+    }
+
+    private void update(int position) {
+        int node = position + capacity;
+        final int leaf = (values[position] != null) ? position : -1;
+        minimum[node] = leaf;
+        maximum[node] = leaf;
+        while (node > 1) {
+            node >>= 1;
+            pull(node);
+        }
+    }
+
+    private void pull(int node) {
+        minimum[node] = lower(minimum[2 * node], minimum[2 * node + 1]);
+        maximum[node] = higher(maximum[2 * node], maximum[2 * node + 1]);
+    }
+
+    // the left position is always the lower one and wins ties
+
+    private int lower(int left, int right) {
+        if (left < 0) {
+            return right;
+        }
+        if (right < 0) {
+            return left;
+        }
+        return (values[right].compareTo(values[left]) < 0) ? right : left;
+    }
+
+    private int higher(int left, int right) {
+        if (left < 0) {
+            return right;
+        }
+        if (right < 0) {
+            return left;
+        }
+        return (values[right].compareTo(values[left]) > 0) ? right : left;
+    }
+
+    /**
+     * Returns a string representation of this {@code BigDecimalSegmentTree} object.
+     * @return a string representation of this {@code BigDecimalSegmentTree} object.
+     */
+    @Override
+    public String toString() {
+        return "BigDecimalSegmentTree [size: " + size + ", min: " + getMin() + ", max: " + getMax() + "]";
+    }
+
+    /**
+     * A position in the list, observing the element at that position.
+     */
+    private static class Leaf implements InvalidationListener {
+
+        private final WeakReference<BigDecimalSegmentTree> wref;
+        private final ObservableBigDecimalValue element;
+        private int index = -1;
+        private boolean dirty;
+
+        Leaf(BigDecimalSegmentTree ref, ObservableBigDecimalValue element) {
+            this.wref = new WeakReference<>(ref);
+            this.element = element;
+        }
+
+        BigDecimal attach() {
+            if (element == null) {
+                return null;
+            }
+            element.addListener(this);
+            return element.get();
+        }
+
+        void detach() {
+            if (element != null) {
+                element.removeListener(this);
+            }
+            index = -1;
+        }
+
+        BigDecimal value() {
+            return (element == null) ? null : element.get();
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            BigDecimalSegmentTree ref = wref.get();
+            if (ref == null) {
+                observable.removeListener(this);
+            } else if (index >= 0) {
+                ref.leafInvalidated(this);
+            }
+        }
+    }
+
+    private static class ListListener implements ListChangeListener<ObservableBigDecimalValue> {
+
+        private final WeakReference<BigDecimalSegmentTree> wref;
+
+        public ListListener(BigDecimalSegmentTree ref) {
+            this.wref = new WeakReference<>(ref);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onChanged(Change<? extends ObservableBigDecimalValue> change) {
+            BigDecimalSegmentTree ref = wref.get();
+            if (ref == null) {
+                ((ObservableList<ObservableBigDecimalValue>) change.getList()).removeListener(this);
+                return;
+            }
+            // apply pending element changes at their current positions first
+            ref.refresh();
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    final int from = change.getFrom();
+                    final int to = change.getTo();
+                    final int[] permutation = new int[to - from];
+                    for (int i = from; i < to; i++) {
+                        permutation[i - from] = change.getPermutation(i);
+                    }
+                    ref.permute(from, to, permutation);
+                } else if (!change.wasUpdated()) {
+                    ref.replaceRange(change.getFrom(), change.getRemovedSize(), change.getAddedSubList());
+                }
+            }
+            ref.stale = false;
+            ref.changed();
+        }
+    }
+}
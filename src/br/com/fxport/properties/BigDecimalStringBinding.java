@@ -0,0 +1,444 @@
+package br.com.fxport.properties;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import javafx.beans.binding.StringBinding;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * A {@link StringBinding} that formats the value of an
+ * {@link ObservableBigDecimalValue} like {@link String#format(Locale, String, Object...)}
+ * would, without going through {@link java.util.Formatter}.
+ * <p>
+ * The format {@code String} is parsed once and the result is shared by all
+ * bindings with the same format. The symbols of a {@code Locale} (zero digit,
+ * decimal and grouping separator, grouping size) are looked up once and
+ * cached as well. When the binding is recomputed with a value that is
+ * numerically equal to the last one, e.g. after a dependency changed back,
+ * the last text is returned without formatting again.
+ * <p>
+ * Supported are format {@code String}s with literal text, {@code %%},
+ * {@code %n} and exactly one conversion that is either {@code %s}, with the
+ * {@code -} flag, width and precision, or {@code %f}, with the flags
+ * {@code - + space 0 , (}, width and precision. Use
+ * {@link #isSupported(String)} to check a format; other formats are handled by
+ * {@link br.com.fxport.util.Bindings#format(Locale, String, ObservableBigDecimalValue)}
+ * with {@code java.util.Formatter}.
+ *
+ * @see br.com.fxport.util.Bindings#format(String, ObservableBigDecimalValue)
+ */
+public class BigDecimalStringBinding extends StringBinding {
+
+    private static final ConcurrentHashMap<String, Spec> SPECS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Locale, Symbols> SYMBOLS = new ConcurrentHashMap<>();
+    private static final Spec UNSUPPORTED = new Spec(null, (char) 0, null, 0, -1, -1);
+    private static final Symbols NO_LOCALE = new Symbols('0', '.', ',', 3);
+
+    private final ObservableBigDecimalValue source;
+    private final Spec spec;
+    private final Locale locale;
+    private final boolean defaultLocale;
+    private final StringBuilder buffer = new StringBuilder();
+    private Locale lastLocale;
+    private Symbols symbols;
+    private BigDecimal lastValue;
+    private String lastText;
+    private ObservableList<?> dependencyList;
+
+    /**
+     * Creates a binding that formats with the default {@code Locale} for
+     * formatting, as {@code String.format(String, Object...)} does.
+     *
+     * @param source
+     *            the value to format
+     * @param format
+     *            the formatting {@code String}
+     * @throws NullPointerException
+     *             if {@code source} or {@code format} is {@code null}
+     * @throws IllegalArgumentException
+     *             if {@code format} is not supported
+     */
+    public BigDecimalStringBinding(ObservableBigDecimalValue source, String format) {
+        this(source, null, format, true);
+    }
+
+    /**
+     * Creates a binding that formats with the given {@code Locale}. A
+     * {@code null} locale applies no localization, as in
+     * {@code java.util.Formatter}.
+     *
+     * @param source
+     *            the value to format
+     * @param locale
+     *            the {@code Locale} to use, or {@code null}
+     * @param format
+     *            the formatting {@code String}
+     * @throws NullPointerException
+     *             if {@code source} or {@code format} is {@code null}
+     * @throws IllegalArgumentException
+     *             if {@code format} is not supported
+     */
+    public BigDecimalStringBinding(ObservableBigDecimalValue source, Locale locale, String format) {
+        this(source, locale, format, false);
+    }
+
+    private BigDecimalStringBinding(ObservableBigDecimalValue source, Locale locale, String format,
+            boolean defaultLocale) {
+        if (source == null) {
+            throw new NullPointerException("Source cannot be null.");
+        }
+        final Spec spec = compile(format);
+        if (spec == UNSUPPORTED) {
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+        this.source = source;
+        this.spec = spec;
+        this.locale = locale;
+        this.defaultLocale = defaultLocale;
+        bind(source);
+    }
+
+    /**
+     * Returns {@code true} if {@code format} can be handled by a
+     * {@code BigDecimalStringBinding}.
+     *
+     * @param format
+     *            the formatting {@code String}
+     * @return {@code true} if {@code format} is supported
+     * @throws NullPointerException
+     *             if {@code format} is {@code null}
+     */
+    public static boolean isSupported(String format) {
+        return compile(format) != UNSUPPORTED;
+    }
+
+    private static Spec compile(String format) {
+        if (format == null) {
+            throw new NullPointerException("Format cannot be null.");
+        }
+        Spec spec = SPECS.get(format);
+        if (spec == null) {
+            spec = parse(format);
+            final Spec previous = SPECS.putIfAbsent(format, spec);
+            if (previous != null) {
+                spec = previous;
+            }
+        }
+        return spec;
+    }
+
+    private static Spec parse(String format) {
+        final StringBuilder prefix = new StringBuilder();
+        final StringBuilder suffix = new StringBuilder();
+        StringBuilder text = prefix;
+        char conversion = 0;
+        int flags = 0;
+        int width = -1;
+        int precision = -1;
+        final int length = format.length();
+        int i = 0;
+        while (i < length) {
+            final char c = format.charAt(i++);
+            if (c != '%') {
+                text.append(c);
+                continue;
+            }
+            if (i == length) {
+                return UNSUPPORTED;
+            }
+            if (format.charAt(i) == '%') {
+                text.append('%');
+                i++;
+                continue;
+            }
+            if (format.charAt(i) == 'n') {
+                text.append(System.lineSeparator());
+                i++;
+                continue;
+            }
+            if (conversion != 0) {
+                // a second argument, or an index
+                return UNSUPPORTED;
+            }
+            int f = 0;
+            int flag;
+            while ((i < length) && ((flag = Spec.flag(format.charAt(i))) != 0)) {
+                if ((f & flag) != 0) {
+                    return UNSUPPORTED;
+                }
+                f |= flag;
+                i++;
+            }
+            int w = -1;
+            while ((i < length) && isDigit(format.charAt(i))) {
+                w = Math.max(w, 0) * 10 + (format.charAt(i++) - '0');
+            }
+            int p = -1;
+            if ((i < length) && (format.charAt(i) == '.')) {
+                i++;
+                p = 0;
+                if ((i == length) || !isDigit(format.charAt(i))) {
+                    return UNSUPPORTED;
+                }
+                while ((i < length) && isDigit(format.charAt(i))) {
+                    p = p * 10 + (format.charAt(i++) - '0');
+                }
+            }
+            if ((i == length) || (w > 9999) || (p > 9999)) {
+                return UNSUPPORTED;
+            }
+            final char c2 = format.charAt(i++);
+            if (!Spec.valid(c2, f, w)) {
+                return UNSUPPORTED;
+            }
+            conversion = c2;
+            flags = f;
+            width = w;
+            precision = p;
+            text = suffix;
+        }
+        if (conversion == 0) {
+            return UNSUPPORTED;
+        }
+        return new Spec(prefix.toString(), conversion, suffix.toString(), flags, width, precision);
+    }
+
+    private static boolean isDigit(char c) {
+        return (c >= '0') && (c <= '9');
+    }
+
+    private static Symbols symbolsOf(Locale locale) {
+        if ((locale == null) || locale.equals(Locale.US)) {
+            return NO_LOCALE;
+        }
+        Symbols result = SYMBOLS.get(locale);
+        if (result == null) {
+            final DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(locale);
+            char grouping = dfs.getGroupingSeparator();
+            int groupingSize = 3;
+            final NumberFormat nf = NumberFormat.getNumberInstance(locale);
+            if (nf instanceof DecimalFormat) {
+                final DecimalFormat df = (DecimalFormat) nf;
+                groupingSize = df.getGroupingSize();
+                if (!df.isGroupingUsed() || (groupingSize == 0)) {
+                    grouping = '\0';
+                }
+            }
+            result = new Symbols(dfs.getZeroDigit(), dfs.getDecimalSeparator(), grouping, groupingSize);
+            SYMBOLS.putIfAbsent(locale, result);
+        }
+        return result;
+    }
+
+    @Override
+    protected String computeValue() {
+        final BigDecimal value = source.get();
+        final Locale currentLocale = defaultLocale ? Locale.getDefault(Locale.Category.FORMAT) : locale;
+        if ((symbols == null) || (currentLocale != lastLocale)) {
+            final Symbols newSymbols = symbolsOf(currentLocale);
+            if (newSymbols != symbols) {
+                symbols = newSymbols;
+                lastText = null;
+            }
+            lastLocale = currentLocale;
+        }
+        if ((lastText != null) && sameText(value, lastValue)) {
+            return lastText;
+        }
+        buffer.setLength(0);
+        buffer.append(spec.prefix);
+        if (value == null) {
+            spec.appendNull(buffer);
+        } else if (spec.conversion == 's') {
+            spec.appendString(buffer, value.toString());
+        } else {
+            spec.appendDecimal(buffer, value, symbols);
+        }
+        buffer.append(spec.suffix);
+        lastValue = value;
+        lastText = buffer.toString();
+        return lastText;
+    }
+
+    private boolean sameText(BigDecimal value, BigDecimal last) {
+        if ((value == last) || (value == null) || (last == null)) {
+            return value == last;
+        }
+        // %s prints the scale, %f only the value
+        return (spec.conversion == 's') ? value.equals(last) : (value.compareTo(last) == 0);
+    }
+
+    @Override
+    public void dispose() {
+        unbind(source);
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        if (dependencyList == null) {
+            dependencyList = FXCollections.singletonObservableList(source);
+        }
+        return dependencyList;
+    }
+
+    /**
+     * A parsed format {@code String}.
+     */
+    private static final class Spec {
+
+        private static final int LEFT = 1;
+        private static final int PLUS = 2;
+        private static final int SPACE = 4;
+        private static final int ZERO = 8;
+        private static final int GROUP = 16;
+        private static final int PAREN = 32;
+
+        private final String prefix;
+        private final char conversion;
+        private final String suffix;
+        private final int flags;
+        private final int width;
+        private final int precision;
+
+        Spec(String prefix, char conversion, String suffix, int flags, int width, int precision) {
+            this.prefix = prefix;
+            this.conversion = conversion;
+            this.suffix = suffix;
+            this.flags = flags;
+            this.width = width;
+            this.precision = precision;
+        }
+
+        static int flag(char c) {
+            switch (c) {
+            case '-':
+                return LEFT;
+            case '+':
+                return PLUS;
+            case ' ':
+                return SPACE;
+            case '0':
+                return ZERO;
+            case ',':
+                return GROUP;
+            case '(':
+                return PAREN;
+            default:
+                // '#', '<' and argument indices are not supported
+                return 0;
+            }
+        }
+
+        /**
+         * Checks the combinations that {@code java.util.Formatter} accepts.
+         */
+        static boolean valid(char conversion, int flags, int width) {
+            if (((flags & (LEFT | ZERO)) != 0) && (width == -1)) {
+                return false;
+            }
+            if (conversion == 's') {
+                return (flags & ~LEFT) == 0;
+            }
+            if (conversion == 'f') {
+                return ((flags & (PLUS | SPACE)) != (PLUS | SPACE)) && ((flags & (LEFT | ZERO)) != (LEFT | ZERO));
+            }
+            return false;
+        }
+
+        void appendNull(StringBuilder sb) {
+            appendString(sb, "null");
+        }
+
+        void appendString(StringBuilder sb, String s) {
+            final int length = ((precision != -1) && (precision < s.length())) ? precision : s.length();
+            if ((flags & LEFT) == 0) {
+                pad(sb, width - length, ' ');
+            }
+            sb.append(s, 0, length);
+            if ((flags & LEFT) != 0) {
+                pad(sb, width - length, ' ');
+            }
+        }
+
+        void appendDecimal(StringBuilder sb, BigDecimal value, Symbols symbols) {
+            final boolean negative = value.signum() < 0;
+            final int scale = (precision == -1) ? 6 : precision;
+            final String plain = value.setScale(scale, RoundingMode.HALF_UP).toPlainString();
+            final int start = sb.length();
+            if (negative) {
+                sb.append(((flags & PAREN) != 0) ? '(' : '-');
+            } else if ((flags & PLUS) != 0) {
+                sb.append('+');
+            } else if ((flags & SPACE) != 0) {
+                sb.append(' ');
+            }
+            final int magnitude = sb.length();
+            // the rounded value may be zero but keeps the sign of the value
+            final int from = (plain.charAt(0) == '-') ? 1 : 0;
+            final int dot = (scale == 0) ? plain.length() : plain.length() - scale - 1;
+            final int offset = symbols.zero - '0';
+            final boolean grouping = ((flags & GROUP) != 0) && (symbols.grouping != '\0');
+            for (int i = from; i < dot; i++) {
+                sb.append((char) (plain.charAt(i) + offset));
+                final int remaining = dot - i - 1;
+                if (grouping && (remaining > 0) && ((remaining % symbols.groupingSize) == 0)) {
+                    sb.append(symbols.grouping);
+                }
+            }
+            if (scale > 0) {
+                sb.append(symbols.decimal);
+                for (int i = dot + 1; i < plain.length(); i++) {
+                    sb.append((char) (plain.charAt(i) + offset));
+                }
+            }
+            if (negative && ((flags & PAREN) != 0)) {
+                sb.append(')');
+            }
+            final int length = sb.length() - start;
+            if ((flags & ZERO) != 0) {
+                final int missing = width - length;
+                for (int k = 0; k < missing; k++) {
+                    sb.insert(magnitude, symbols.zero);
+                }
+            } else if ((flags & LEFT) != 0) {
+                pad(sb, width - length, ' ');
+            } else if (width > length) {
+                for (int k = length; k < width; k++) {
+                    sb.insert(start, ' ');
+                }
+            }
+        }
+
+        private static void pad(StringBuilder sb, int count, char c) {
+            for (int k = 0; k < count; k++) {
+                sb.append(c);
+            }
+        }
+    }
+
+    /**
+     * The symbols of a {@code Locale} used by {@code %f}.
+     */
+    private static final class Symbols {
+
+        private final char zero;
+        private final char decimal;
+        private final char grouping;
+        private final int groupingSize;
+
+        Symbols(char zero, char decimal, char grouping, int groupingSize) {
+            this.zero = zero;
+            this.decimal = decimal;
+            this.grouping = grouping;
+            this.groupingSize = groupingSize;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.fxport.properties;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+
+import com.sun.javafx.collections.ImmutableObservableList;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.util.BigDecimalTransaction;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * A {@link BigDecimalBinding} that holds the sum of its operands and updates
+ * it incrementally.
+ * <p>
+ * Every operand is observed by its own listener, so the binding knows which
+ * operands were invalidated since the last {@link #get()}. It remembers the
+ * last value read from each operand and recomputes with
+ * {@code total - old + new} for the changed operands only. A full
+ * recomputation is done on the first evaluation, after {@link #reset()},
+ * whenever more than half of the operands changed, where re-adding everything
+ * is cheaper than the delta, and when read while a
+ * {@link BigDecimalTransaction} delivers its notifications.
+ * <p>
+ * The result is numerically equal to the plain sum, but its scale may be
+ * larger: a delta keeps the scale of every value that was ever subtracted.
+ *
+ * @see br.com.fxport.util.Bindings#incrementalSum(ObservableBigDecimalValue...)
+ */
+public class BigDecimalSumBinding extends BigDecimalBinding {
+
+    private final ObservableBigDecimalValue[] operands;
+    private final OperandObserver[] observers;
+    private final BigDecimal[] last;
+    private final boolean[] dirty;
+    private final int[] dirtyIndexes;
+    private int dirtyCount;
+    private BigDecimal total;
+    private ObservableList<?> dependencyList;
+
+    /**
+     * The constructor of {@code BigDecimalSumBinding}. The array is copied.
+     *
+     * @param operands
+     *            the values to add
+     * @throws NullPointerException
+     *             if the array or one of the operands is {@code null}
+     */
+    public BigDecimalSumBinding(ObservableBigDecimalValue... operands) {
+        if (operands == null) {
+            throw new NullPointerException("Operands cannot be null.");
+        }
+        this.operands = operands.clone();
+        final int n = this.operands.length;
+        this.observers = new OperandObserver[n];
+        this.last = new BigDecimal[n];
+        this.dirty = new boolean[n];
+        this.dirtyIndexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (this.operands[i] == null) {
+                throw new NullPointerException("Operands cannot be null.");
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            observers[i] = new OperandObserver(this, i);
+            this.operands[i].addListener(observers[i]);
+        }
+        updateRank(this.operands);
+    }
+
+    private void operandInvalidated(int index) {
+        if (!dirty[index]) {
+            dirty[index] = true;
+            dirtyIndexes[dirtyCount++] = index;
+        }
+        invalidate();
+    }
+
+    /**
+     * Drops the incremental state, so the next evaluation re-adds every
+     * operand.
+     */
+    public void reset() {
+        total = null;
+        invalidate();
+    }
+
+    @Override
+    protected BigDecimal computeValue() {
+        if ((total == null) || (dirtyCount > operands.length / 2)) {
+            return recomputeAll();
+        }
+        if (BigDecimalTransaction.deliveryStamp() != 0) {
+            // operands of the frame may not have notified us yet
+            return recomputeAll();
+        }
+        BigDecimal result = total;
+        for (int k = 0; k < dirtyCount; k++) {
+            final int i = dirtyIndexes[k];
+            dirty[i] = false;
+            final BigDecimal newValue = operands[i].get();
+            if (newValue != last[i]) {
+                result = result.subtract(last[i]).add(newValue);
+                last[i] = newValue;
+            }
+        }
+        dirtyCount = 0;
+        total = result;
+        return result;
+    }
+
+    private BigDecimal recomputeAll() {
+        BigDecimal result = BigDecimal.ZERO;
+        for (int i = 0; i < operands.length; i++) {
+            final BigDecimal value = operands[i].get();
+            last[i] = value;
+            dirty[i] = false;
+            result = result.add(value);
+        }
+        dirtyCount = 0;
+        total = result;
+        return result;
+    }
+
+    @Override
+    public void dispose() {
+        for (int i = 0; i < operands.length; i++) {
+            operands[i].removeListener(observers[i]);
+        }
+        total = null;
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        if (dependencyList == null) {
+            dependencyList = (operands.length == 0)?
+                    FXCollections.emptyObservableList()
+                    : new ImmutableObservableList<ObservableBigDecimalValue>(operands);
+        }
+        return dependencyList;
+    }
+
+    private static class OperandObserver implements InvalidationListener {
+
+        private final WeakReference<BigDecimalSumBinding> wref;
+        private final int index;
+
+        public OperandObserver(BigDecimalSumBinding ref, int index) {
+            this.wref = new WeakReference<>(ref);
+            this.index = index;
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            BigDecimalSumBinding ref = wref.get();
+            if (ref == null) {
+                observable.removeListener(this);
+            } else {
+                ref.operandInvalidated(index);
+            }
+        }
+    }
+}
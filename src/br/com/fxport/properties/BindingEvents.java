@@ -0,0 +1,242 @@
+package br.com.fxport.properties;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder events of the bindings of this library.
+ * <ul>
+ * <li>{@link Cascade} ({@code br.com.fxport.InvalidationCascade}): a property
+ * that was set notifying its listeners, with everything they invalidated and
+ * recomputed in turn. Its start and duration are the start and end of the
+ * cascade, {@code nodes} the number of bindings and properties it
+ * invalidated.</li>
+ * <li>{@link SlowRecompute} ({@code br.com.fxport.SlowRecompute}): a call of
+ * {@code BigDecimalBinding.computeValue()}, including the dependencies it
+ * recomputed.</li>
+ * <li>{@link ListenerCallback} ({@code br.com.fxport.ListenerCallback}): one
+ * listener notified by a property or binding.</li>
+ * </ul>
+ * All three are duration events with a default threshold of 1 ms, which is
+ * configured like that of any JFR event, e.g.
+ * {@code recording.enable("br.com.fxport.SlowRecompute").withThreshold(Duration.ofMillis(5))}
+ * or {@code br.com.fxport.SlowRecompute#threshold=5 ms} in a {@code .jfc}
+ * file; a threshold of 0 records every occurrence. Without a recording the
+ * checks cost a field read and nothing is allocated.
+ */
+public final class BindingEvents {
+
+    private static final ThreadLocal<CascadeState> STATE = ThreadLocal.withInitial(CascadeState::new);
+    private static final AtomicInteger ACTIVE_CASCADES = new AtomicInteger();
+
+    private BindingEvents() {
+    }
+
+    /**
+     * Starts a cascade for a source that is about to notify its listeners.
+     * Called by the properties of this library.
+     *
+     * @return the event to pass to {@link #endCascade(Cascade, Observable)},
+     *         or {@code null} if the event is not recorded or a cascade is
+     *         already running on this thread
+     */
+    public static Cascade beginCascade() {
+        final Cascade event = new Cascade();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        final CascadeState state = STATE.get();
+        if (state.running) {
+            // nested, counted by the outer cascade
+            return null;
+        }
+        state.running = true;
+        state.nodes = 0;
+        ACTIVE_CASCADES.incrementAndGet();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends a cascade started with {@link #beginCascade()}.
+     *
+     * @param event
+     *            the event returned by {@code beginCascade()}, may be
+     *            {@code null}
+     * @param source
+     *            the source that started the cascade
+     */
+    public static void endCascade(Cascade event, Observable source) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        final CascadeState state = STATE.get();
+        state.running = false;
+        ACTIVE_CASCADES.decrementAndGet();
+        if (event.shouldCommit()) {
+            event.source = BindingMetrics.label(source);
+            event.nodes = state.nodes;
+            event.commit();
+        }
+    }
+
+    /**
+     * Counts a node invalidated by the running cascade, if one is recorded.
+     */
+    public static void touched() {
+        if (ACTIVE_CASCADES.get() != 0) {
+            final CascadeState state = STATE.get();
+            if (state.running) {
+                state.nodes++;
+            }
+        }
+    }
+
+    /**
+     * Commits a recompute event begun by {@code BigDecimalBinding}.
+     */
+    static void endRecompute(SlowRecompute event, BigDecimalBinding binding) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.binding = BindingMetrics.label(binding);
+            event.rank = binding.getRank();
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns {@code true} if listener callbacks are recorded.
+     *
+     * @return {@code true} if {@link ListenerCallback} is enabled
+     */
+    public static boolean isListenerCallbackEnabled() {
+        return new ListenerCallback().isEnabled();
+    }
+
+    /**
+     * Notifies an {@code InvalidationListener} and records the call.
+     *
+     * @param listener
+     *            the listener
+     * @param observable
+     *            the observable that notifies
+     */
+    public static void invalidated(InvalidationListener listener, Observable observable) {
+        final ListenerCallback event = new ListenerCallback();
+        event.begin();
+        try {
+            listener.invalidated(observable);
+        } finally {
+            endCallback(event, listener, observable, "invalidation");
+        }
+    }
+
+    /**
+     * Notifies a {@code ChangeListener} and records the call.
+     *
+     * @param listener
+     *            the listener
+     * @param observable
+     *            the observable that notifies
+     * @param oldValue
+     *            the previous value
+     * @param newValue
+     *            the new value
+     */
+    public static void changed(ChangeListener<? super BigDecimal> listener,
+            ObservableValue<BigDecimal> observable, BigDecimal oldValue, BigDecimal newValue) {
+        final ListenerCallback event = new ListenerCallback();
+        event.begin();
+        try {
+            listener.changed(observable, oldValue, newValue);
+        } finally {
+            endCallback(event, listener, observable, "change");
+        }
+    }
+
+    private static void endCallback(ListenerCallback event, Object listener, Observable observable, String kind) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.observable = BindingMetrics.label(observable);
+            event.listener = listener.getClass();
+            event.kind = kind;
+            event.commit();
+        }
+    }
+
+    private static final class CascadeState {
+        private boolean running;
+        private int nodes;
+    }
+
+    /**
+     * An invalidation cascade started by a property.
+     */
+    @Name("br.com.fxport.InvalidationCascade")
+    @Label("Invalidation Cascade")
+    @Description("A BigDecimal property notifying its listeners and everything they invalidated in turn")
+    @Category({ "JavaFX", "BigDecimal Bindings" })
+    @Threshold("1 ms")
+    @StackTrace(true)
+    public static final class Cascade extends Event {
+
+        @Label("Source")
+        String source;
+
+        @Label("Nodes")
+        @Description("Bindings and properties invalidated by the cascade")
+        int nodes;
+    }
+
+    /**
+     * A call of {@code computeValue()} of a {@link BigDecimalBinding}.
+     */
+    @Name("br.com.fxport.SlowRecompute")
+    @Label("Slow Recompute")
+    @Description("A BigDecimalBinding.computeValue() call above the threshold, including its dependencies")
+    @Category({ "JavaFX", "BigDecimal Bindings" })
+    @Threshold("1 ms")
+    @StackTrace(false)
+    public static final class SlowRecompute extends Event {
+
+        @Label("Binding")
+        String binding;
+
+        @Label("Rank")
+        int rank;
+    }
+
+    /**
+     * A listener notified by a property or binding of this library.
+     */
+    @Name("br.com.fxport.ListenerCallback")
+    @Label("Listener Callback")
+    @Description("A listener of a BigDecimal property or binding, including what it invalidated in turn")
+    @Category({ "JavaFX", "BigDecimal Bindings" })
+    @Threshold("1 ms")
+    @StackTrace(false)
+    public static final class ListenerCallback extends Event {
+
+        @Label("Observable")
+        String observable;
+
+        @Label("Listener")
+        Class<?> listener;
+
+        @Label("Kind")
+        String kind;
+    }
+}
@@ -0,0 +1,312 @@
+package br.com.fxport.properties;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.com.fxport.util.BindingGraph;
+import javafx.beans.Observable;
+import javafx.beans.binding.Binding;
+
+/**
+ * Optional recomputation metrics of {@link BigDecimalBinding}s and
+ * {@link br.com.fxport.properties.base.BigDecimalPropertyBase properties}.
+ * <p>
+ * Metrics are switched on for the whole JVM with the system property
+ * {@code br.com.fxport.metrics=true}. The switch is read once, when this class
+ * is loaded, into a constant, so with metrics off the checks in the bindings
+ * are removed by the JIT and no counters are created.
+ * <p>
+ * With metrics on, every node gets {@link Counters} when it is created:
+ * invalidations, recomputes, cache hits (reads of a valid binding) and the
+ * time spent in {@code computeValue()}. The registry only holds weak
+ * references to the nodes. {@link #top(int)} returns the nodes that spent the
+ * most time computing and {@link #report(int)} prints them with the paths to
+ * the dependencies they are computed from.
+ * <p>
+ * The counters of a node are updated by the thread that uses the node without
+ * synchronization; read them from the same thread for exact numbers.
+ */
+public final class BindingMetrics {
+
+    private static final boolean ENABLED = Boolean.getBoolean("br.com.fxport.metrics");
+    private static final int PRUNE_INTERVAL = 4096;
+    private static final int MAX_PATHS = 16;
+    private static final int MAX_DEPTH = 8;
+
+    private static final ConcurrentLinkedQueue<Counters> REGISTRY = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger REGISTRATIONS = new AtomicInteger();
+
+    /**
+     * Orders by time spent computing, most first.
+     */
+    public static final Comparator<Counters> BY_COMPUTE_TIME = Comparator
+            .comparingLong(Counters::getComputeNanos).reversed();
+
+    /**
+     * Orders by number of recomputes, most first.
+     */
+    public static final Comparator<Counters> BY_RECOMPUTES = Comparator
+            .comparingLong(Counters::getRecomputes).reversed();
+
+    /**
+     * Orders by number of invalidations, most first.
+     */
+    public static final Comparator<Counters> BY_INVALIDATIONS = Comparator
+            .comparingLong(Counters::getInvalidations).reversed();
+
+    private BindingMetrics() {
+    }
+
+    /**
+     * Returns {@code true} if metrics are collected, i.e. the system property
+     * {@code br.com.fxport.metrics} was {@code true} when this class was
+     * loaded.
+     *
+     * @return {@code true} if metrics are enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Creates and registers the counters of a node. Called by the nodes of
+     * this library when they are created.
+     *
+     * @param node
+     *            the instrumented node
+     * @return the counters of {@code node}, or {@code null} if metrics are
+     *         disabled
+     */
+    public static Counters register(Observable node) {
+        if (!ENABLED) {
+            return null;
+        }
+        final Counters counters = new Counters(node);
+        REGISTRY.add(counters);
+        if ((REGISTRATIONS.incrementAndGet() % PRUNE_INTERVAL) == 0) {
+            prune();
+        }
+        return counters;
+    }
+
+    private static void prune() {
+        for (final Iterator<Counters> it = REGISTRY.iterator(); it.hasNext();) {
+            if (it.next().getNode() == null) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Sets the counters of all nodes to zero.
+     */
+    public static void reset() {
+        prune();
+        for (final Counters counters : REGISTRY) {
+            counters.reset();
+        }
+    }
+
+    /**
+     * Returns the {@code n} nodes that spent the most time in
+     * {@code computeValue()}.
+     *
+     * @param n
+     *            the number of nodes
+     * @return the counters of the hottest nodes, hottest first
+     */
+    public static List<Counters> top(int n) {
+        return top(n, BY_COMPUTE_TIME);
+    }
+
+    /**
+     * Returns the first {@code n} nodes in the given order.
+     *
+     * @param n
+     *            the number of nodes
+     * @param order
+     *            the order, e.g. {@link #BY_RECOMPUTES}
+     * @return the counters of the first {@code n} nodes
+     */
+    public static List<Counters> top(int n, Comparator<Counters> order) {
+        prune();
+        final List<Counters> result = new ArrayList<>(REGISTRY);
+        result.sort(order);
+        return (result.size() > n) ? new ArrayList<>(result.subList(0, n)) : result;
+    }
+
+    /**
+     * Returns a table of the {@code n} nodes that spent the most time in
+     * {@code computeValue()}, each followed by its dependency paths.
+     *
+     * @param n
+     *            the number of nodes
+     * @return the report, empty if metrics are disabled
+     */
+    public static String report(int n) {
+        if (!ENABLED) {
+            return "";
+        }
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%12s %12s %12s %12s  %s%n", "compute ms", "recomputes", "hits",
+                "invalidated", "node"));
+        for (final Counters counters : top(n)) {
+            final Object node = counters.getNode();
+            if (node == null) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "%12.3f %12d %12d %12d  %s%n", counters.getComputeNanos() / 1e6,
+                    counters.getRecomputes(), counters.getCacheHits(), counters.getInvalidations(), label(node)));
+            for (final String path : counters.getDependencyPaths()) {
+                sb.append("        <- ").append(path).append(System.lineSeparator());
+            }
+        }
+        return sb.toString();
+    }
+
+    static String label(Object node) {
+        return BindingGraph.labelOf(node);
+    }
+
+    private static void collectPaths(Object node, String prefix, int depth, List<String> paths) {
+        if (paths.size() >= MAX_PATHS) {
+            return;
+        }
+        final List<?> dependencies = (node instanceof Binding) ? ((Binding<?>) node).getDependencies() : null;
+        if ((dependencies == null) || dependencies.isEmpty() || (depth == MAX_DEPTH)) {
+            if (prefix != null) {
+                paths.add((dependencies == null) || dependencies.isEmpty() ? prefix : prefix + " <- ...");
+            }
+            return;
+        }
+        for (final Object dependency : dependencies) {
+            final String label = label(dependency);
+            collectPaths(dependency, (prefix == null) ? label : prefix + " <- " + label, depth + 1, paths);
+        }
+    }
+
+    /**
+     * The counters of one node.
+     */
+    public static final class Counters {
+
+        private final WeakReference<Object> node;
+        private long invalidations;
+        private long recomputes;
+        private long cacheHits;
+        private long computeNanos;
+
+        Counters(Object node) {
+            this.node = new WeakReference<>(node);
+        }
+
+        /**
+         * Returns the node, or {@code null} if it was garbage collected.
+         *
+         * @return the node or {@code null}
+         */
+        public Object getNode() {
+            return node.get();
+        }
+
+        /**
+         * Returns how often the node was invalidated while it was valid.
+         *
+         * @return the number of invalidations
+         */
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        /**
+         * Returns how often {@code computeValue()} was called.
+         *
+         * @return the number of recomputes
+         */
+        public long getRecomputes() {
+            return recomputes;
+        }
+
+        /**
+         * Returns how often the value was read while it was valid.
+         *
+         * @return the number of cache hits
+         */
+        public long getCacheHits() {
+            return cacheHits;
+        }
+
+        /**
+         * Returns the total time spent in {@code computeValue()}, including
+         * the dependencies it read and recomputed.
+         *
+         * @return the compute time in nanoseconds
+         */
+        public long getComputeNanos() {
+            return computeNanos;
+        }
+
+        /**
+         * Returns the paths from the node to the observables it depends on,
+         * through {@code Binding.getDependencies()}, e.g.
+         * {@code "sum <- product <- SimpleBigDecimalProperty[price]"}. At most
+         * 16 paths of up to 8 steps are returned.
+         *
+         * @return the dependency paths, empty if the node has no dependencies
+         */
+        public List<String> getDependencyPaths() {
+            final List<String> paths = new ArrayList<>();
+            final Object current = getNode();
+            if (current != null) {
+                collectPaths(current, null, 0, paths);
+            }
+            return paths;
+        }
+
+        /**
+         * Counts an invalidation.
+         */
+        public void invalidated() {
+            invalidations++;
+        }
+
+        /**
+         * Counts a read of the cached value.
+         */
+        public void hit() {
+            cacheHits++;
+        }
+
+        /**
+         * Counts a call of {@code computeValue()}.
+         *
+         * @param nanos
+         *            the time the call took
+         */
+        public void recomputed(long nanos) {
+            recomputes++;
+            computeNanos += nanos;
+        }
+
+        void reset() {
+            invalidations = 0;
+            recomputes = 0;
+            cacheHits = 0;
+            computeNanos = 0;
+        }
+
+        @Override
+        public String toString() {
+            final Object current = getNode();
+            return "Counters [" + ((current == null) ? "collected" : label(current)) + ", invalidations: "
+                    + invalidations + ", recomputes: " + recomputes + ", hits: " + cacheHits + ", computeNanos: "
+                    + computeNanos + "]";
+        }
+    }
+}
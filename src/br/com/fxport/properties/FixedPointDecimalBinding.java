@@ -0,0 +1,257 @@
+package br.com.fxport.properties;
+
+import java.math.BigDecimal;
+
+import com.sun.javafx.binding.BindingHelperObserver;
+
+import br.com.fxport.interfaces.InterfaceBigDecimalBinding;
+import br.com.fxport.interfaces.ObservableFixedPointValue;
+import br.com.fxport.util.BigDecimalExpressionHelper;
+import br.com.fxport.util.BigDecimalTransaction;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Base class for bindings that compute an unscaled {@code long} at a fixed
+ * scale, see {@link ObservableFixedPointValue}.
+ * <p>
+ * Extending classes implement {@link #computeUnscaledValue()}, which works on
+ * {@code long}s and throws an {@link ArithmeticException} when the result does
+ * not fit, and {@link #computeValue()}, the same calculation on
+ * {@code BigDecimal} that is used in that case. A {@code BigDecimal} is
+ * otherwise only created when {@link #get()} is called.
+ */
+public abstract class FixedPointDecimalBinding extends BigDecimalExpression
+        implements InterfaceBigDecimalBinding, ObservableFixedPointValue {
+
+    private final int scale;
+    private long unscaled;
+    private BigDecimal inflated;
+    private BigDecimal cached;
+    private boolean valid;
+    private long notifiedIn = 0;
+    private long computedIn = 0;
+    private int rank = 0;
+    private BindingHelperObserver observer;
+    private BigDecimalExpressionHelper helper = null;
+
+    /**
+     * The constructor of {@code FixedPointDecimalBinding}.
+     *
+     * @param scale
+     *            the scale of the computed value
+     */
+    protected FixedPointDecimalBinding(int scale) {
+        this.scale = scale;
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    @Override
+    public void addListener(ChangeListener<? super BigDecimal> listener) {
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeListener(ChangeListener<? super BigDecimal> listener) {
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    /**
+     * Start observing the dependencies for changes. If the value of one of the
+     * dependencies changes, the binding is marked as invalid.
+     *
+     * @param dependencies
+     *            the dependencies to observe
+     */
+    protected final void bind(Observable... dependencies) {
+        if ((dependencies != null) && (dependencies.length > 0)) {
+            if (observer == null) {
+                observer = new BindingHelperObserver(this);
+            }
+            for (final Observable dep : dependencies) {
+                dep.addListener(observer);
+            }
+            rank = PropagationScheduler.rankOf(rank, dependencies);
+        }
+    }
+
+    /**
+     * Stop observing the dependencies for changes.
+     *
+     * @param dependencies
+     *            the dependencies to stop observing
+     */
+    protected final void unbind(Observable... dependencies) {
+        if (observer != null) {
+            for (final Observable dep : dependencies) {
+                dep.removeListener(observer);
+            }
+            observer = null;
+        }
+    }
+
+    /**
+     * A default implementation of {@code dispose()} that is empty.
+     */
+    @Override
+    public void dispose() {
+    }
+
+    /**
+     * Returns the number of {@code InvalidationListener}s and
+     * {@code ChangeListener}s registered with this binding.
+     *
+     * @return the number of listeners
+     */
+    public int getListenerCount() {
+        return BigDecimalExpressionHelper.getListenerCount(helper);
+    }
+
+    /**
+     * A default implementation of {@code getDependencies()} that returns an
+     * empty {@link javafx.collections.ObservableList}.
+     *
+     * @return an empty {@code ObservableList}
+     */
+    @Override
+    public ObservableList<?> getDependencies() {
+        return FXCollections.emptyObservableList();
+    }
+
+    private void validate() {
+        // see BigDecimalBinding.get() for the transaction case
+        final long stamp = BigDecimalTransaction.deliveryStamp();
+        if (!valid || ((stamp != 0) && (computedIn != stamp))) {
+            computedIn = stamp;
+            try {
+                unscaled = computeUnscaledValue();
+                inflated = null;
+            } catch (ArithmeticException e) {
+                inflated = computeValue();
+            }
+            cached = null;
+            valid = true;
+        }
+    }
+
+    /**
+     * Returns the topological rank of this binding, see
+     * {@link PropagationScheduler}.
+     *
+     * @return the rank of this binding
+     */
+    public final int getRank() {
+        return rank;
+    }
+
+    @Override
+    public final int getScale() {
+        return scale;
+    }
+
+    @Override
+    public final boolean isCompact() {
+        validate();
+        return inflated == null;
+    }
+
+    @Override
+    public final long getUnscaledValue() {
+        validate();
+        if (inflated != null) {
+            throw new ArithmeticException("Value does not fit into a long at scale " + scale);
+        }
+        return unscaled;
+    }
+
+    /**
+     * Returns the current value as a {@code BigDecimal}. The instance is
+     * created on the first call after the value changed and then cached.
+     *
+     * @return the current value
+     */
+    @Override
+    public final BigDecimal get() {
+        validate();
+        if (inflated != null) {
+            return inflated;
+        }
+        if (cached == null) {
+            cached = BigDecimal.valueOf(unscaled, scale);
+        }
+        return cached;
+    }
+
+    @Override
+    public final void invalidate() {
+        if (valid) {
+            final long stamp = BigDecimalTransaction.deliveryStamp();
+            if (stamp != 0) {
+                if (notifiedIn == stamp) {
+                    valid = false;
+                    return;
+                }
+                notifiedIn = stamp;
+            }
+            valid = false;
+            if (!PropagationScheduler.schedule(this, rank, null)) {
+                BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners of an invalidation queued by the
+     * {@link PropagationScheduler}.
+     */
+    final void propagate() {
+        valid = false;
+        BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+    }
+
+    @Override
+    public final boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Calculates the current value as an unscaled {@code long} at
+     * {@link #getScale()}.
+     *
+     * @return the unscaled value
+     * @throws ArithmeticException
+     *             if the value does not fit into a {@code long}
+     */
+    protected abstract long computeUnscaledValue();
+
+    /**
+     * Calculates the current value as a {@code BigDecimal} at
+     * {@link #getScale()}. Only called if {@link #computeUnscaledValue()}
+     * failed.
+     *
+     * @return the current value
+     */
+    protected abstract BigDecimal computeValue();
+
+    /**
+     * Returns a string representation of this {@code FixedPointDecimalBinding} object.
+     * @return a string representation of this {@code FixedPointDecimalBinding} object.
+     */
+    @Override
+    public String toString() {
+        return valid ? "FixedPointDecimalBinding [value: " + get() + "]"
+                : "FixedPointDecimalBinding [invalid]";
+    }
+}
@@ -0,0 +1,427 @@
+package br.com.fxport.properties;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import br.com.fxport.interfaces.ObservableFixedPointValue;
+import br.com.fxport.util.BigDecimalExpressionHelper;
+import br.com.fxport.util.BigDecimalTransaction;
+import br.com.fxport.util.FixedPointArithmetic;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * A {@link BigDecimalProperty} that stores its value as an unscaled
+ * {@code long} at a fixed scale, e.g. scale 2 for money or 8 for prices.
+ * <p>
+ * {@link #set(long)} and {@link #getUnscaledValue()} do not allocate, and the
+ * fixed point overloads in {@link br.com.fxport.util.Bindings} compute on the
+ * {@code long} as well. A {@code BigDecimal} is only created when
+ * {@link #get()} is called, and is cached until the value changes. Values
+ * that do not fit into a {@code long} at the scale are kept as a
+ * {@code BigDecimal} instead.
+ * <p>
+ * Values set as {@code BigDecimal} are rounded to the scale with
+ * {@link #getRoundingMode()}, {@code null} is stored as zero.
+ */
+public class FixedPointDecimalProperty extends BigDecimalProperty implements ObservableFixedPointValue {
+
+    private static final Object DEFAULT_BEAN = null;
+    private static final String DEFAULT_NAME = "";
+
+    private final Object bean;
+    private final String name;
+    private final int scale;
+    private RoundingMode roundingMode = RoundingMode.HALF_EVEN;
+
+    private long unscaled;
+    private BigDecimal inflated = null;
+    private BigDecimal cached = null;
+    private ObservableValue<? extends BigDecimal> observable = null;
+    private InvalidationListener listener = null;
+    private boolean valid = true;
+    private boolean pending = false;
+    private long notifiedIn = 0;
+    private BigDecimalExpressionHelper helper = null;
+
+    /**
+     * The constructor of {@code FixedPointDecimalProperty}
+     *
+     * @param scale
+     *            the fixed scale of the value
+     */
+    public FixedPointDecimalProperty(int scale) {
+        this(DEFAULT_BEAN, DEFAULT_NAME, scale);
+    }
+
+    /**
+     * The constructor of {@code FixedPointDecimalProperty}
+     *
+     * @param scale
+     *            the fixed scale of the value
+     * @param initialValue
+     *            the initial value of the wrapped value
+     */
+    public FixedPointDecimalProperty(int scale, BigDecimal initialValue) {
+        this(DEFAULT_BEAN, DEFAULT_NAME, scale, initialValue);
+    }
+
+    /**
+     * The constructor of {@code FixedPointDecimalProperty}
+     *
+     * @param bean
+     *            the bean of this {@code FixedPointDecimalProperty}
+     * @param name
+     *            the name of this {@code FixedPointDecimalProperty}
+     * @param scale
+     *            the fixed scale of the value
+     */
+    public FixedPointDecimalProperty(Object bean, String name, int scale) {
+        this.bean = bean;
+        this.name = (name == null) ? DEFAULT_NAME : name;
+        this.scale = scale;
+    }
+
+    /**
+     * The constructor of {@code FixedPointDecimalProperty}
+     *
+     * @param bean
+     *            the bean of this {@code FixedPointDecimalProperty}
+     * @param name
+     *            the name of this {@code FixedPointDecimalProperty}
+     * @param scale
+     *            the fixed scale of the value
+     * @param initialValue
+     *            the initial value of the wrapped value
+     */
+    public FixedPointDecimalProperty(Object bean, String name, int scale, BigDecimal initialValue) {
+        this(bean, name, scale);
+        store(initialValue);
+    }
+
+    @Override
+    public Object getBean() {
+        return bean;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Returns the rounding mode used when a value with more digits than the
+     * scale is stored. The default is {@link RoundingMode#HALF_EVEN}.
+     *
+     * @return the {@code RoundingMode}
+     */
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    /**
+     * Sets the rounding mode used when a value with more digits than the scale
+     * is stored. Values already stored are not changed.
+     *
+     * @param roundingMode
+     *            the new {@code RoundingMode}
+     * @throws NullPointerException
+     *             if {@code roundingMode} is {@code null}
+     */
+    public void setRoundingMode(RoundingMode roundingMode) {
+        if (roundingMode == null) {
+            throw new NullPointerException("Rounding mode cannot be null.");
+        }
+        this.roundingMode = roundingMode;
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    @Override
+    public void addListener(ChangeListener<? super BigDecimal> listener) {
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeListener(ChangeListener<? super BigDecimal> listener) {
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    /**
+     * Returns the number of {@code InvalidationListener}s and
+     * {@code ChangeListener}s registered with this property.
+     *
+     * @return the number of listeners
+     */
+    public int getListenerCount() {
+        return BigDecimalExpressionHelper.getListenerCount(helper);
+    }
+
+    /**
+     * Sends notifications to all attached
+     * {@link javafx.beans.InvalidationListener InvalidationListeners} and
+     * {@link javafx.beans.value.ChangeListener ChangeListeners}.
+     */
+    protected void fireValueChangedEvent() {
+        BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+    }
+
+    private void markInvalid() {
+        if (valid) {
+            final long stamp = BigDecimalTransaction.deliveryStamp();
+            if (stamp != 0) {
+                if (notifiedIn == stamp) {
+                    valid = false;
+                    return;
+                }
+                notifiedIn = stamp;
+            }
+            valid = false;
+            invalidated();
+            PropagationScheduler.beginPropagation();
+            try {
+                fireValueChangedEvent();
+            } finally {
+                PropagationScheduler.endPropagation();
+            }
+        }
+    }
+
+    /**
+     * The method {@code invalidated()} can be overridden to receive
+     * invalidation notifications.
+     *
+     * The default implementation is empty.
+     */
+    protected void invalidated() {
+    }
+
+    private boolean store(BigDecimal newValue) {
+        if (newValue == null) {
+            newValue = BigDecimal.ZERO;
+        }
+        try {
+            return storeUnscaled(FixedPointArithmetic.toUnscaled(newValue, scale, roundingMode));
+        } catch (ArithmeticException e) {
+            final BigDecimal scaled = newValue.setScale(scale, roundingMode);
+            if ((inflated != null) && (inflated.compareTo(scaled) == 0)) {
+                return false;
+            }
+            inflated = scaled;
+            cached = null;
+            return true;
+        }
+    }
+
+    private boolean storeUnscaled(long newValue) {
+        if ((inflated == null) && (unscaled == newValue)) {
+            return false;
+        }
+        unscaled = newValue;
+        inflated = null;
+        cached = null;
+        return true;
+    }
+
+    private void pull() {
+        valid = true;
+        if (observable == null) {
+            return;
+        }
+        if (observable instanceof ObservableFixedPointValue) {
+            final ObservableFixedPointValue fixed = (ObservableFixedPointValue) observable;
+            if (fixed.isCompact()) {
+                try {
+                    storeUnscaled(FixedPointArithmetic.rescale(fixed.getUnscaledValue(), fixed.getScale(), scale, roundingMode));
+                    return;
+                } catch (ArithmeticException e) {
+                    // does not fit at our scale, go through BigDecimal
+                }
+            }
+        }
+        store(observable.getValue());
+    }
+
+    @Override
+    public boolean isCompact() {
+        pull();
+        return inflated == null;
+    }
+
+    @Override
+    public long getUnscaledValue() {
+        pull();
+        if (inflated != null) {
+            throw new ArithmeticException("Value does not fit into a long at scale " + scale);
+        }
+        return unscaled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal get() {
+        pull();
+        if (inflated != null) {
+            return inflated;
+        }
+        if (cached == null) {
+            cached = BigDecimal.valueOf(unscaled, scale);
+        }
+        return cached;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(BigDecimal newValue) {
+        checkNotBound();
+        if (store(newValue)) {
+            changed();
+        }
+    }
+
+    /**
+     * Sets the value from an unscaled {@code long} at {@link #getScale()}
+     * without creating a {@code BigDecimal}.
+     *
+     * @param unscaledValue
+     *            the new unscaled value
+     */
+    public void set(long unscaledValue) {
+        checkNotBound();
+        if (storeUnscaled(unscaledValue)) {
+            changed();
+        }
+    }
+
+    private void changed() {
+        if (pending) {
+            return;
+        }
+        if (BigDecimalTransaction.isOpen()) {
+            pending = true;
+            BigDecimalTransaction.defer(this::deliverPending);
+        } else {
+            markInvalid();
+        }
+    }
+
+    private void deliverPending() {
+        pending = false;
+        markInvalid();
+    }
+
+    private void checkNotBound() {
+        if (isBound()) {
+            throw new java.lang.RuntimeException((getBean() != null && getName() != null ?
+                    getBean().getClass().getSimpleName() + "." + getName() + " : ": "") + "A bound value cannot be set.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isBound() {
+        return observable != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bind(final ObservableValue<? extends BigDecimal> newObservable) {
+        if (newObservable == null) {
+            throw new NullPointerException("Cannot bind to null");
+        }
+        if (!newObservable.equals(observable)) {
+            unbind();
+            observable = newObservable;
+            if (listener == null) {
+                listener = new Listener(this);
+            }
+            observable.addListener(listener);
+            markInvalid();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unbind() {
+        if (observable != null) {
+            pull();
+            observable.removeListener(listener);
+            observable = null;
+        }
+    }
+
+    /**
+     * Returns a string representation of this {@code FixedPointDecimalProperty} object.
+     * @return a string representation of this {@code FixedPointDecimalProperty} object.
+     */
+    @Override
+    public String toString() {
+        final Object bean = getBean();
+        final String name = getName();
+        final StringBuilder result = new StringBuilder("FixedPointDecimalProperty [");
+        if (bean != null) {
+            result.append("bean: ").append(bean).append(", ");
+        }
+        if ((name != null) && (!name.equals(""))) {
+            result.append("name: ").append(name).append(", ");
+        }
+        result.append("scale: ").append(scale).append(", ");
+        if (isBound()) {
+            result.append("bound, ");
+            if (valid) {
+                result.append("value: ").append(get());
+            } else {
+                result.append("invalid");
+            }
+        } else {
+            result.append("value: ").append(get());
+        }
+        result.append("]");
+        return result.toString();
+    }
+
+    private static class Listener implements InvalidationListener {
+
+        private final WeakReference<FixedPointDecimalProperty> wref;
+
+        public Listener(FixedPointDecimalProperty ref) {
+            this.wref = new WeakReference<>(ref);
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            FixedPointDecimalProperty ref = wref.get();
+            if (ref == null) {
+                observable.removeListener(this);
+            } else {
+                ref.markInvalid();
+            }
+        }
+    }
+}
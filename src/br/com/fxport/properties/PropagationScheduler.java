@@ -0,0 +1,190 @@
+package br.com.fxport.properties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.beans.Observable;
+
+/**
+ * Glitch-free, rank ordered propagation of invalidations through
+ * {@link BigDecimalBinding}s and {@link FixedPointDecimalBinding}s.
+ * <p>
+ * Every binding gets a topological rank when it binds to its dependencies:
+ * properties and other observables have rank 0, a binding has rank
+ * {@code 1 + max(rank of its dependencies)}. By default a binding notifies its
+ * listeners as soon as one of its dependencies does, so in a diamond like
+ * {@code c = a + a*b} a {@code ChangeListener} on {@code c} can run before
+ * {@code a*b} was invalidated and see a value computed from the old product.
+ * <p>
+ * With the scheduler {@link #setEnabled(boolean) enabled}, an invalidated
+ * binding is only marked invalid and queued by rank. When the source that
+ * started the cascade has notified all its listeners, the queue is processed
+ * in ascending rank: each binding notifies its listeners once, and by then
+ * every binding of a lower rank that depends on the change has been
+ * invalidated, so a listener reading the binding it listens to never sees an
+ * intermediate value. Bindings with early cutoff recompute at that point and
+ * only notify if their value changed.
+ * <p>
+ * The order is only known for bindings of this library. JavaFX bindings in
+ * the graph notify right away and may still observe intermediate values, and
+ * bindings that depend on a bound property are processed after the node that
+ * notified the property. Reading a binding of a higher rank than the one
+ * being processed can also return an intermediate value.
+ * <p>
+ * Queues are kept per thread; the switch is global.
+ */
+public final class PropagationScheduler {
+
+    private static final ThreadLocal<PropagationScheduler> CURRENT = ThreadLocal.withInitial(PropagationScheduler::new);
+    private static volatile boolean enabled = false;
+
+    private final List<List<Object>> nodes = new ArrayList<>();
+    private final List<List<BigDecimal>> before = new ArrayList<>();
+    private int depth = 0;
+    private boolean draining = false;
+    private int current = 0;
+    private int lowest = Integer.MAX_VALUE;
+    private int highest = -1;
+
+    private PropagationScheduler() {
+    }
+
+    /**
+     * Returns {@code true} if invalidations are propagated in rank order.
+     *
+     * @return {@code true} if the scheduler is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables rank ordered propagation. Disabled by default.
+     * Should not be switched while a cascade is running.
+     *
+     * @param enabled
+     *            {@code true} to propagate in rank order
+     */
+    public static void setEnabled(boolean enabled) {
+        PropagationScheduler.enabled = enabled;
+    }
+
+    /**
+     * Returns the rank of an observable: the rank of a binding of this
+     * library, or 0 for anything else.
+     *
+     * @param observable
+     *            the observable
+     * @return the rank of the observable
+     */
+    public static int rankOf(Observable observable) {
+        if (observable instanceof BigDecimalBinding) {
+            return ((BigDecimalBinding) observable).getRank();
+        }
+        if (observable instanceof FixedPointDecimalBinding) {
+            return ((FixedPointDecimalBinding) observable).getRank();
+        }
+        return 0;
+    }
+
+    static int rankOf(int rank, Observable... dependencies) {
+        if (dependencies != null) {
+            for (final Observable dep : dependencies) {
+                rank = Math.max(rank, rankOf(dep) + 1);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Marks the start of a notification by a source, e.g. a property that was
+     * set. Bindings invalidated until the matching
+     * {@link #endPropagation()} are queued and processed there. Does nothing
+     * if the scheduler is disabled.
+     */
+    public static void beginPropagation() {
+        if (enabled) {
+            CURRENT.get().depth++;
+        }
+    }
+
+    /**
+     * Marks the end of a notification started with
+     * {@link #beginPropagation()}. The outermost call processes the queued
+     * bindings in rank order.
+     */
+    public static void endPropagation() {
+        if (enabled) {
+            final PropagationScheduler scheduler = CURRENT.get();
+            if ((scheduler.depth > 0) && (--scheduler.depth == 0) && !scheduler.draining) {
+                scheduler.drain();
+            }
+        }
+    }
+
+    /**
+     * Queues an invalidated binding.
+     *
+     * @return {@code false} if the scheduler is disabled and the binding has
+     *         to notify right away
+     */
+    static boolean schedule(Object node, int rank, BigDecimal value) {
+        if (!enabled) {
+            return false;
+        }
+        final PropagationScheduler scheduler = CURRENT.get();
+        if ((scheduler.depth == 0) && !scheduler.draining) {
+            // invalidated by an observable that does not bracket its notification
+            scheduler.add(node, rank, value);
+            scheduler.drain();
+        } else {
+            scheduler.add(node, rank, value);
+        }
+        return true;
+    }
+
+    private void add(Object node, int rank, BigDecimal value) {
+        if (draining && (rank < current)) {
+            rank = current;
+        }
+        while (nodes.size() <= rank) {
+            nodes.add(new ArrayList<>());
+            before.add(new ArrayList<>());
+        }
+        nodes.get(rank).add(node);
+        before.get(rank).add(value);
+        lowest = Math.min(lowest, rank);
+        highest = Math.max(highest, rank);
+    }
+
+    private void drain() {
+        draining = true;
+        try {
+            for (current = lowest; current <= highest; current++) {
+                final List<Object> bucket = nodes.get(current);
+                final List<BigDecimal> values = before.get(current);
+                // the bucket can grow while it is processed
+                for (int i = 0; i < bucket.size(); i++) {
+                    final Object node = bucket.get(i);
+                    if (node instanceof BigDecimalBinding) {
+                        ((BigDecimalBinding) node).propagate(values.get(i));
+                    } else {
+                        ((FixedPointDecimalBinding) node).propagate();
+                    }
+                }
+                bucket.clear();
+                values.clear();
+            }
+        } finally {
+            for (int i = Math.max(lowest, 0); i <= highest; i++) {
+                nodes.get(i).clear();
+                before.get(i).clear();
+            }
+            draining = false;
+            current = 0;
+            lowest = Integer.MAX_VALUE;
+            highest = -1;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package br.com.fxport.properties;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import br.com.fxport.interfaces.InterfaceBigDecimalBinding;
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.util.BigDecimalExpressionHelper;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Follows a high-frequency {@link ObservableBigDecimalValue} with at most one
+ * notification per interval or per pulse.
+ * <p>
+ * Every change of the source is recorded as the latest value, which is cheap
+ * and may happen on any thread. The first change after a delivery schedules
+ * the next one; changes until then are conflated and counted as dropped, as
+ * is a delivery that finds the source back at the delivered value. A
+ * delivery stores the latest value and notifies the listeners of this binding,
+ * so they always see the most recent value, never an intermediate one.
+ * <p>
+ * Deliveries, {@code get()} and the listeners are confined to one thread. In
+ * interval mode, a delivery happens at the earliest one interval after the
+ * previous one and runs through the apply executor, which must run it on
+ * that thread, e.g. {@code Platform::runLater}. Without one, the default of
+ * {@link AsyncBigDecimalBinding#setDefaultApplyExecutor(Executor)} is used,
+ * which has to be set first. In pulse mode, created without an interval,
+ * nothing is delivered until {@link #pulse()} is called on that thread, e.g.
+ * from an {@code AnimationTimer}, and no apply executor is needed.
+ * {@code pulse()} delivers a pending change right away in interval mode as
+ * well.
+ */
+public class ThrottledBigDecimalBinding extends BigDecimalExpression implements InterfaceBigDecimalBinding {
+
+    private static volatile ScheduledExecutorService timer = null;
+
+    private final ObservableBigDecimalValue source;
+    private final long intervalNanos;
+    private final Executor applyExecutor;
+    private final InvalidationListener listener;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Runnable deliver = this::deliver;
+    private final Runnable apply;
+    private volatile BigDecimal latest;
+    private volatile long lastDelivery;
+    private BigDecimal value;
+    private BigDecimalExpressionHelper helper = null;
+    private ObservableList<?> dependencyList;
+
+    /**
+     * Creates a binding in pulse mode, which delivers on {@link #pulse()}.
+     *
+     * @param source
+     *            the value to follow
+     */
+    public ThrottledBigDecimalBinding(ObservableBigDecimalValue source) {
+        this(source, 0, TimeUnit.NANOSECONDS, null);
+    }
+
+    /**
+     * Creates a binding in interval mode that delivers through the default
+     * apply executor.
+     *
+     * @param source
+     *            the value to follow
+     * @param interval
+     *            the minimum time between two notifications
+     * @param unit
+     *            the unit of {@code interval}
+     * @throws IllegalStateException
+     *             if {@code interval} is not 0 and no default apply executor
+     *             was set
+     */
+    public ThrottledBigDecimalBinding(ObservableBigDecimalValue source, long interval, TimeUnit unit) {
+        this(source, interval, unit,
+                (interval == 0) ? null : AsyncBigDecimalBinding.requireDefaultApplyExecutor());
+    }
+
+    /**
+     * Creates a binding in interval mode, or in pulse mode if
+     * {@code interval} is 0.
+     *
+     * @param source
+     *            the value to follow
+     * @param interval
+     *            the minimum time between two notifications, or 0
+     * @param unit
+     *            the unit of {@code interval}
+     * @param applyExecutor
+     *            the {@code Executor} that delivers on the thread that uses
+     *            the binding, usually the UI thread; may be {@code null} in
+     *            pulse mode
+     * @throws NullPointerException
+     *             if {@code source} or {@code unit} is {@code null}, or
+     *             {@code applyExecutor} is {@code null} in interval mode
+     * @throws IllegalArgumentException
+     *             if {@code interval} is negative
+     */
+    public ThrottledBigDecimalBinding(ObservableBigDecimalValue source, long interval, TimeUnit unit,
+            Executor applyExecutor) {
+        if ((source == null) || (unit == null) || ((applyExecutor == null) && (interval != 0))) {
+            throw new NullPointerException("Source, unit and executor cannot be null.");
+        }
+        if (interval < 0) {
+            throw new IllegalArgumentException("Interval cannot be negative.");
+        }
+        this.source = source;
+        this.intervalNanos = unit.toNanos(interval);
+        this.applyExecutor = applyExecutor;
+        this.apply = (applyExecutor == null) ? null : () -> applyExecutor.execute(deliver);
+        this.value = source.get();
+        this.latest = value;
+        this.lastDelivery = System.nanoTime() - intervalNanos;
+        this.listener = new Listener(this);
+        source.addListener(listener);
+    }
+
+    private static ScheduledExecutorService timer() {
+        ScheduledExecutorService result = timer;
+        if (result == null) {
+            synchronized (ThrottledBigDecimalBinding.class) {
+                result = timer;
+                if (result == null) {
+                    result = timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        final Thread thread = new Thread(runnable, "ThrottledBigDecimalBinding-timer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    @Override
+    public void addListener(ChangeListener<? super BigDecimal> listener) {
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeListener(ChangeListener<? super BigDecimal> listener) {
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    /**
+     * Returns the value of the last delivery.
+     *
+     * @return the delivered value
+     */
+    @Override
+    public BigDecimal get() {
+        return value;
+    }
+
+    private void sourceChanged() {
+        // reading revalidates the source, so the next change notifies again
+        latest = source.get();
+        if (!pending.compareAndSet(false, true)) {
+            dropped.increment();
+            return;
+        }
+        if (intervalNanos > 0) {
+            final long delay = lastDelivery + intervalNanos - System.nanoTime();
+            if (delay <= 0) {
+                applyExecutor.execute(deliver);
+            } else {
+                timer().schedule(apply, delay, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Delivers a pending change now. Does nothing if the source did not change
+     * since the last delivery. Must be called on the thread that delivers.
+     */
+    public void pulse() {
+        deliver();
+    }
+
+    private void deliver() {
+        if (!pending.compareAndSet(true, false)) {
+            // already delivered by pulse()
+            return;
+        }
+        lastDelivery = System.nanoTime();
+        final BigDecimal newValue = latest;
+        if (newValue == value) {
+            // the source went back to the delivered value, nothing to notify
+            dropped.increment();
+            return;
+        }
+        value = newValue;
+        delivered.increment();
+        PropagationScheduler.beginPropagation();
+        try {
+            BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+        } finally {
+            PropagationScheduler.endPropagation();
+        }
+    }
+
+    /**
+     * Returns {@code true} if a change of the source waits for delivery.
+     *
+     * @return {@code true} if a change is pending
+     */
+    public boolean isPending() {
+        return pending.get();
+    }
+
+    /**
+     * Returns the number of notifications delivered to the listeners.
+     *
+     * @return the number of deliveries
+     */
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    /**
+     * Returns the number of source changes that were conflated into a later
+     * delivery, or that were not delivered as the source went back to the
+     * delivered value. With {@link #getDeliveredCount()}, this is the number
+     * of changes of the source.
+     *
+     * @return the number of dropped changes
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Sets the delivered and dropped counters to zero.
+     */
+    public void resetCounters() {
+        delivered.reset();
+        dropped.reset();
+    }
+
+    /**
+     * Returns {@code false} while a change waits for delivery.
+     */
+    @Override
+    public boolean isValid() {
+        return !pending.get();
+    }
+
+    /**
+     * Delivers a pending change now, like {@link #pulse()}.
+     */
+    @Override
+    public void invalidate() {
+        deliver();
+    }
+
+    /**
+     * Stops following the source. A scheduled delivery still happens.
+     */
+    @Override
+    public void dispose() {
+        source.removeListener(listener);
+    }
+
+    @Override
+    public ObservableList<?> getDependencies() {
+        if (dependencyList == null) {
+            dependencyList = FXCollections.singletonObservableList(source);
+        }
+        return dependencyList;
+    }
+
+    /**
+     * Returns a string representation of this {@code ThrottledBigDecimalBinding} object.
+     * @return a string representation of this {@code ThrottledBigDecimalBinding} object.
+     */
+    @Override
+    public String toString() {
+        return "ThrottledBigDecimalBinding [value: " + value + ", delivered: " + getDeliveredCount()
+                + ", dropped: " + getDroppedCount() + "]";
+    }
+
+    private static class Listener implements InvalidationListener {
+
+        private final WeakReference<ThrottledBigDecimalBinding> wref;
+
+        public Listener(ThrottledBigDecimalBinding ref) {
+            this.wref = new WeakReference<>(ref);
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            ThrottledBigDecimalBinding ref = wref.get();
+            if (ref == null) {
+                observable.removeListener(this);
+            } else {
+                ref.sourceChanged();
+            }
+        }
+    }
+}
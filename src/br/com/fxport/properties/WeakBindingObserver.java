@@ -0,0 +1,37 @@
+package br.com.fxport.properties;
+
+import java.lang.ref.WeakReference;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakListener;
+import javafx.beans.binding.Binding;
+
+/**
+ * Invalidates a binding when one of its dependencies is invalidated, like
+ * {@code com.sun.javafx.binding.BindingHelperObserver}, but is the weak
+ * reference itself instead of holding one: one object of 32 bytes per
+ * binding instead of two of 48. Once the binding was collected the observer
+ * removes itself from the dependency that notifies it.
+ */
+final class WeakBindingObserver extends WeakReference<Binding<?>> implements InvalidationListener, WeakListener {
+
+    WeakBindingObserver(Binding<?> binding) {
+        super(binding);
+    }
+
+    @Override
+    public void invalidated(Observable observable) {
+        final Binding<?> binding = get();
+        if (binding == null) {
+            observable.removeListener(this);
+        } else {
+            binding.invalidate();
+        }
+    }
+
+    @Override
+    public boolean wasGarbageCollected() {
+        return get() == null;
+    }
+}
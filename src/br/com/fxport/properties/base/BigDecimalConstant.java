@@ -1,12 +1,44 @@
 package br.com.fxport.properties.base;
 
 import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import br.com.fxport.interfaces.ObservableBigDecimalValue;
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
 
+/**
+ * An {@link ObservableBigDecimalValue} that never changes.
+ * <p>
+ * The primitive {@code valueOf} methods intern their results, so building many
+ * bindings with the same constant operand (e.g. {@code multiply(x, 100)}) does
+ * not create a new {@code BigDecimal} and wrapper every time:
+ * <ul>
+ * <li>{@code int} and {@code long} values from -128 to 1024 and positive
+ * powers of ten up to {@code 10^18};</li>
+ * <li>{@code double} and {@code float} values, in a concurrent map that stops
+ * growing at 1024 entries, so the first distinct values used are the ones
+ * kept.</li>
+ * </ul>
+ * Interned constants are shared between threads, which is safe as they are
+ * immutable. Hit and miss counters can be enabled with
+ * {@link #setCacheStatisticsEnabled(boolean)}.
+ */
 public class BigDecimalConstant implements ObservableBigDecimalValue{
+
+	private static final int SMALL_MIN = -128;
+	private static final int SMALL_MAX = 1024;
+	private static final int MAX_CACHED_DOUBLES = 1024;
+
+	private static final BigDecimalConstant[] SMALL_CACHE = new BigDecimalConstant[SMALL_MAX - SMALL_MIN + 1];
+	private static final BigDecimalConstant[] POWER_OF_TEN_CACHE = new BigDecimalConstant[19];
+	private static final ConcurrentHashMap<Double, BigDecimalConstant> DOUBLE_CACHE = new ConcurrentHashMap<>();
+
+	private static volatile boolean statisticsEnabled = false;
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder misses = new LongAdder();
+
 	private final BigDecimal value;
 
     private BigDecimalConstant(BigDecimal value) {
@@ -68,18 +100,119 @@ public class BigDecimalConstant implements ObservableBigDecimalValue{
     }
 
 	public static BigDecimalConstant valueOf(double op2) {
-		return new BigDecimalConstant(BigDecimal.valueOf(op2));
+		BigDecimalConstant constant = DOUBLE_CACHE.get(op2);
+		if (constant != null) {
+			recordHit();
+			return constant;
+		}
+		recordMiss();
+		constant = new BigDecimalConstant(BigDecimal.valueOf(op2));
+		if (DOUBLE_CACHE.size() < MAX_CACHED_DOUBLES) {
+			final BigDecimalConstant previous = DOUBLE_CACHE.putIfAbsent(op2, constant);
+			if (previous != null) {
+				return previous;
+			}
+		}
+		return constant;
 	}
 	
 	public static BigDecimalConstant valueOf(int op2) {
-		return new BigDecimalConstant(BigDecimal.valueOf(op2));
+		return valueOf((long) op2);
 	}
 	
 	public static BigDecimalConstant valueOf(long op2) {
-		return new BigDecimalConstant(BigDecimal.valueOf(op2));
+		final BigDecimalConstant[] cache;
+		final int index;
+		if ((op2 >= SMALL_MIN) && (op2 <= SMALL_MAX)) {
+			cache = SMALL_CACHE;
+			index = (int) op2 - SMALL_MIN;
+		} else {
+			index = powerOfTen(op2);
+			if (index < 0) {
+				recordMiss();
+				return new BigDecimalConstant(BigDecimal.valueOf(op2));
+			}
+			cache = POWER_OF_TEN_CACHE;
+		}
+		// Racy but safe: constants are immutable, at worst two threads create one each.
+		BigDecimalConstant constant = cache[index];
+		if (constant != null) {
+			recordHit();
+			return constant;
+		}
+		recordMiss();
+		constant = new BigDecimalConstant(BigDecimal.valueOf(op2));
+		cache[index] = constant;
+		return constant;
 	}
 	
 	public static BigDecimalConstant valueOf(float op2) {
-		return new BigDecimalConstant(BigDecimal.valueOf(op2));
+		// Same value as BigDecimal.valueOf(float), which widens to double.
+		return valueOf((double) op2);
+	}
+
+	private static int powerOfTen(long value) {
+		long p = 1;
+		for (int i = 0; i < POWER_OF_TEN_CACHE.length; i++) {
+			if (p == value) {
+				return i;
+			}
+			if (p > value) {
+				break;
+			}
+			p *= 10;
+		}
+		return -1;
+	}
+
+	private static void recordHit() {
+		if (statisticsEnabled) {
+			hits.increment();
+		}
+	}
+
+	private static void recordMiss() {
+		if (statisticsEnabled) {
+			misses.increment();
+		}
+	}
+
+	/**
+	 * Enables or disables counting of hits and misses of the constant cache.
+	 * Counting is disabled by default.
+	 *
+	 * @param enabled
+	 *            {@code true} to count hits and misses
+	 */
+	public static void setCacheStatisticsEnabled(boolean enabled) {
+		statisticsEnabled = enabled;
+	}
+
+	/**
+	 * Returns the number of primitive {@code valueOf} calls that returned an
+	 * interned constant while statistics were enabled.
+	 *
+	 * @return the number of cache hits
+	 */
+	public static long getCacheHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of primitive {@code valueOf} calls that had to create
+	 * a new constant while statistics were enabled.
+	 *
+	 * @return the number of cache misses
+	 */
+	public static long getCacheMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Resets the hit and miss counters.
+	 */
+	public static void resetCacheStatistics() {
+		hits.reset();
+		misses.reset();
 	}
 }
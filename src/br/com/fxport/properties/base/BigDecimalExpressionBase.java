@@ -3,8 +3,6 @@ package br.com.fxport.properties.base;
 import java.math.BigDecimal;
 import java.util.Locale;
 
-import com.sun.javafx.binding.StringFormatter;
-
 import br.com.fxport.interfaces.InterfaceBigDecimalBinding;
 import br.com.fxport.interfaces.InterfaceBigDecimalExpression;
 import br.com.fxport.interfaces.ObservableBigDecimalValue;
@@ -238,17 +236,17 @@ public abstract class BigDecimalExpressionBase implements InterfaceBigDecimalExp
 
     @Override
     public StringBinding asString() {
-        return (StringBinding) StringFormatter.convert(this);
+        return Bindings.convert(this);
     }
 
     @Override
     public StringBinding asString(String format) {
-        return (StringBinding) Bindings.format(format, this);
+        return Bindings.format(format, this);
     }
 
     @Override
     public StringBinding asString(Locale locale, String format) {
-        return (StringBinding) Bindings.format(locale, format, this);
+        return Bindings.format(locale, format, this);
     }
     
     
@@ -3,11 +3,15 @@ package br.com.fxport.properties.base;
 import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
 
-import com.sun.javafx.binding.ExpressionHelper;
-
 import br.com.fxport.interfaces.ObservableBigDecimalValue;
 import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BindingMetrics;
 import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.BindingEvents;
+import br.com.fxport.properties.PropagationScheduler;
+import br.com.fxport.util.BigDecimalExpressionHelper;
+import br.com.fxport.util.BigDecimalTransaction;
+import br.com.fxport.util.EqualityPolicy;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
@@ -17,9 +21,38 @@ public abstract class BigDecimalPropertyBase extends BigDecimalProperty{
 
     private BigDecimal value;
     private ObservableBigDecimalValue observable = null;
-    private InvalidationListener listener = null;
     private boolean valid = true;
-    private ExpressionHelper<BigDecimal> helper = null;
+    private BigDecimalExpressionHelper helper = null;
+    private Extras extras = null;
+
+    {
+        final BindingMetrics.Counters metrics = BindingMetrics.register(this);
+        if (metrics != null) {
+            extras().metrics = metrics;
+        }
+    }
+
+    /**
+     * The state only some properties use: the listener on the observable it
+     * is bound to, an equality policy other than
+     * {@link EqualityPolicy#REFERENCE}, the metrics and the state of
+     * transactions. It is created on first use, so a plain property only pays
+     * for the reference.
+     */
+    private static final class Extras {
+        InvalidationListener listener;
+        EqualityPolicy equalityPolicy = EqualityPolicy.REFERENCE;
+        BindingMetrics.Counters metrics;
+        boolean pending;
+        long notifiedIn;
+    }
+
+    private Extras extras() {
+        if (extras == null) {
+            extras = new Extras();
+        }
+        return extras;
+    }
 
     /**
      * The constructor of the {@code BigDecimalPropertyBase}.
@@ -39,22 +72,32 @@ public abstract class BigDecimalPropertyBase extends BigDecimalProperty{
 
     @Override
     public void addListener(InvalidationListener listener) {
-        helper = ExpressionHelper.addListener(helper, this, listener);
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
     }
 
     @Override
     public void removeListener(InvalidationListener listener) {
-        helper = ExpressionHelper.removeListener(helper, listener);
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
     }
 
     @Override
     public void addListener(ChangeListener<? super BigDecimal> listener) {
-        helper = ExpressionHelper.addListener(helper, this, listener);
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
     }
 
     @Override
     public void removeListener(ChangeListener<? super BigDecimal> listener) {
-        helper = ExpressionHelper.removeListener(helper, listener);
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    /**
+     * Returns the number of {@code InvalidationListener}s and
+     * {@code ChangeListener}s registered with this property.
+     *
+     * @return the number of listeners
+     */
+    public int getListenerCount() {
+        return BigDecimalExpressionHelper.getListenerCount(helper);
     }
 
     /**
@@ -67,14 +110,35 @@ public abstract class BigDecimalPropertyBase extends BigDecimalProperty{
      * binding becomes invalid.
      */
     protected void fireValueChangedEvent() {
-        ExpressionHelper.fireValueChangedEvent(helper);
+        BigDecimalExpressionHelper.fireValueChangedEvent(helper);
     }
 
     private void markInvalid() {
         if (valid) {
+            if (BindingMetrics.isEnabled()) {
+                extras.metrics.invalidated();
+            }
+            BindingEvents.touched();
+            final long stamp = BigDecimalTransaction.deliveryStamp();
+            if (stamp != 0) {
+                final Extras x = extras();
+                if (x.notifiedIn == stamp) {
+                    // already notified in this commit, with the final values
+                    valid = false;
+                    return;
+                }
+                x.notifiedIn = stamp;
+            }
             valid = false;
             invalidated();
-            fireValueChangedEvent();
+            final BindingEvents.Cascade cascade = BindingEvents.beginCascade();
+            PropagationScheduler.beginPropagation();
+            try {
+                fireValueChangedEvent();
+            } finally {
+                PropagationScheduler.endPropagation();
+                BindingEvents.endCascade(cascade, this);
+            }
         }
     }
 
@@ -97,6 +161,37 @@ public abstract class BigDecimalPropertyBase extends BigDecimalProperty{
         return observable == null ? value : observable.get();
     }
 
+    /**
+     * Returns the policy that {@link #set(BigDecimal)} uses to decide whether a
+     * new value is a change.
+     *
+     * @return the current {@code EqualityPolicy}
+     */
+    public EqualityPolicy getEqualityPolicy() {
+        return (extras == null) ? EqualityPolicy.REFERENCE : extras.equalityPolicy;
+    }
+
+    /**
+     * Sets the policy that {@link #set(BigDecimal)} uses to decide whether a
+     * new value is a change. A value that is the same as the current one under
+     * the policy is ignored: the old value is kept and no listener is notified.
+     * <p>
+     * The default is {@link EqualityPolicy#REFERENCE}.
+     *
+     * @param equalityPolicy
+     *            the new {@code EqualityPolicy}
+     * @throws NullPointerException
+     *             if {@code equalityPolicy} is {@code null}
+     */
+    public void setEqualityPolicy(EqualityPolicy equalityPolicy) {
+        if (equalityPolicy == null) {
+            throw new NullPointerException("Equality policy cannot be null.");
+        }
+        if ((equalityPolicy != EqualityPolicy.REFERENCE) || (extras != null)) {
+            extras().equalityPolicy = equalityPolicy;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -106,12 +201,25 @@ public abstract class BigDecimalPropertyBase extends BigDecimalProperty{
             throw new java.lang.RuntimeException((getBean() != null && getName() != null ?
                     getBean().getClass().getSimpleName() + "." + getName() + " : ": "") + "A bound value cannot be set.");
         }
-        if (value != newValue) {
+        if (!getEqualityPolicy().isSame(value, newValue)) {
             value = newValue;
-            markInvalid();
+            if ((extras != null) && extras.pending) {
+                return;
+            }
+            if (BigDecimalTransaction.isOpen()) {
+                extras().pending = true;
+                BigDecimalTransaction.defer(this::deliverPending);
+            } else {
+                markInvalid();
+            }
         }
     }
 
+    private void deliverPending() {
+        extras.pending = false;
+        markInvalid();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -159,10 +267,11 @@ public abstract class BigDecimalPropertyBase extends BigDecimalProperty{
         if (!newObservable.equals(observable)) {
             unbind();
             observable = newObservable;
-            if (listener == null) {
-                listener = new Listener(this);
+            final Extras x = extras();
+            if (x.listener == null) {
+                x.listener = new Listener(this);
             }
-            observable.addListener(listener);
+            observable.addListener(x.listener);
             markInvalid();
         }
     }
@@ -174,7 +283,7 @@ public abstract class BigDecimalPropertyBase extends BigDecimalProperty{
     public void unbind() {
         if (observable != null) {
             value = observable.get();
-            observable.removeListener(listener);
+            observable.removeListener(extras.listener);
             observable = null;
         }
     }
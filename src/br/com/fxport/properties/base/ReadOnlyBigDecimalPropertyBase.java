@@ -2,34 +2,43 @@ package br.com.fxport.properties.base;
 
 import java.math.BigDecimal;
 
-import com.sun.javafx.binding.ExpressionHelper;
-
 import br.com.fxport.properties.ReadOnlyBigDecimalProperty;
+import br.com.fxport.util.BigDecimalExpressionHelper;
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
 
 public abstract class ReadOnlyBigDecimalPropertyBase extends ReadOnlyBigDecimalProperty {
 
-    ExpressionHelper<BigDecimal> helper;
+    BigDecimalExpressionHelper helper;
 
     @Override
     public void addListener(InvalidationListener listener) {
-        helper = ExpressionHelper.addListener(helper, this, listener);
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
     }
 
     @Override
     public void removeListener(InvalidationListener listener) {
-        helper = ExpressionHelper.removeListener(helper, listener);
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
     }
 
     @Override
     public void addListener(ChangeListener<? super BigDecimal> listener) {
-        helper = ExpressionHelper.addListener(helper, this, listener);
+        helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
     }
 
     @Override
     public void removeListener(ChangeListener<? super BigDecimal> listener) {
-        helper = ExpressionHelper.removeListener(helper, listener);
+        helper = BigDecimalExpressionHelper.removeListener(helper, listener);
+    }
+
+    /**
+     * Returns the number of {@code InvalidationListener}s and
+     * {@code ChangeListener}s registered with this property.
+     *
+     * @return the number of listeners
+     */
+    public int getListenerCount() {
+        return BigDecimalExpressionHelper.getListenerCount(helper);
     }
 
     /**
@@ -40,7 +49,7 @@ public abstract class ReadOnlyBigDecimalPropertyBase extends ReadOnlyBigDecimalP
      * This method needs to be called, if the value of this property changes.
      */
     protected void fireValueChangedEvent() {
-        ExpressionHelper.fireValueChangedEvent(helper);
+        BigDecimalExpressionHelper.fireValueChangedEvent(helper);
     }
 
 }
@@ -1,5 +1,437 @@
 package br.com.fxport.util;
 
-public class BidirectionalBindings {
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 
+import com.sun.javafx.binding.Logging;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakListener;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.Property;
+import javafx.beans.property.StringProperty;
+import javafx.util.StringConverter;
+import javafx.util.converter.BigDecimalStringConverter;
+
+/**
+ * Bidirectional bindings between a {@code Property<BigDecimal>} and another
+ * {@code Property<BigDecimal>}, a {@link DoubleProperty} or a
+ * {@link StringProperty}.
+ * <p>
+ * As with the JavaFX bidirectional bindings, {@code bind} first sets the first
+ * property to the value of the second one, and from then on a change of
+ * either property is written to the other. A binding keeps only weak
+ * references to its properties and removes itself once one of them was
+ * collected, so it does not keep them alive. While a change is written to the
+ * other property, changes coming back from it are ignored.
+ * <p>
+ * A value is only written if it differs numerically from the current value of
+ * the other property, compared with {@link BigDecimal#compareTo(BigDecimal)},
+ * so {@code 1.5} does not overwrite {@code 1.50} and two-way edits never
+ * bounce back and forth. If a value cannot be converted or set, e.g. a
+ * {@code String} that does not parse, the warning is logged and the changed
+ * property is set back to the value of the other one.
+ */
+public final class BidirectionalBindings {
+
+    private BidirectionalBindings() {
+    }
+
+    private static void checkParameters(Object property1, Object property2) {
+        if ((property1 == null) || (property2 == null)) {
+            throw new NullPointerException("Both properties must be specified.");
+        }
+        if (property1 == property2) {
+            throw new IllegalArgumentException("Cannot bind property to itself");
+        }
+    }
+
+    static boolean numericallyEqual(BigDecimal value1, BigDecimal value2) {
+        return (value1 == null) ? (value2 == null) : (value2 != null) && (value1.compareTo(value2) == 0);
+    }
+
+    /**
+     * Binds two {@code Property<BigDecimal>} bidirectionally.
+     *
+     * @param property1
+     *            the first property, set to the value of the second one
+     * @param property2
+     *            the second property
+     * @throws NullPointerException
+     *             if one of the properties is {@code null}
+     * @throws IllegalArgumentException
+     *             if both properties are the same
+     */
+    public static void bind(Property<BigDecimal> property1, Property<BigDecimal> property2) {
+        checkParameters(property1, property2);
+        register(new DecimalBinding(property1, property2));
+    }
+
+    /**
+     * Removes a bidirectional binding created with
+     * {@link #bind(Property, Property)}, in either order of the properties.
+     *
+     * @param property1
+     *            the first property
+     * @param property2
+     *            the second property
+     */
+    public static void unbind(Property<BigDecimal> property1, Property<BigDecimal> property2) {
+        checkParameters(property1, property2);
+        unregister(new DecimalBinding(property1, property2));
+    }
+
+    /**
+     * Binds a {@code Property<BigDecimal>} and a {@code DoubleProperty}
+     * bidirectionally. Doubles are converted with
+     * {@link BigDecimal#valueOf(double)}, so {@code 0.1} becomes {@code 0.1}.
+     *
+     * @param property1
+     *            the {@code BigDecimal} property, set to the value of the
+     *            second one
+     * @param property2
+     *            the {@code DoubleProperty}
+     * @throws NullPointerException
+     *             if one of the properties is {@code null}
+     */
+    public static void bind(Property<BigDecimal> property1, DoubleProperty property2) {
+        checkParameters(property1, property2);
+        register(new DoubleBinding(property1, property2, -1, null));
+    }
+
+    /**
+     * Binds a {@code Property<BigDecimal>} and a {@code DoubleProperty}
+     * bidirectionally. Doubles are converted with
+     * {@link BigDecimal#valueOf(double)} and rounded to {@code scale} with
+     * {@code roundingMode}. A double that changes when rounded is replaced by
+     * the rounded value, so both properties always hold the same number.
+     *
+     * @param property1
+     *            the {@code BigDecimal} property, set to the value of the
+     *            second one
+     * @param property2
+     *            the {@code DoubleProperty}
+     * @param scale
+     *            the scale of the {@code BigDecimal} values written
+     * @param roundingMode
+     *            the {@code RoundingMode} used to reach {@code scale}
+     * @throws NullPointerException
+     *             if one of the arguments is {@code null}
+     */
+    public static void bind(Property<BigDecimal> property1, DoubleProperty property2, int scale,
+            RoundingMode roundingMode) {
+        checkParameters(property1, property2);
+        if (roundingMode == null) {
+            throw new NullPointerException("Rounding mode cannot be null.");
+        }
+        register(new DoubleBinding(property1, property2, scale, roundingMode));
+    }
+
+    /**
+     * Removes a bidirectional binding created with one of the
+     * {@code DoubleProperty} overloads of {@code bind}.
+     *
+     * @param property1
+     *            the {@code BigDecimal} property
+     * @param property2
+     *            the {@code DoubleProperty}
+     */
+    public static void unbind(Property<BigDecimal> property1, DoubleProperty property2) {
+        checkParameters(property1, property2);
+        unregister(new DoubleBinding(property1, property2, -1, null));
+    }
+
+    /**
+     * Binds a {@code Property<BigDecimal>} and a {@code StringProperty}
+     * bidirectionally with a {@link BigDecimalStringConverter}.
+     *
+     * @param property1
+     *            the {@code BigDecimal} property, set to the parsed value of
+     *            the second one
+     * @param property2
+     *            the {@code StringProperty}
+     * @throws NullPointerException
+     *             if one of the properties is {@code null}
+     */
+    public static void bind(Property<BigDecimal> property1, StringProperty property2) {
+        bind(property1, property2, new BigDecimalStringConverter());
+    }
+
+    /**
+     * Binds a {@code Property<BigDecimal>} and a {@code StringProperty}
+     * bidirectionally with the given converter.
+     *
+     * @param property1
+     *            the {@code BigDecimal} property, set to the parsed value of
+     *            the second one
+     * @param property2
+     *            the {@code StringProperty}
+     * @param converter
+     *            the {@code StringConverter} between both
+     * @throws NullPointerException
+     *             if one of the arguments is {@code null}
+     */
+    public static void bind(Property<BigDecimal> property1, StringProperty property2,
+            StringConverter<BigDecimal> converter) {
+        checkParameters(property1, property2);
+        if (converter == null) {
+            throw new NullPointerException("Converter cannot be null.");
+        }
+        register(new StringBinding(property1, property2, converter));
+    }
+
+    /**
+     * Removes a bidirectional binding created with one of the
+     * {@code StringProperty} overloads of {@code bind}.
+     *
+     * @param property1
+     *            the {@code BigDecimal} property
+     * @param property2
+     *            the {@code StringProperty}
+     */
+    public static void unbind(Property<BigDecimal> property1, StringProperty property2) {
+        checkParameters(property1, property2);
+        unregister(new StringBinding(property1, property2, null));
+    }
+
+    private static void register(BidirectionalBinding binding) {
+        final Property<BigDecimal> property1 = binding.getProperty1();
+        final Property<?> property2 = binding.getProperty2();
+        binding.updating = true;
+        try {
+            binding.pushToFirst(property2);
+        } finally {
+            binding.validate(property1, property2);
+            binding.updating = false;
+        }
+        property1.addListener(binding);
+        property2.addListener(binding);
+    }
+
+    private static void unregister(BidirectionalBinding binding) {
+        binding.getProperty1().removeListener(binding);
+        binding.getProperty2().removeListener(binding);
+    }
+
+    /**
+     * The listener registered on both properties. Equal to every binding of
+     * the same kind between the same two properties, which is how
+     * {@code unbind} removes it.
+     */
+    private abstract static class BidirectionalBinding implements InvalidationListener, WeakListener {
+
+        private final WeakReference<Property<BigDecimal>> ref1;
+        private final WeakReference<Property<?>> ref2;
+        private final int cachedHashCode;
+        private boolean updating = false;
+
+        BidirectionalBinding(Property<BigDecimal> property1, Property<?> property2) {
+            this.ref1 = new WeakReference<>(property1);
+            this.ref2 = new WeakReference<>(property2);
+            this.cachedHashCode = property1.hashCode() * property2.hashCode();
+        }
+
+        Property<BigDecimal> getProperty1() {
+            return ref1.get();
+        }
+
+        Property<?> getProperty2() {
+            return ref2.get();
+        }
+
+        /**
+         * Writes the value of {@code property2} to the {@code BigDecimal}
+         * property, unless it is numerically equal.
+         */
+        abstract void pushToFirst(Property<?> property2);
+
+        /**
+         * Writes the value of the {@code BigDecimal} property to
+         * {@code property2}, unless it is equal.
+         */
+        abstract void pushToSecond(BigDecimal value, Property<?> property2);
+
+        @Override
+        public void invalidated(Observable observable) {
+            if (updating) {
+                return;
+            }
+            final Property<BigDecimal> property1 = ref1.get();
+            final Property<?> property2 = ref2.get();
+            if ((property1 == null) || (property2 == null)) {
+                if (property1 != null) {
+                    property1.removeListener(this);
+                }
+                if (property2 != null) {
+                    property2.removeListener(this);
+                }
+                return;
+            }
+            updating = true;
+            try {
+                if (observable == property1) {
+                    pushToSecond(property1.getValue(), property2);
+                } else {
+                    pushToFirst(property2);
+                }
+            } catch (RuntimeException e) {
+                Logging.getLogger().warning("Bidirectional binding failed, setting to the previous value", e);
+                try {
+                    if (observable == property1) {
+                        pushToFirst(property2);
+                    } else {
+                        pushToSecond(property1.getValue(), property2);
+                    }
+                } catch (RuntimeException e2) {
+                    e2.addSuppressed(e);
+                    unregister(this);
+                    throw new RuntimeException("Bidirectional binding failed together with an attempt"
+                            + " to restore the source property to the previous value."
+                            + " Removing the bidirectional binding from properties "
+                            + property1 + " and " + property2, e2);
+                }
+            } finally {
+                validate(property1, property2);
+                updating = false;
+            }
+        }
+
+        /**
+         * Reads both properties so that they are valid again and the next
+         * change of either one notifies this binding.
+         */
+        void validate(Property<BigDecimal> property1, Property<?> property2) {
+            property1.getValue();
+            property2.getValue();
+        }
+
+        @Override
+        public boolean wasGarbageCollected() {
+            return (ref1.get() == null) || (ref2.get() == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return cachedHashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if ((obj == null) || (obj.getClass() != getClass())) {
+                return false;
+            }
+            final Object propertyA1 = getProperty1();
+            final Object propertyA2 = getProperty2();
+            if ((propertyA1 == null) || (propertyA2 == null)) {
+                return false;
+            }
+            final BidirectionalBinding other = (BidirectionalBinding) obj;
+            final Object propertyB1 = other.getProperty1();
+            final Object propertyB2 = other.getProperty2();
+            return ((propertyA1 == propertyB1) && (propertyA2 == propertyB2))
+                    || ((propertyA1 == propertyB2) && (propertyA2 == propertyB1));
+        }
+    }
+
+    private static class DecimalBinding extends BidirectionalBinding {
+
+        DecimalBinding(Property<BigDecimal> property1, Property<BigDecimal> property2) {
+            super(property1, property2);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void pushToFirst(Property<?> property2) {
+            final BigDecimal value = ((Property<BigDecimal>) property2).getValue();
+            final Property<BigDecimal> property1 = getProperty1();
+            if (!numericallyEqual(value, property1.getValue())) {
+                property1.setValue(value);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void pushToSecond(BigDecimal value, Property<?> property2) {
+            final Property<BigDecimal> target = (Property<BigDecimal>) property2;
+            if (!numericallyEqual(value, target.getValue())) {
+                target.setValue(value);
+            }
+        }
+    }
+
+    private static class DoubleBinding extends BidirectionalBinding {
+
+        private final int scale;
+        private final RoundingMode roundingMode;
+
+        DoubleBinding(Property<BigDecimal> property1, DoubleProperty property2, int scale, RoundingMode roundingMode) {
+            super(property1, property2);
+            this.scale = scale;
+            this.roundingMode = roundingMode;
+        }
+
+        @Override
+        void pushToFirst(Property<?> property2) {
+            BigDecimal value = BigDecimal.valueOf(((DoubleProperty) property2).get());
+            if (roundingMode != null) {
+                value = value.setScale(scale, roundingMode);
+            }
+            final Property<BigDecimal> property1 = getProperty1();
+            if (!numericallyEqual(value, property1.getValue())) {
+                property1.setValue(value);
+            }
+            if (roundingMode != null) {
+                // the change of property2 is ignored while updating
+                pushToSecond(value, property2);
+            }
+        }
+
+        @Override
+        void pushToSecond(BigDecimal value, Property<?> property2) {
+            final DoubleProperty target = (DoubleProperty) property2;
+            final double newValue = (value == null) ? 0.0 : value.doubleValue();
+            if (Double.compare(newValue, target.get()) != 0) {
+                target.set(newValue);
+            }
+        }
+    }
+
+    private static class StringBinding extends BidirectionalBinding {
+
+        private final StringConverter<BigDecimal> converter;
+
+        StringBinding(Property<BigDecimal> property1, StringProperty property2, StringConverter<BigDecimal> converter) {
+            super(property1, property2);
+            this.converter = converter;
+        }
+
+        @Override
+        void pushToFirst(Property<?> property2) {
+            final BigDecimal value = converter.fromString(((StringProperty) property2).get());
+            final Property<BigDecimal> property1 = getProperty1();
+            if (!numericallyEqual(value, property1.getValue())) {
+                property1.setValue(value);
+            }
+        }
+
+        @Override
+        void pushToSecond(BigDecimal value, Property<?> property2) {
+            final StringProperty target = (StringProperty) property2;
+            final String current = target.get();
+            try {
+                if (numericallyEqual(value, converter.fromString(current))) {
+                    // keep the text as typed, e.g. "1.50" for 1.5
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // the text does not parse, replace it
+            }
+            target.set(converter.toString(value));
+        }
+    }
 }
@@ -0,0 +1,653 @@
+package br.com.fxport.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.javafx.collections.ImmutableObservableList;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BigDecimalOperationBinding;
+import br.com.fxport.properties.BigDecimalOperationBinding.Operator;
+import br.com.fxport.properties.base.BigDecimalConstant;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Compiles a formula into a single {@link BigDecimalBinding}.
+ * <p>
+ * A formula like {@code (price * qty - discount) * (1 + tax)} built with
+ * {@link Bindings} is a graph of four bindings, each caching its value and
+ * each listening to its operands. The binding returned by
+ * {@link #compile(Expression)} listens to the leaves only, {@code price},
+ * {@code qty}, {@code discount} and {@code tax}, and evaluates the whole
+ * formula in one pass when it is read:
+ *
+ * <blockquote><pre>
+ * BigDecimalBinding total = BigDecimalExpressionCompiler.compile(
+ *         Expression.of(price).multiply(qty).subtract(discount)
+ *                 .multiply(Expression.of(BigDecimal.ONE).add(tax)));
+ * </pre></blockquote>
+ *
+ * An existing graph can be compiled with
+ * {@link #compile(ObservableBigDecimalValue)}: the
+ * {@link BigDecimalOperationBinding}s reachable from the root are inlined,
+ * {@link BigDecimalConstant}s become constants and every other observable,
+ * properties as well as other kinds of bindings, becomes a leaf. The
+ * compiled binding does not reference the inlined bindings; once nothing
+ * else does, they are collected and drop out of the listeners of the
+ * leaves.
+ * <p>
+ * A subexpression used more than once, the same {@code Expression} or
+ * binding, is evaluated once per pass, and a leaf used more than once is
+ * read and observed once. The results are the same as those of the
+ * bindings, including the scale and the {@code ArithmeticException} of an
+ * inexact {@code divide}.
+ * <p>
+ * By default the formula is interpreted, see {@link Backend}.
+ */
+public final class BigDecimalExpressionCompiler {
+
+    /**
+     * How a compiled formula is evaluated.
+     */
+    public enum Backend {
+        /**
+         * The instructions of the formula are interpreted. An instruction
+         * whose operands did not change since the last evaluation keeps its
+         * result, so setting one leaf only recomputes what depends on it.
+         */
+        INTERPRETER,
+        /**
+         * The formula is evaluated by a hidden class generated for its shape,
+         * straight-line code with one {@code BigDecimal} call per
+         * instruction. Formulas that differ only in their leaves and in the
+         * values of their constants share the class. Every evaluation
+         * recomputes the whole formula, which pays off when most leaves
+         * change between reads. Formulas of more than a few hundred
+         * operations, whose method would be too large for the JIT compiler,
+         * and new shapes once {@value FormulaClassGenerator#MAX_SHAPES} were
+         * generated, are interpreted.
+         */
+        BYTECODE
+    }
+
+    private BigDecimalExpressionCompiler() {
+    }
+
+    /**
+     * Compiles an expression into a binding that observes its leaves.
+     *
+     * @param expression
+     *            the expression
+     * @return the compiled binding
+     * @throws NullPointerException
+     *             if {@code expression} is {@code null}
+     */
+    public static BigDecimalBinding compile(Expression expression) {
+        return compile(expression, Backend.INTERPRETER);
+    }
+
+    /**
+     * Compiles an expression into a binding that observes its leaves and is
+     * evaluated by the given backend.
+     *
+     * @param expression
+     *            the expression
+     * @param backend
+     *            the backend
+     * @return the compiled binding
+     * @throws NullPointerException
+     *             if {@code expression} or {@code backend} is {@code null}
+     */
+    public static BigDecimalBinding compile(Expression expression, Backend backend) {
+        if (backend == null) {
+            throw new NullPointerException("Backend cannot be null.");
+        }
+        final Program program = Program.of(expression);
+        if (backend == Backend.BYTECODE) {
+            final FormulaClassGenerator.Evaluator evaluator = FormulaClassGenerator.evaluatorFor(program);
+            if (evaluator != null) {
+                return new GeneratedBinding(program, evaluator);
+            }
+        }
+        return new InterpretedBinding(program);
+    }
+
+    /**
+     * Compiles the graph of arithmetic bindings behind {@code root} into a
+     * binding that observes the leaves of the graph.
+     *
+     * @param root
+     *            the value to compile, usually the result of {@link Bindings}
+     *            factories
+     * @return the compiled binding
+     * @throws NullPointerException
+     *             if {@code root} is {@code null}
+     */
+    public static BigDecimalBinding compile(ObservableBigDecimalValue root) {
+        return compile(Expression.from(root));
+    }
+
+    /**
+     * Compiles the graph of arithmetic bindings behind {@code root} into a
+     * binding that observes the leaves of the graph and is evaluated by the
+     * given backend.
+     *
+     * @param root
+     *            the value to compile, usually the result of {@link Bindings}
+     *            factories
+     * @param backend
+     *            the backend
+     * @return the compiled binding
+     * @throws NullPointerException
+     *             if {@code root} or {@code backend} is {@code null}
+     */
+    public static BigDecimalBinding compile(ObservableBigDecimalValue root, Backend backend) {
+        return compile(Expression.from(root), backend);
+    }
+
+    /**
+     * A node of a formula: a leaf, a constant or an operation on other
+     * expressions. Expressions are immutable and do not observe anything
+     * until they are compiled.
+     */
+    public static final class Expression {
+
+        private final int opcode;
+        private final Expression op1;
+        private final Expression op2;
+        private final ObservableBigDecimalValue leaf;
+        private final BigDecimal constant;
+
+        private Expression(int opcode, Expression op1, Expression op2, ObservableBigDecimalValue leaf,
+                BigDecimal constant) {
+            this.opcode = opcode;
+            this.op1 = op1;
+            this.op2 = op2;
+            this.leaf = leaf;
+            this.constant = constant;
+        }
+
+        /**
+         * Returns an expression that reads an observable value.
+         *
+         * @param value
+         *            the value
+         * @return the leaf, or a constant for a {@link BigDecimalConstant}
+         * @throws NullPointerException
+         *             if {@code value} is {@code null}
+         */
+        public static Expression of(ObservableBigDecimalValue value) {
+            if (value == null) {
+                throw new NullPointerException("Value cannot be null.");
+            }
+            if (value instanceof BigDecimalConstant) {
+                return of(value.get());
+            }
+            return new Expression(Program.LEAF, null, null, value, null);
+        }
+
+        /**
+         * Returns a constant expression.
+         *
+         * @param value
+         *            the constant
+         * @return the constant
+         * @throws NullPointerException
+         *             if {@code value} is {@code null}
+         */
+        public static Expression of(BigDecimal value) {
+            if (value == null) {
+                throw new NullPointerException("Value cannot be null.");
+            }
+            return new Expression(Program.CONSTANT, null, null, null, value);
+        }
+
+        /**
+         * Returns the expression of the graph of arithmetic bindings behind
+         * {@code root}, see {@link BigDecimalExpressionCompiler#compile(ObservableBigDecimalValue)}.
+         *
+         * @param root
+         *            the root of the graph
+         * @return the expression
+         * @throws NullPointerException
+         *             if {@code root} is {@code null}
+         */
+        public static Expression from(ObservableBigDecimalValue root) {
+            if (root == null) {
+                throw new NullPointerException("Root cannot be null.");
+            }
+            // iterative post order, chains of bindings can be deeper than the stack
+            final Map<ObservableBigDecimalValue, Expression> done = new IdentityHashMap<>();
+            final List<ObservableBigDecimalValue> stack = new ArrayList<>();
+            stack.add(root);
+            while (!stack.isEmpty()) {
+                final ObservableBigDecimalValue value = stack.get(stack.size() - 1);
+                if (done.containsKey(value)) {
+                    stack.remove(stack.size() - 1);
+                    continue;
+                }
+                if (!(value instanceof BigDecimalOperationBinding)) {
+                    done.put(value, of(value));
+                    stack.remove(stack.size() - 1);
+                    continue;
+                }
+                final BigDecimalOperationBinding node = (BigDecimalOperationBinding) value;
+                final ObservableBigDecimalValue first = node.getFirstOperand();
+                final ObservableBigDecimalValue second = node.getSecondOperand();
+                final boolean ready = done.containsKey(first) && ((second == null) || done.containsKey(second));
+                if (!ready) {
+                    if ((second != null) && !done.containsKey(second)) {
+                        stack.add(second);
+                    }
+                    if (!done.containsKey(first)) {
+                        stack.add(first);
+                    }
+                    continue;
+                }
+                stack.remove(stack.size() - 1);
+                done.put(value, new Expression(opcodeOf(node.getOperator()), done.get(first),
+                        (second == null) ? null : done.get(second), null, null));
+            }
+            return done.get(root);
+        }
+
+        private static int opcodeOf(Operator operator) {
+            switch (operator) {
+            case ADD:
+                return Program.ADD;
+            case SUBTRACT:
+                return Program.SUBTRACT;
+            case MULTIPLY:
+                return Program.MULTIPLY;
+            case DIVIDE:
+                return Program.DIVIDE;
+            case NEGATE:
+                return Program.NEGATE;
+            default:
+                throw new AssertionError(operator);
+            }
+        }
+
+        private Expression binary(int opcode, Expression other) {
+            if (other == null) {
+                throw new NullPointerException("Operand cannot be null.");
+            }
+            return new Expression(opcode, this, other, null, null);
+        }
+
+        /**
+         * Returns {@code this + other}.
+         *
+         * @param other
+         *            the other operand
+         * @return the sum
+         */
+        public Expression add(Expression other) {
+            return binary(Program.ADD, other);
+        }
+
+        /**
+         * Returns {@code this + other}.
+         *
+         * @param other
+         *            the other operand
+         * @return the sum
+         */
+        public Expression add(ObservableBigDecimalValue other) {
+            return add(of(other));
+        }
+
+        /**
+         * Returns {@code this + other}.
+         *
+         * @param other
+         *            the other operand
+         * @return the sum
+         */
+        public Expression add(BigDecimal other) {
+            return add(of(other));
+        }
+
+        /**
+         * Returns {@code this - other}.
+         *
+         * @param other
+         *            the other operand
+         * @return the difference
+         */
+        public Expression subtract(Expression other) {
+            return binary(Program.SUBTRACT, other);
+        }
+
+        /**
+         * Returns {@code this - other}.
+         *
+         * @param other
+         *            the other operand
+         * @return the difference
+         */
+        public Expression subtract(ObservableBigDecimalValue other) {
+            return subtract(of(other));
+        }
+
+        /**
+         * Returns {@code this - other}.
+         *
+         * @param other
+         *            the other operand
+         * @return the difference
+         */
+        public Expression subtract(BigDecimal other) {
+            return subtract(of(other));
+        }
+
+        /**
+         * Returns {@code this * other}.
+         *
+         * @param other
+         *            the other operand
+         * @return the product
+         */
+        public Expression multiply(Expression other) {
+            return binary(Program.MULTIPLY, other);
+        }
+
+        /**
+         * Returns {@code this * other}.
+         *
+         * @param other
+         *            the other operand
+         * @return the product
+         */
+        public Expression multiply(ObservableBigDecimalValue other) {
+            return multiply(of(other));
+        }
+
+        /**
+         * Returns {@code this * other}.
+         *
+         * @param other
+         *            the other operand
+         * @return the product
+         */
+        public Expression multiply(BigDecimal other) {
+            return multiply(of(other));
+        }
+
+        /**
+         * Returns {@code this / other}, exact like
+         * {@code BigDecimal.divide(BigDecimal)}.
+         *
+         * @param other
+         *            the other operand
+         * @return the quotient
+         */
+        public Expression divide(Expression other) {
+            return binary(Program.DIVIDE, other);
+        }
+
+        /**
+         * Returns {@code this / other}, exact like
+         * {@code BigDecimal.divide(BigDecimal)}.
+         *
+         * @param other
+         *            the other operand
+         * @return the quotient
+         */
+        public Expression divide(ObservableBigDecimalValue other) {
+            return divide(of(other));
+        }
+
+        /**
+         * Returns {@code this / other}, exact like
+         * {@code BigDecimal.divide(BigDecimal)}.
+         *
+         * @param other
+         *            the other operand
+         * @return the quotient
+         */
+        public Expression divide(BigDecimal other) {
+            return divide(of(other));
+        }
+
+        /**
+         * Returns {@code -this}.
+         *
+         * @return the negation
+         */
+        public Expression negate() {
+            return new Expression(Program.NEGATE, this, null, null, null);
+        }
+    }
+
+    /**
+     * A compiled formula in registers: the leaves are read into registers
+     * {@code 0} to {@code leaves.length - 1}, the constants follow and every
+     * instruction {@code (opcode, a, b)} of {@code code} writes the next
+     * register. The code and the register counts are the shape of the
+     * formula; formulas of the same shape differ in leaves and constants
+     * only.
+     */
+    static final class Program {
+
+        static final int ADD = 0;
+        static final int SUBTRACT = 1;
+        static final int MULTIPLY = 2;
+        static final int DIVIDE = 3;
+        static final int NEGATE = 4;
+        static final int LEAF = -1;
+        static final int CONSTANT = -2;
+
+        final ObservableBigDecimalValue[] leaves;
+        final BigDecimal[] constants;
+        final int[] code;
+        final int result;
+
+        private Program(ObservableBigDecimalValue[] leaves, BigDecimal[] constants, int[] code, int result) {
+            this.leaves = leaves;
+            this.constants = constants;
+            this.code = code;
+            this.result = result;
+        }
+
+        static Program of(Expression expression) {
+            if (expression == null) {
+                throw new NullPointerException("Expression cannot be null.");
+            }
+            final Map<ObservableBigDecimalValue, Integer> leafIndex = new IdentityHashMap<>();
+            final Map<BigDecimal, Integer> constantIndex = new HashMap<>();
+            final List<ObservableBigDecimalValue> leaves = new ArrayList<>();
+            final List<BigDecimal> constants = new ArrayList<>();
+            final List<Expression> order = postOrder(expression);
+            for (final Expression e : order) {
+                if ((e.opcode == LEAF) && !leafIndex.containsKey(e.leaf)) {
+                    leafIndex.put(e.leaf, leaves.size());
+                    leaves.add(e.leaf);
+                } else if ((e.opcode == CONSTANT) && !constantIndex.containsKey(e.constant)) {
+                    constantIndex.put(e.constant, constants.size());
+                    constants.add(e.constant);
+                }
+            }
+            final Map<Expression, Integer> registers = new IdentityHashMap<>();
+            final int[] code = new int[order.size() * 3];
+            int length = 0;
+            int next = leaves.size() + constants.size();
+            for (final Expression e : order) {
+                if (e.opcode == LEAF) {
+                    registers.put(e, leafIndex.get(e.leaf));
+                } else if (e.opcode == CONSTANT) {
+                    registers.put(e, leaves.size() + constantIndex.get(e.constant));
+                } else {
+                    code[length++] = e.opcode;
+                    code[length++] = registers.get(e.op1);
+                    code[length++] = (e.op2 == null) ? -1 : registers.get(e.op2);
+                    registers.put(e, next++);
+                }
+            }
+            return new Program(leaves.toArray(new ObservableBigDecimalValue[0]),
+                    constants.toArray(new BigDecimal[0]), Arrays.copyOf(code, length), registers.get(expression));
+        }
+
+        /**
+         * Returns every distinct expression once, operands before the
+         * expressions that use them.
+         */
+        private static List<Expression> postOrder(Expression root) {
+            final List<Expression> order = new ArrayList<>();
+            final Map<Expression, Boolean> visited = new IdentityHashMap<>();
+            final List<Expression> stack = new ArrayList<>();
+            stack.add(root);
+            while (!stack.isEmpty()) {
+                final Expression e = stack.get(stack.size() - 1);
+                final Boolean state = visited.get(e);
+                if (state == null) {
+                    visited.put(e, Boolean.FALSE);
+                    if ((e.op2 != null) && !visited.containsKey(e.op2)) {
+                        stack.add(e.op2);
+                    }
+                    if ((e.op1 != null) && !visited.containsKey(e.op1)) {
+                        stack.add(e.op1);
+                    }
+                } else {
+                    stack.remove(stack.size() - 1);
+                    if (!state) {
+                        visited.put(e, Boolean.TRUE);
+                        order.add(e);
+                    }
+                }
+            }
+            return order;
+        }
+
+        int registerCount() {
+            return leaves.length + constants.length + (code.length / 3);
+        }
+    }
+
+    /**
+     * The binding of a compiled formula: it observes the leaves of its
+     * {@link Program}.
+     */
+    private abstract static class CompiledBinding extends BigDecimalBinding {
+
+        final Program program;
+        private ObservableList<?> dependencyList;
+
+        CompiledBinding(Program program) {
+            this.program = program;
+            bind(program.leaves);
+        }
+
+        @Override
+        public void dispose() {
+            unbind(program.leaves);
+        }
+
+        @Override
+        public ObservableList<?> getDependencies() {
+            if (dependencyList == null) {
+                dependencyList = (program.leaves.length == 0)?
+                        FXCollections.emptyObservableList()
+                        : (program.leaves.length == 1)?
+                                FXCollections.singletonObservableList(program.leaves[0])
+                                : new ImmutableObservableList<ObservableBigDecimalValue>(program.leaves);
+            }
+            return dependencyList;
+        }
+    }
+
+    /**
+     * The binding of {@link Backend#INTERPRETER}. It evaluates the code of
+     * its {@link Program} into a register array it keeps between
+     * evaluations. An instruction whose operands are the same instances as in
+     * the last evaluation keeps its register, so setting one leaf only
+     * recomputes the instructions that depend on it, as a graph of bindings
+     * would.
+     */
+    private static final class InterpretedBinding extends CompiledBinding {
+
+        private final BigDecimal[] registers;
+        private final boolean[] changed;
+        private boolean evaluated;
+
+        InterpretedBinding(Program program) {
+            super(program);
+            this.registers = new BigDecimal[program.registerCount()];
+            this.changed = new boolean[registers.length];
+            System.arraycopy(program.constants, 0, registers, program.leaves.length, program.constants.length);
+        }
+
+        @Override
+        protected BigDecimal computeValue() {
+            final BigDecimal[] r = registers;
+            final boolean[] c = changed;
+            final boolean all = !evaluated;
+            // stays false if an instruction throws, the next pass recomputes everything
+            evaluated = false;
+            final ObservableBigDecimalValue[] leaves = program.leaves;
+            for (int i = 0; i < leaves.length; i++) {
+                final BigDecimal value = leaves[i].get();
+                c[i] = all || (value != r[i]);
+                r[i] = value;
+            }
+            final int[] code = program.code;
+            int target = leaves.length + program.constants.length;
+            for (int pc = 0; pc < code.length; pc += 3) {
+                final int b = code[pc + 2];
+                if (!all && !c[code[pc + 1]] && ((b < 0) || !c[b])) {
+                    c[target++] = false;
+                    continue;
+                }
+                c[target] = true;
+                final BigDecimal a = r[code[pc + 1]];
+                switch (code[pc]) {
+                case Program.ADD:
+                    r[target++] = a.add(r[code[pc + 2]]);
+                    break;
+                case Program.SUBTRACT:
+                    r[target++] = a.subtract(r[code[pc + 2]]);
+                    break;
+                case Program.MULTIPLY:
+                    r[target++] = a.multiply(r[code[pc + 2]]);
+                    break;
+                case Program.DIVIDE:
+                    r[target++] = a.divide(r[code[pc + 2]]);
+                    break;
+                case Program.NEGATE:
+                    r[target++] = a.negate();
+                    break;
+                default:
+                    throw new AssertionError(code[pc]);
+                }
+            }
+            evaluated = true;
+            return r[program.result];
+        }
+    }
+
+    /**
+     * The binding of {@link Backend#BYTECODE}, evaluated by the class
+     * generated for the shape of its {@link Program}.
+     */
+    private static final class GeneratedBinding extends CompiledBinding {
+
+        private final FormulaClassGenerator.Evaluator evaluator;
+
+        GeneratedBinding(Program program, FormulaClassGenerator.Evaluator evaluator) {
+            super(program);
+            this.evaluator = evaluator;
+        }
+
+        @Override
+        protected BigDecimal computeValue() {
+            return evaluator.evaluate(program.leaves, program.constants);
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package br.com.fxport.util;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import br.com.fxport.properties.BindingEvents;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakListener;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * Keeps the listeners of an {@code ObservableValue<BigDecimal>} and notifies
+ * them, in place of {@code com.sun.javafx.binding.ExpressionHelper} and with
+ * the same static API:
+ *
+ * <blockquote><pre>
+ *   helper = BigDecimalExpressionHelper.addListener(helper, this, listener);
+ *   BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+ * </pre></blockquote>
+ *
+ * {@code ExpressionHelper} copies its listener array on every add and remove,
+ * which is O(n) per call for nodes with many dependents. Here a listener is
+ * appended to an array that grows geometrically. Up to a few listeners,
+ * removing one shifts the rest; above that it only clears its slot, found
+ * through a hash index. Cleared slots and {@link WeakListener}s whose target was
+ * collected are compacted away before the array grows and after more than
+ * half of it was cleared, so both operations are amortised O(1).
+ * Notification walks the array and does not allocate. Most nodes have a
+ * single invalidation listener, the node that reads them; like
+ * {@code ExpressionHelper}, a helper with only that listener holds it
+ * directly, and the array is only created for the second.
+ * <p>
+ * As with {@code ExpressionHelper}, invalidation listeners are notified
+ * before change listeners, change listeners only if the value is not
+ * {@code equals} to the previous one, and exceptions thrown by listeners are
+ * passed to the uncaught exception handler of the current thread. A listener
+ * added during a notification is not notified by it. Unlike
+ * {@code ExpressionHelper}, a listener removed during a notification is
+ * usually not notified by it either, unless the array had to grow for a
+ * listener added during the same notification.
+ */
+public abstract class BigDecimalExpressionHelper {
+
+    /**
+     * Adds an {@code InvalidationListener}.
+     *
+     * @param helper
+     *            the current helper, or {@code null}
+     * @param observable
+     *            the observable the listeners belong to
+     * @param listener
+     *            the listener to add
+     * @return the helper to store
+     * @throws NullPointerException
+     *             if {@code observable} or {@code listener} is {@code null}
+     */
+    public static BigDecimalExpressionHelper addListener(BigDecimalExpressionHelper helper,
+            ObservableValue<BigDecimal> observable, InvalidationListener listener) {
+        if ((observable == null) || (listener == null)) {
+            throw new NullPointerException();
+        }
+        observable.getValue(); // validate observable
+        return (helper == null) ? new SingleInvalidation(observable, listener) : helper.addListener(listener);
+    }
+
+    /**
+     * Removes an {@code InvalidationListener}, one occurrence if it was added
+     * more than once.
+     *
+     * @param helper
+     *            the current helper, or {@code null}
+     * @param listener
+     *            the listener to remove
+     * @return the helper to store
+     * @throws NullPointerException
+     *             if {@code listener} is {@code null}
+     */
+    public static BigDecimalExpressionHelper removeListener(BigDecimalExpressionHelper helper,
+            InvalidationListener listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        return (helper == null) ? null : helper.removeListener(listener);
+    }
+
+    /**
+     * Adds a {@code ChangeListener}.
+     *
+     * @param helper
+     *            the current helper, or {@code null}
+     * @param observable
+     *            the observable the listeners belong to
+     * @param listener
+     *            the listener to add
+     * @return the helper to store
+     * @throws NullPointerException
+     *             if {@code observable} or {@code listener} is {@code null}
+     */
+    public static BigDecimalExpressionHelper addListener(BigDecimalExpressionHelper helper,
+            ObservableValue<BigDecimal> observable, ChangeListener<? super BigDecimal> listener) {
+        if ((observable == null) || (listener == null)) {
+            throw new NullPointerException();
+        }
+        return ((helper == null) ? new Generic(observable) : helper).addListener(listener);
+    }
+
+    /**
+     * Removes a {@code ChangeListener}, one occurrence if it was added more
+     * than once.
+     *
+     * @param helper
+     *            the current helper, or {@code null}
+     * @param listener
+     *            the listener to remove
+     * @return the helper to store
+     * @throws NullPointerException
+     *             if {@code listener} is {@code null}
+     */
+    public static BigDecimalExpressionHelper removeListener(BigDecimalExpressionHelper helper,
+            ChangeListener<? super BigDecimal> listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        return (helper == null) ? null : helper.removeListener(listener);
+    }
+
+    /**
+     * Notifies all listeners of the helper. Does nothing if it is
+     * {@code null}.
+     *
+     * @param helper
+     *            the helper to notify
+     */
+    public static void fireValueChangedEvent(BigDecimalExpressionHelper helper) {
+        if (helper != null) {
+            helper.fireValueChangedEvent();
+        }
+    }
+
+    /**
+     * Returns the number of listeners of both kinds.
+     *
+     * @param helper
+     *            the helper, or {@code null}
+     * @return the number of listeners
+     */
+    public static int getListenerCount(BigDecimalExpressionHelper helper) {
+        return (helper == null) ? 0 : helper.getListenerCount();
+    }
+
+    protected final ObservableValue<BigDecimal> observable;
+
+    private BigDecimalExpressionHelper(ObservableValue<BigDecimal> observable) {
+        this.observable = observable;
+    }
+
+    protected abstract BigDecimalExpressionHelper addListener(InvalidationListener listener);
+
+    protected abstract BigDecimalExpressionHelper removeListener(InvalidationListener listener);
+
+    protected abstract BigDecimalExpressionHelper addListener(ChangeListener<? super BigDecimal> listener);
+
+    protected abstract BigDecimalExpressionHelper removeListener(ChangeListener<? super BigDecimal> listener);
+
+    protected abstract void fireValueChangedEvent();
+
+    protected abstract int getListenerCount();
+
+    final void notifyInvalidation(InvalidationListener listener, boolean recorded) {
+        try {
+            if (recorded) {
+                BindingEvents.invalidated(listener, observable);
+            } else {
+                listener.invalidated(observable);
+            }
+        } catch (Exception e) {
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        }
+    }
+
+    /**
+     * A helper with one {@code InvalidationListener} and nothing else.
+     */
+    private static final class SingleInvalidation extends BigDecimalExpressionHelper {
+
+        private final InvalidationListener listener;
+
+        private SingleInvalidation(ObservableValue<BigDecimal> observable, InvalidationListener listener) {
+            super(observable);
+            this.listener = listener;
+        }
+
+        @Override
+        protected BigDecimalExpressionHelper addListener(InvalidationListener listener) {
+            // a notification in progress only calls this.listener
+            return new Generic(observable, this.listener).addListener(listener);
+        }
+
+        @Override
+        protected BigDecimalExpressionHelper removeListener(InvalidationListener listener) {
+            return listener.equals(this.listener) ? null : this;
+        }
+
+        @Override
+        protected BigDecimalExpressionHelper addListener(ChangeListener<? super BigDecimal> listener) {
+            return new Generic(observable, this.listener).addListener(listener);
+        }
+
+        @Override
+        protected BigDecimalExpressionHelper removeListener(ChangeListener<? super BigDecimal> listener) {
+            return this;
+        }
+
+        @Override
+        protected void fireValueChangedEvent() {
+            notifyInvalidation(listener, BindingEvents.isListenerCallbackEnabled());
+        }
+
+        @Override
+        protected int getListenerCount() {
+            return 1;
+        }
+    }
+
+    /**
+     * A helper with any number of listeners of both kinds.
+     */
+    private static final class Generic extends BigDecimalExpressionHelper {
+
+        private final Listeners<InvalidationListener> invalidationListeners = new Listeners<>();
+        // created with the first change listener, most nodes only have invalidation listeners
+        private Listeners<ChangeListener<? super BigDecimal>> changeListeners;
+        private BigDecimal currentValue;
+        private int locked = 0;
+
+        private Generic(ObservableValue<BigDecimal> observable) {
+            super(observable);
+        }
+
+        private Generic(ObservableValue<BigDecimal> observable, InvalidationListener listener) {
+            super(observable);
+            invalidationListeners.add(listener, false);
+        }
+
+        @Override
+        protected BigDecimalExpressionHelper addListener(InvalidationListener listener) {
+            invalidationListeners.add(listener, locked > 0);
+            return this;
+        }
+
+        @Override
+        protected BigDecimalExpressionHelper removeListener(InvalidationListener listener) {
+            invalidationListeners.remove(listener, locked > 0);
+            return this;
+        }
+
+        @Override
+        protected BigDecimalExpressionHelper addListener(ChangeListener<? super BigDecimal> listener) {
+            if (changeListeners == null) {
+                changeListeners = new Listeners<>();
+            }
+            if (changeListeners.count() == 0) {
+                currentValue = observable.getValue();
+            }
+            changeListeners.add(listener, locked > 0);
+            return this;
+        }
+
+        @Override
+        protected BigDecimalExpressionHelper removeListener(ChangeListener<? super BigDecimal> listener) {
+            if (changeListeners != null) {
+                changeListeners.remove(listener, locked > 0);
+                if (changeListeners.count() == 0) {
+                    currentValue = null;
+                }
+            }
+            return this;
+        }
+
+        @Override
+        protected int getListenerCount() {
+            return invalidationListeners.count() + ((changeListeners == null) ? 0 : changeListeners.count());
+        }
+
+        @Override
+        protected void fireValueChangedEvent() {
+            locked++;
+            final boolean recorded = BindingEvents.isListenerCallbackEnabled();
+            try {
+                final Object[] invalidation = invalidationListeners.items;
+                final int invalidationSize = invalidationListeners.size;
+                for (int i = 0; i < invalidationSize; i++) {
+                    final Object listener = invalidation[i];
+                    if (listener != null) {
+                        notifyInvalidation((InvalidationListener) listener, recorded);
+                    }
+                }
+                if ((changeListeners != null) && (changeListeners.count() > 0)) {
+                    final BigDecimal oldValue = currentValue;
+                    currentValue = observable.getValue();
+                    final boolean changed = (currentValue == null) ? (oldValue != null) : !currentValue.equals(oldValue);
+                    if (changed) {
+                        final Object[] change = changeListeners.items;
+                        final int changeSize = changeListeners.size;
+                        for (int i = 0; i < changeSize; i++) {
+                            final Object listener = change[i];
+                            if (listener != null) {
+                                try {
+                                    notifyChange(listener, oldValue, currentValue, recorded);
+                                } catch (Exception e) {
+                                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                                }
+                            }
+                        }
+                    }
+                }
+            } finally {
+                if (--locked == 0) {
+                    invalidationListeners.compactIfSparse();
+                    if (changeListeners != null) {
+                        changeListeners.compactIfSparse();
+                    }
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void notifyChange(Object listener, BigDecimal oldValue, BigDecimal newValue, boolean recorded) {
+            if (recorded) {
+                BindingEvents.changed((ChangeListener<? super BigDecimal>) listener, observable, oldValue, newValue);
+            } else {
+                ((ChangeListener<? super BigDecimal>) listener).changed(observable, oldValue, newValue);
+            }
+        }
+    }
+
+
+    /**
+     * An array of listeners with cleared slots and, above
+     * {@link #INDEX_THRESHOLD} listeners, a hash index from a listener to its
+     * slot, or to its {@link Slots} if it was added more than once.
+     */
+    private static final class Listeners<T> {
+
+        private static final int INDEX_THRESHOLD = 16;
+        private static final Object[] EMPTY = new Object[0];
+
+        private Object[] items = EMPTY;
+        private int size = 0;
+        private int holes = 0;
+        private Map<Object, Object> index = null;
+
+        int count() {
+            return size - holes;
+        }
+
+        void add(T listener, boolean locked) {
+            if (size == items.length) {
+                if (!locked) {
+                    compact();
+                }
+                if (locked || (size >= items.length * 3 / 4)) {
+                    // a notification in progress keeps walking the old array
+                    items = Arrays.copyOf(items, Math.max(4, items.length * 2));
+                }
+            }
+            items[size] = listener;
+            if (index != null) {
+                addToIndex(listener, size);
+            }
+            size++;
+            if ((index == null) && (count() > INDEX_THRESHOLD)) {
+                buildIndex();
+            }
+        }
+
+        void remove(T listener, boolean locked) {
+            final int slot;
+            if (index != null) {
+                final Object slots = index.get(listener);
+                if (slots == null) {
+                    return;
+                }
+                if (slots instanceof Integer) {
+                    slot = (Integer) slots;
+                    index.remove(listener);
+                } else {
+                    slot = ((Slots) slots).pop();
+                    if (((Slots) slots).count == 0) {
+                        index.remove(listener);
+                    }
+                }
+            } else {
+                slot = find(listener);
+                if (slot < 0) {
+                    return;
+                }
+                if (!locked) {
+                    // few listeners, keep the array dense
+                    System.arraycopy(items, slot + 1, items, slot, size - slot - 1);
+                    items[--size] = null;
+                    return;
+                }
+            }
+            items[slot] = null;
+            holes++;
+            if (!locked) {
+                compactIfSparse();
+            }
+        }
+
+        private int find(Object listener) {
+            for (int i = 0; i < size; i++) {
+                if ((items[i] != null) && listener.equals(items[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void compactIfSparse() {
+            if ((holes > 0) && (holes * 2 >= size)) {
+                compact();
+            }
+        }
+
+        /**
+         * Moves the live listeners to the front, dropping cleared slots and
+         * collected weak listeners, and moves their slots in the index.
+         */
+        private void compact() {
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                final Object listener = items[i];
+                if (listener == null) {
+                    continue;
+                }
+                if ((listener instanceof WeakListener) && ((WeakListener) listener).wasGarbageCollected()) {
+                    if (index != null) {
+                        removeFromIndex(listener, i);
+                    }
+                    continue;
+                }
+                if ((i != j) && (index != null)) {
+                    moveInIndex(listener, i, j);
+                }
+                items[j++] = listener;
+            }
+            Arrays.fill(items, j, size, null);
+            size = j;
+            holes = 0;
+            if (size <= INDEX_THRESHOLD / 2) {
+                index = null;
+            }
+        }
+
+        private void buildIndex() {
+            index = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                if (items[i] != null) {
+                    addToIndex(items[i], i);
+                }
+            }
+        }
+
+        private void addToIndex(Object listener, int slot) {
+            final Object slots = index.putIfAbsent(listener, slot);
+            if (slots instanceof Integer) {
+                final Slots duplicates = new Slots();
+                duplicates.push((Integer) slots);
+                duplicates.push(slot);
+                index.put(listener, duplicates);
+            } else if (slots != null) {
+                ((Slots) slots).push(slot);
+            }
+        }
+
+        private void moveInIndex(Object listener, int from, int to) {
+            final Object slots = index.get(listener);
+            if (slots instanceof Integer) {
+                index.put(listener, to);
+            } else {
+                ((Slots) slots).replace(from, to);
+            }
+        }
+
+        private void removeFromIndex(Object listener, int slot) {
+            final Object slots = index.get(listener);
+            if ((slots instanceof Slots) && (((Slots) slots).count > 1)) {
+                ((Slots) slots).replace(slot, ((Slots) slots).pop());
+            } else {
+                index.remove(listener);
+            }
+        }
+    }
+
+    /**
+     * The slots of a listener that was added more than once.
+     */
+    private static final class Slots {
+
+        private int[] slots = new int[2];
+        private int count = 0;
+
+        void push(int slot) {
+            if (count == slots.length) {
+                slots = Arrays.copyOf(slots, count * 2);
+            }
+            slots[count++] = slot;
+        }
+
+        int pop() {
+            return slots[--count];
+        }
+
+        void replace(int from, int to) {
+            for (int i = 0; i < count; i++) {
+                if (slots[i] == from) {
+                    slots[i] = to;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package br.com.fxport.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.com.fxport.properties.PropagationScheduler;
+
+/**
+ * Groups many {@code set} calls on BigDecimal properties into one frame.
+ * <p>
+ * While a transaction is open on the current thread, setting a
+ * {@link br.com.fxport.properties.base.BigDecimalPropertyBase} or
+ * {@link br.com.fxport.properties.FixedPointDecimalProperty} stores the new
+ * value right away but holds back its notification. {@link #commit()} then
+ * notifies every changed property once, after all values of the frame are in
+ * place, so no listener ever sees a half-applied frame:
+ *
+ * <blockquote><pre>
+ *   try (BigDecimalTransaction tx = BigDecimalTransaction.begin()) {
+ *       bid.set(newBid);
+ *       ask.set(newAsk);
+ *   } // commit
+ * </pre></blockquote>
+ *
+ * A {@link br.com.fxport.properties.BigDecimalBinding} that depends on several
+ * of the changed properties notifies its listeners once per commit as well,
+ * even if a listener reads it in between. Bindings of this library that are
+ * read during the commit recompute from the final values of the frame, even if
+ * they were not notified yet; JavaFX bindings in the graph (e.g. the
+ * {@code BooleanBinding}s of comparisons) do not, and may show an old value
+ * until they are notified. Values set by listeners during the commit are
+ * delivered in a further round after the current one. With the
+ * {@link PropagationScheduler} enabled, each round is one rank ordered
+ * cascade.
+ * <p>
+ * Transactions are bound to the thread that opened them and can be nested,
+ * only the outermost commit delivers. There is no rollback: values set before
+ * an exception stay set and are delivered on commit.
+ */
+public final class BigDecimalTransaction implements AutoCloseable {
+
+    private static final ThreadLocal<BigDecimalTransaction> CURRENT = new ThreadLocal<>();
+    private static final AtomicInteger OPEN = new AtomicInteger();
+    private static final AtomicLong STAMPS = new AtomicLong();
+
+    private final List<Runnable> pending = new ArrayList<>();
+    private int depth = 1;
+    private long stamp = 0;
+
+    private BigDecimalTransaction() {
+    }
+
+    /**
+     * Opens a transaction on the current thread, or joins the one that is
+     * already open.
+     *
+     * @return the open {@code BigDecimalTransaction}
+     */
+    public static BigDecimalTransaction begin() {
+        BigDecimalTransaction transaction = CURRENT.get();
+        if (transaction != null) {
+            transaction.depth++;
+            return transaction;
+        }
+        transaction = new BigDecimalTransaction();
+        CURRENT.set(transaction);
+        OPEN.incrementAndGet();
+        return transaction;
+    }
+
+    /**
+     * Runs {@code frame} inside a transaction and commits it afterwards, also
+     * if {@code frame} throws.
+     *
+     * @param frame
+     *            the updates to apply
+     */
+    public static void run(Runnable frame) {
+        final BigDecimalTransaction transaction = begin();
+        try {
+            frame.run();
+        } finally {
+            transaction.close();
+        }
+    }
+
+    /**
+     * Returns {@code true} if a transaction is open on the current thread.
+     *
+     * @return {@code true} if notifications are currently deferred
+     */
+    public static boolean isOpen() {
+        return (OPEN.get() != 0) && (CURRENT.get() != null);
+    }
+
+    /**
+     * Queues a notification of the open transaction. Properties call this
+     * from {@code set}, at most once per transaction.
+     *
+     * @param notification
+     *            the notification to run on commit
+     * @return {@code false} if no transaction is open and the caller has to
+     *         notify right away
+     */
+    public static boolean defer(Runnable notification) {
+        if (OPEN.get() == 0) {
+            return false;
+        }
+        final BigDecimalTransaction transaction = CURRENT.get();
+        if (transaction == null) {
+            return false;
+        }
+        transaction.pending.add(notification);
+        return true;
+    }
+
+    /**
+     * Returns a number that identifies the delivery round in progress on the
+     * current thread, or {@code 0} outside of a commit. Nodes remember the
+     * stamp of their last notification and skip a second one in the same
+     * round.
+     *
+     * @return the stamp of the current delivery round, or {@code 0}
+     */
+    public static long deliveryStamp() {
+        if (OPEN.get() == 0) {
+            return 0;
+        }
+        final BigDecimalTransaction transaction = CURRENT.get();
+        return (transaction == null) ? 0 : transaction.stamp;
+    }
+
+    /**
+     * Closes this level of the transaction. The outermost commit notifies all
+     * properties set since {@link #begin()}.
+     *
+     * @throws IllegalStateException
+     *             if the transaction is not open on the current thread
+     */
+    public void commit() {
+        if ((CURRENT.get() != this) || (depth == 0)) {
+            throw new IllegalStateException("Transaction is not open on this thread.");
+        }
+        if (--depth > 0) {
+            return;
+        }
+        RuntimeException failure = null;
+        try {
+            while (!pending.isEmpty()) {
+                final Runnable[] round = pending.toArray(new Runnable[pending.size()]);
+                pending.clear();
+                stamp = STAMPS.incrementAndGet();
+                // one rank ordered cascade for the whole round
+                PropagationScheduler.beginPropagation();
+                try {
+                    for (final Runnable notification : round) {
+                        // every pending property has to be delivered, or it
+                        // would never notify again
+                        try {
+                            notification.run();
+                        } catch (RuntimeException e) {
+                            if (failure == null) {
+                                failure = e;
+                            }
+                        }
+                    }
+                } finally {
+                    PropagationScheduler.endPropagation();
+                }
+            }
+        } finally {
+            stamp = 0;
+            CURRENT.remove();
+            OPEN.decrementAndGet();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Commits this level of the transaction if it was not committed yet. Each
+     * {@link #begin()} is matched either by this method, through
+     * try-with-resources, or by an explicit {@link #commit()}, not both.
+     */
+    @Override
+    public void close() {
+        if ((depth > 0) && (CURRENT.get() == this)) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package br.com.fxport.util;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BigDecimalComparisonBinding;
+import br.com.fxport.properties.BigDecimalOperationBinding;
+import br.com.fxport.properties.FixedPointDecimalBinding;
+import br.com.fxport.properties.FixedPointDecimalProperty;
+import br.com.fxport.properties.base.BigDecimalPropertyBase;
+import br.com.fxport.properties.base.ReadOnlyBigDecimalPropertyBase;
+import javafx.beans.Observable;
+import javafx.beans.binding.Binding;
+import javafx.beans.property.ReadOnlyProperty;
+
+/**
+ * A snapshot of the dependency graph reachable from one or more observables,
+ * e.g. an {@code ObservableBigDecimalValue} shown in the UI.
+ * <p>
+ * The graph is walked through {@code Binding.getDependencies()}. An
+ * {@code ObservableList} a binding depends on, like the list of
+ * {@link Bindings#sum(javafx.collections.ObservableList)}, has its observable
+ * elements as dependencies. Every node records its fan-in (the number of its
+ * dependencies), its fan-out (the number of nodes of the graph that depend on
+ * it), its depth (the longest path down to an observable without
+ * dependencies, which has depth 0) and, for the properties and bindings of
+ * this library, the number of listeners registered with it; listeners of
+ * other observables are reported as -1.
+ * <p>
+ * {@link #toDot()} and {@link #toJson()} export the graph, with edges
+ * pointing from a dependency to the node that depends on it. Taking the
+ * snapshot does not read or recompute any value.
+ */
+public final class BindingGraph {
+
+    private final List<Node> nodes;
+    private final List<Node> roots;
+    private int edges;
+    private int depth;
+    private int maxFanIn;
+    private int maxFanOut;
+    private long listeners;
+
+    private BindingGraph(Observable... roots) {
+        final Map<Object, Node> index = new IdentityHashMap<>();
+        final List<Node> all = new ArrayList<>();
+        final List<Node> rootNodes = new ArrayList<>();
+        final List<Node> stack = new ArrayList<>();
+        for (final Observable root : roots) {
+            if (root == null) {
+                throw new NullPointerException("Roots cannot be null.");
+            }
+            final Node node = visit(root, index, all, stack);
+            if (!rootNodes.contains(node)) {
+                rootNodes.add(node);
+            }
+        }
+        while (!stack.isEmpty()) {
+            final Node node = stack.remove(stack.size() - 1);
+            for (final Object dependency : dependenciesOf(node.observable)) {
+                final Node child = visit(dependency, index, all, stack);
+                node.dependencies.add(child);
+                child.dependents.add(node);
+                edges++;
+            }
+        }
+        this.nodes = Collections.unmodifiableList(all);
+        this.roots = Collections.unmodifiableList(rootNodes);
+        computeDepths();
+        for (final Node node : all) {
+            maxFanIn = Math.max(maxFanIn, node.getFanIn());
+            maxFanOut = Math.max(maxFanOut, node.getFanOut());
+            depth = Math.max(depth, node.depth);
+            if (node.listeners > 0) {
+                listeners += node.listeners;
+            }
+        }
+    }
+
+    /**
+     * Walks the graph reachable from {@code roots}.
+     *
+     * @param roots
+     *            the observables to start from
+     * @return the graph
+     * @throws NullPointerException
+     *             if one of the roots is {@code null}
+     */
+    public static BindingGraph of(Observable... roots) {
+        return new BindingGraph(roots);
+    }
+
+    private static Node visit(Object observable, Map<Object, Node> index, List<Node> all, List<Node> stack) {
+        Node node = index.get(observable);
+        if (node == null) {
+            node = new Node(all.size(), observable);
+            index.put(observable, node);
+            all.add(node);
+            stack.add(node);
+        }
+        return node;
+    }
+
+    private static List<?> dependenciesOf(Object observable) {
+        if (observable instanceof Binding) {
+            final List<?> dependencies = ((Binding<?>) observable).getDependencies();
+            return (dependencies == null) ? Collections.emptyList() : dependencies;
+        }
+        if (observable instanceof List) {
+            final List<Object> elements = new ArrayList<>();
+            for (final Object element : (List<?>) observable) {
+                if (element instanceof Observable) {
+                    elements.add(element);
+                }
+            }
+            return elements;
+        }
+        return Collections.emptyList();
+    }
+
+    private void computeDepths() {
+        // iterative post order, chains can be deeper than the stack
+        final int[] state = new int[nodes.size()];
+        final List<Node> stack = new ArrayList<>();
+        for (final Node start : nodes) {
+            if (state[start.id] != 0) {
+                continue;
+            }
+            stack.add(start);
+            while (!stack.isEmpty()) {
+                final Node node = stack.get(stack.size() - 1);
+                if (state[node.id] == 0) {
+                    state[node.id] = 1;
+                    for (final Node child : node.dependencies) {
+                        if (state[child.id] == 0) {
+                            stack.add(child);
+                        }
+                    }
+                } else {
+                    stack.remove(stack.size() - 1);
+                    if (state[node.id] == 1) {
+                        state[node.id] = 2;
+                        int max = -1;
+                        for (final Node child : node.dependencies) {
+                            // a child still on the path closes a cycle
+                            if (state[child.id] == 2) {
+                                max = Math.max(max, child.depth);
+                            }
+                        }
+                        node.depth = max + 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a short label of an observable: the operator of an arithmetic
+     * node, the comparison of a comparison node, the factory method for the
+     * other anonymous bindings of {@code Bindings} or else the class, then an
+     * identity hash and the name of a property, e.g. {@code ADD@1b6d3586},
+     * {@code Bindings.product@7852e922} or
+     * {@code SimpleBigDecimalProperty@4554617c[price]}.
+     *
+     * @param observable
+     *            the observable
+     * @return the label
+     */
+    public static String labelOf(Object observable) {
+        final Class<?> type = observable.getClass();
+        final StringBuilder sb = new StringBuilder();
+        final Method factory = type.isAnonymousClass() ? type.getEnclosingMethod() : null;
+        if (observable instanceof BigDecimalOperationBinding) {
+            sb.append(((BigDecimalOperationBinding) observable).getOperator());
+        } else if (observable instanceof BigDecimalComparisonBinding) {
+            sb.append(((BigDecimalComparisonBinding) observable).getComparison());
+        } else if (factory != null) {
+            sb.append(factory.getDeclaringClass().getSimpleName()).append('.').append(factory.getName());
+        } else {
+            sb.append(type.getName().substring(type.getName().lastIndexOf('.') + 1));
+        }
+        sb.append('@').append(Integer.toHexString(System.identityHashCode(observable)));
+        if (observable instanceof ReadOnlyProperty) {
+            final String name = ((ReadOnlyProperty<?>) observable).getName();
+            if ((name != null) && !name.isEmpty()) {
+                sb.append('[').append(name).append(']');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int listenerCountOf(Object observable) {
+        if (observable instanceof BigDecimalBinding) {
+            return ((BigDecimalBinding) observable).getListenerCount();
+        }
+        if (observable instanceof BigDecimalPropertyBase) {
+            return ((BigDecimalPropertyBase) observable).getListenerCount();
+        }
+        if (observable instanceof ReadOnlyBigDecimalPropertyBase) {
+            return ((ReadOnlyBigDecimalPropertyBase) observable).getListenerCount();
+        }
+        if (observable instanceof FixedPointDecimalBinding) {
+            return ((FixedPointDecimalBinding) observable).getListenerCount();
+        }
+        if (observable instanceof FixedPointDecimalProperty) {
+            return ((FixedPointDecimalProperty) observable).getListenerCount();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns all nodes, the roots first.
+     *
+     * @return the nodes
+     */
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the nodes of the roots the graph was walked from.
+     *
+     * @return the root nodes
+     */
+    public List<Node> getRoots() {
+        return roots;
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the number of dependency edges.
+     *
+     * @return the number of edges
+     */
+    public int getEdgeCount() {
+        return edges;
+    }
+
+    /**
+     * Returns the length of the longest dependency path.
+     *
+     * @return the depth of the graph
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the highest number of dependencies of a node.
+     *
+     * @return the maximum fan-in
+     */
+    public int getMaxFanIn() {
+        return maxFanIn;
+    }
+
+    /**
+     * Returns the highest number of dependents of a node within the graph.
+     *
+     * @return the maximum fan-out
+     */
+    public int getMaxFanOut() {
+        return maxFanOut;
+    }
+
+    /**
+     * Returns the total number of listeners of the nodes that report them.
+     *
+     * @return the number of listeners
+     */
+    public long getListenerCount() {
+        return listeners;
+    }
+
+    /**
+     * Returns the graph in the DOT language of Graphviz.
+     *
+     * @return the DOT source
+     */
+    public String toDot() {
+        final StringBuilder sb = new StringBuilder("digraph bindings {\n");
+        sb.append("    // nodes: ").append(nodes.size()).append(", edges: ").append(edges).append(", depth: ")
+                .append(depth).append(", max fan-in: ").append(maxFanIn).append(", max fan-out: ").append(maxFanOut)
+                .append(", listeners: ").append(listeners).append('\n');
+        sb.append("    rankdir=BT;\n");
+        for (final Node node : nodes) {
+            sb.append("    n").append(node.id).append(" [label=\"");
+            escape(sb, node.label);
+            sb.append("\\ndepth ").append(node.depth);
+            if (node.listeners >= 0) {
+                sb.append(", listeners ").append(node.listeners);
+            }
+            sb.append('"');
+            if (roots.contains(node)) {
+                sb.append(", shape=box");
+            }
+            sb.append("];\n");
+        }
+        for (final Node node : nodes) {
+            for (final Node dependency : node.dependencies) {
+                sb.append("    n").append(dependency.id).append(" -> n").append(node.id).append(";\n");
+            }
+        }
+        return sb.append("}\n").toString();
+    }
+
+    /**
+     * Returns the graph as JSON: an object with {@code stats}, {@code nodes}
+     * ({@code id}, {@code label}, {@code type}, {@code depth}, {@code fanIn},
+     * {@code fanOut}, {@code listeners}) and {@code edges} as
+     * {@code [dependency, dependent]} pairs of ids.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        final StringBuilder sb = new StringBuilder("{\"stats\":{");
+        sb.append("\"nodes\":").append(nodes.size()).append(",\"edges\":").append(edges).append(",\"depth\":")
+                .append(depth).append(",\"maxFanIn\":").append(maxFanIn).append(",\"maxFanOut\":").append(maxFanOut)
+                .append(",\"listeners\":").append(listeners).append("},\"nodes\":[");
+        for (int i = 0; i < nodes.size(); i++) {
+            final Node node = nodes.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(node.id).append(",\"label\":\"");
+            escape(sb, node.label);
+            sb.append("\",\"type\":\"");
+            escape(sb, node.observable.getClass().getName());
+            sb.append("\",\"depth\":").append(node.depth).append(",\"fanIn\":").append(node.getFanIn())
+                    .append(",\"fanOut\":").append(node.getFanOut()).append(",\"listeners\":")
+                    .append(node.listeners).append('}');
+        }
+        sb.append("],\"edges\":[");
+        boolean first = true;
+        for (final Node node : nodes) {
+            for (final Node dependency : node.dependencies) {
+                sb.append(first ? "[" : ",[").append(dependency.id).append(',').append(node.id).append(']');
+                first = false;
+            }
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static void escape(StringBuilder sb, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if ((c == '"') || (c == '\\')) {
+                sb.append('\\').append(c);
+            } else if (c < ' ') {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BindingGraph [nodes: " + nodes.size() + ", edges: " + edges + ", depth: " + depth + ", max fan-in: "
+                + maxFanIn + ", max fan-out: " + maxFanOut + ", listeners: " + listeners + "]";
+    }
+
+    /**
+     * A node of a {@link BindingGraph}.
+     */
+    public static final class Node {
+
+        private final int id;
+        private final Object observable;
+        private final String label;
+        private final int listeners;
+        private final List<Node> dependencies = new ArrayList<>(2);
+        private final List<Node> dependents = new ArrayList<>(2);
+        private int depth;
+
+        Node(int id, Object observable) {
+            this.id = id;
+            this.observable = observable;
+            this.label = labelOf(observable);
+            this.listeners = listenerCountOf(observable);
+        }
+
+        /**
+         * Returns the id of the node, its index in {@link BindingGraph#getNodes()}.
+         *
+         * @return the id
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Returns the observable of the node.
+         *
+         * @return the observable
+         */
+        public Object getObservable() {
+            return observable;
+        }
+
+        /**
+         * Returns the label of the node, see {@link BindingGraph#labelOf(Object)}.
+         *
+         * @return the label
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Returns the nodes this node depends on.
+         *
+         * @return the dependencies
+         */
+        public List<Node> getDependencies() {
+            return Collections.unmodifiableList(dependencies);
+        }
+
+        /**
+         * Returns the nodes of the graph that depend on this node.
+         *
+         * @return the dependents
+         */
+        public List<Node> getDependents() {
+            return Collections.unmodifiableList(dependents);
+        }
+
+        /**
+         * Returns the number of dependencies.
+         *
+         * @return the fan-in
+         */
+        public int getFanIn() {
+            return dependencies.size();
+        }
+
+        /**
+         * Returns the number of dependents within the graph.
+         *
+         * @return the fan-out
+         */
+        public int getFanOut() {
+            return dependents.size();
+        }
+
+        /**
+         * Returns the length of the longest path to a node without
+         * dependencies.
+         *
+         * @return the depth
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Returns the number of listeners, or -1 if the observable does not
+         * report them.
+         *
+         * @return the number of listeners or -1
+         */
+        public int getListenerCount() {
+            return listeners;
+        }
+
+        @Override
+        public String toString() {
+            return label + " [depth: " + depth + ", fan-in: " + getFanIn() + ", fan-out: " + getFanOut()
+                    + ", listeners: " + listeners + "]";
+        }
+    }
+}
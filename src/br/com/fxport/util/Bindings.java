@@ -26,12 +26,18 @@ package br.com.fxport.util;
  */
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
 import java.text.Format;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import javafx.beans.Observable;
 import javafx.beans.property.Property;
 import javafx.beans.value.ObservableDoubleValue;
@@ -58,7 +64,19 @@ import javafx.beans.binding.*;
 import com.sun.javafx.collections.ImmutableObservableList;
 
 import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.interfaces.ObservableFixedPointValue;
+import br.com.fxport.properties.AsyncBigDecimalBinding;
 import br.com.fxport.properties.BigDecimalBinding;
+import br.com.fxport.properties.BigDecimalComparisonBinding;
+import br.com.fxport.properties.BigDecimalComparisonBinding.Comparison;
+import br.com.fxport.properties.BigDecimalOperationBinding;
+import br.com.fxport.properties.BigDecimalOperationBinding.Operator;
+import br.com.fxport.properties.BigDecimalListAggregateBinding;
+import br.com.fxport.properties.BigDecimalSegmentTree;
+import br.com.fxport.properties.BigDecimalStringBinding;
+import br.com.fxport.properties.BigDecimalSumBinding;
+import br.com.fxport.properties.FixedPointDecimalBinding;
+import br.com.fxport.properties.ThrottledBigDecimalBinding;
 import br.com.fxport.properties.base.BigDecimalConstant;
 
 /**
@@ -113,6 +131,20 @@ public final class Bindings {
 	
 	}
 
+	/**
+	 * Returns an unmodifiable list of the dependencies of a binding. The
+	 * bindings created here build it on the first call of
+	 * {@code getDependencies()} and keep it, so walking a graph does not
+	 * allocate.
+	 */
+	private static ObservableList<?> dependencyList(Observable... dependencies) {
+		return ((dependencies == null) || (dependencies.length == 0))?
+				FXCollections.emptyObservableList()
+				: (dependencies.length == 1)?
+						FXCollections.singletonObservableList(dependencies[0])
+						: new ImmutableObservableList<Observable>(dependencies);
+	}
+
 	/**
 	 * Creates a binding used to get a member, such as {@code a.b.c}. The value
 	 * of the binding will be {@code c}, or {@code null} if {@code c} could not
@@ -550,12 +582,14 @@ public final class Bindings {
 					return Math.min(op1.doubleValue(), op2.doubleValue());
 				}
 
-				@Override
+				private ObservableList<?> dependencyList;
 
+				@Override
 				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
+					if (dependencyList == null) {
+						dependencyList = Bindings.dependencyList(dependencies);
+					}
+					return dependencyList;
 				}
 			};
 		} else if ((op1 instanceof ObservableFloatValue) || (op2 instanceof ObservableFloatValue)) {
@@ -574,12 +608,14 @@ public final class Bindings {
 					return Math.min(op1.floatValue(), op2.floatValue());
 				}
 
-				@Override
+				private ObservableList<?> dependencyList;
 
+				@Override
 				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
+					if (dependencyList == null) {
+						dependencyList = Bindings.dependencyList(dependencies);
+					}
+					return dependencyList;
 				}
 			};
 		} else if ((op1 instanceof ObservableLongValue) || (op2 instanceof ObservableLongValue)) {
@@ -598,12 +634,14 @@ public final class Bindings {
 					return Math.min(op1.longValue(), op2.longValue());
 				}
 
-				@Override
+				private ObservableList<?> dependencyList;
 
+				@Override
 				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
+					if (dependencyList == null) {
+						dependencyList = Bindings.dependencyList(dependencies);
+					}
+					return dependencyList;
 				}
 			};
 		} else {
@@ -622,12 +660,14 @@ public final class Bindings {
 					return Math.min(op1.intValue(), op2.intValue());
 				}
 
-				@Override
+				private ObservableList<?> dependencyList;
 
+				@Override
 				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
+					if (dependencyList == null) {
+						dependencyList = Bindings.dependencyList(dependencies);
+					}
+					return dependencyList;
 				}
 			};
 		}
@@ -811,12 +851,14 @@ public final class Bindings {
 					return Math.max(op1.doubleValue(), op2.doubleValue());
 				}
 
-				@Override
+				private ObservableList<?> dependencyList;
 
+				@Override
 				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
+					if (dependencyList == null) {
+						dependencyList = Bindings.dependencyList(dependencies);
+					}
+					return dependencyList;
 				}
 			};
 		} else if ((op1 instanceof ObservableFloatValue) || (op2 instanceof ObservableFloatValue)) {
@@ -835,12 +877,14 @@ public final class Bindings {
 					return Math.max(op1.floatValue(), op2.floatValue());
 				}
 
-				@Override
+				private ObservableList<?> dependencyList;
 
+				@Override
 				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
+					if (dependencyList == null) {
+						dependencyList = Bindings.dependencyList(dependencies);
+					}
+					return dependencyList;
 				}
 			};
 		} else if ((op1 instanceof ObservableLongValue) || (op2 instanceof ObservableLongValue)) {
@@ -859,12 +903,14 @@ public final class Bindings {
 					return Math.max(op1.longValue(), op2.longValue());
 				}
 
-				@Override
+				private ObservableList<?> dependencyList;
 
+				@Override
 				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
+					if (dependencyList == null) {
+						dependencyList = Bindings.dependencyList(dependencies);
+					}
+					return dependencyList;
 				}
 			};
 		} else {
@@ -883,12 +929,14 @@ public final class Bindings {
 					return Math.max(op1.intValue(), op2.intValue());
 				}
 
-				@Override
+				private ObservableList<?> dependencyList;
 
+				@Override
 				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
+					if (dependencyList == null) {
+						dependencyList = Bindings.dependencyList(dependencies);
+					}
+					return dependencyList;
 				}
 			};
 		}
@@ -1069,666 +1117,1125 @@ public final class Bindings {
 				super.unbind(dependencies);
 			}
 	
+			private ObservableList<?> dependencyList;
+
 			@Override
-	
 			public ObservableList<?> getDependencies() {
-				return  ((dependencies == null) || (dependencies.length == 0))?
-						FXCollections.emptyObservableList()
-						: (dependencies.length == 1)?
-								FXCollections.singletonObservableList(dependencies[0])
-								: new ImmutableObservableList<Observable>(dependencies);
+				if (dependencyList == null) {
+					dependencyList = Bindings.dependencyList(dependencies);
+				}
+				return dependencyList;
 			}
 		};
 	}
 	
+	/**
+	 * Creates an {@link AsyncBigDecimalBinding} that evaluates {@code func} on
+	 * the default executor and publishes its results through the default apply
+	 * executor, see {@link AsyncBigDecimalBinding#setDefaultApplyExecutor}.
+	 * {@code func} receives the values of the dependencies, read when the
+	 * computation starts. Until the first result is published, the binding
+	 * holds zero.
+	 *
+	 * @param func
+	 *            the function that calculates the value of this binding from
+	 *            the values of the dependencies
+	 * @param dependencies
+	 *            the dependencies of this binding
+	 * @return the generated binding
+	 * @throws IllegalStateException
+	 *             if no default apply executor was set
+	 */
+	public static AsyncBigDecimalBinding createAsyncBigDecimalBinding(final Function<Object[], BigDecimal> func, final Observable... dependencies) {
+		return new AsyncBigDecimalBinding(func, dependencies);
+	}
+
+	/**
+	 * Creates an {@link AsyncBigDecimalBinding} that evaluates {@code func} on
+	 * {@code executor} and publishes its results through
+	 * {@code applyExecutor}, e.g. {@code Platform::runLater}. {@code func}
+	 * receives the values of the dependencies, read when the computation
+	 * starts. Until the first result is published, the binding holds zero.
+	 *
+	 * @param func
+	 *            the function that calculates the value of this binding from
+	 *            the values of the dependencies
+	 * @param executor
+	 *            the {@code Executor} that runs {@code func}
+	 * @param applyExecutor
+	 *            the {@code Executor} that publishes the results
+	 * @param dependencies
+	 *            the dependencies of this binding
+	 * @return the generated binding
+	 */
+	public static AsyncBigDecimalBinding createAsyncBigDecimalBinding(final Function<Object[], BigDecimal> func, final Executor executor,
+			final Executor applyExecutor, final Observable... dependencies) {
+		return new AsyncBigDecimalBinding(func, executor, applyExecutor, BigDecimal.ZERO, dependencies);
+	}
+
+	/**
+	 * Creates a {@link ThrottledBigDecimalBinding} that follows {@code source}
+	 * with at most one notification per {@code interval}, always delivering
+	 * the latest value through the default apply executor, see
+	 * {@link AsyncBigDecimalBinding#setDefaultApplyExecutor}.
+	 *
+	 * @param source
+	 *            the value to follow
+	 * @param interval
+	 *            the minimum time between two notifications
+	 * @param unit
+	 *            the unit of {@code interval}
+	 * @return the generated binding
+	 * @throws IllegalStateException
+	 *             if {@code interval} is not 0 and no default apply executor
+	 *             was set
+	 */
+	public static ThrottledBigDecimalBinding throttle(final ObservableBigDecimalValue source, long interval, TimeUnit unit) {
+		return new ThrottledBigDecimalBinding(source, interval, unit);
+	}
+
+	/**
+	 * Creates a {@link ThrottledBigDecimalBinding} that follows {@code source}
+	 * and delivers the latest value when
+	 * {@link ThrottledBigDecimalBinding#pulse()} is called.
+	 *
+	 * @param source
+	 *            the value to follow
+	 * @return the generated binding
+	 */
+	public static ThrottledBigDecimalBinding throttle(final ObservableBigDecimalValue source) {
+		return new ThrottledBigDecimalBinding(source);
+	}
+
 	public static BigDecimalBinding negate(final ObservableBigDecimalValue value) {
 		if (value == null) {
 			throw new NullPointerException("Operand cannot be null.");
 		}
 
-			return new BigDecimalBinding() {
-				{
-					super.bind(value);
-				}
-
-				@Override
-				public void dispose() {
-					super.unbind(value);
-				}
-
+		if (isConstant(value)) {
+			return new FoldedBinding() {
 				@Override
 				protected BigDecimal computeValue() {
-					return  value.get().negate();
-				}
-
-				@Override
-
-				public ObservableList<?> getDependencies() {
-					return FXCollections.singletonObservableList(value);
+					return value.get().negate();
 				}
 			};
+		}
+
+		return new BigDecimalOperationBinding(Operator.NEGATE, value);
 	}
 	
 
 	// =================================================================================================================
-	// Add
-	
-	private static BigDecimalBinding add(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2,
-			final Observable... dependencies) {
-		if ((op1 == null) || (op2 == null)) {
-			throw new NullPointerException("Operands cannot be null.");
-		}
-		assert (dependencies != null) && (dependencies.length > 0);
+	// Constant folding
+	//
+	// negate, add, subtract, multiply and divide return a FoldedBinding without dependencies when all operands are
+	// constant. x+0, 0+x, x-0, x*1, 1*x and x/1 with an integer constant return x itself if it already is a
+	// BigDecimalBinding, so the result of these factories is not always a new node and must not be disposed unless
+	// the operand is owned as well.
 
-		return new BigDecimalBinding() {
-			{
-				super.bind(dependencies);
-			}
+	private static volatile boolean foldMultiplyByZero = false;
 
-			@Override
-			public void dispose() {
-				super.unbind(dependencies);
-			}
+	/**
+	 * A binding without dependencies, created when all operands of an
+	 * arithmetic factory are constant. Its value is computed on the first
+	 * {@code get()} and never changes, so it is treated as a constant by the
+	 * factories as well.
+	 */
+	private static abstract class FoldedBinding extends BigDecimalBinding {
+	}
 
-			@Override
-			protected BigDecimal computeValue() {
-				return op1.get().add(op2.get());
-			}
+	private static boolean isConstant(final ObservableBigDecimalValue value) {
+		return (value instanceof BigDecimalConstant) || (value instanceof FoldedBinding);
+	}
 
-			@Override
+	/**
+	 * Returns {@code true} if {@code value} is a constant equal to
+	 * {@code expected}, including its scale. Only such constants are
+	 * identities whose elimination does not change the scale of the result.
+	 */
+	private static boolean isConstant(final ObservableBigDecimalValue value, final BigDecimal expected) {
+		return (value instanceof BigDecimalConstant) && expected.equals(value.get());
+	}
 
-			public ObservableList<?> getDependencies() {
-				return (dependencies.length == 1)?
-						FXCollections.singletonObservableList(dependencies[0])
-						: new ImmutableObservableList<Observable>(dependencies);
-			}
-		};
+	private static boolean isConstantZero(final ObservableBigDecimalValue value) {
+		return (value instanceof BigDecimalConstant) && (value.get().signum() == 0);
 	}
 
-	public static BigDecimalBinding add(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
-		return Bindings.add(op1, op2, op1, op2);
+	/**
+	 * Returns whether {@code multiply} folds a product with a constant zero
+	 * operand to a constant zero.
+	 *
+	 * @return {@code true} if products with zero are folded
+	 * @see #setFoldMultiplyByZero(boolean)
+	 */
+	public static boolean isFoldMultiplyByZero() {
+		return foldMultiplyByZero;
+	}
+
+	/**
+	 * Sets whether {@code multiply} folds a product with a constant zero
+	 * operand to a constant zero, dropping the other operand from the graph.
+	 * The folded zero has scale 0, while {@code x.multiply(0)} would have the
+	 * scale of {@code x}. Disabled by default.
+	 *
+	 * @param fold
+	 *            {@code true} to fold products with zero
+	 */
+	public static void setFoldMultiplyByZero(boolean fold) {
+		foldMultiplyByZero = fold;
 	}
+
+	// =================================================================================================================
+	// Add
 	
+	public static BigDecimalBinding add(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
+		if ((op1 == null) || (op2 == null)) {
+			throw new NullPointerException("Operands cannot be null.");
+		}
+
+		if (isConstant(op1) && isConstant(op2)) {
+			return new FoldedBinding() {
+				@Override
+				protected BigDecimal computeValue() {
+					return op1.get().add(op2.get());
+				}
+			};
+		}
+		if (isConstant(op2, BigDecimal.ZERO) && (op1 instanceof BigDecimalBinding)) {
+			return (BigDecimalBinding) op1;
+		}
+		if (isConstant(op1, BigDecimal.ZERO) && (op2 instanceof BigDecimalBinding)) {
+			return (BigDecimalBinding) op2;
+		}
+
+		return new BigDecimalOperationBinding(Operator.ADD, op1, op2);
+	}
+
 	public static BigDecimalBinding add(final ObservableBigDecimalValue op1, double op2) {
-		return (BigDecimalBinding) Bindings.add(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.add(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BigDecimalBinding add(final ObservableBigDecimalValue op1, int op2) {
-		return (BigDecimalBinding) Bindings.add(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.add(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BigDecimalBinding add(final ObservableBigDecimalValue op1, long op2) {
-		return (BigDecimalBinding) Bindings.add(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.add(op1, BigDecimalConstant.valueOf(op2));
 	}
 	
 	public static BigDecimalBinding add(double op1, final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.add(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.add(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BigDecimalBinding add(int op1, final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.add(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.add(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BigDecimalBinding add(long op1,final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.add(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.add(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 
 	// =================================================================================================================
 	// Subtract
 	
-	private static BigDecimalBinding subtract(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2,
-			final Observable... dependencies) {
+	public static BigDecimalBinding subtract(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
 		if ((op1 == null) || (op2 == null)) {
 			throw new NullPointerException("Operands cannot be null.");
 		}
-		assert (dependencies != null) && (dependencies.length > 0);
-	
-		return new BigDecimalBinding() {
-			{
-				super.bind(dependencies);
-			}
-	
-			@Override
-			public void dispose() {
-				super.unbind(dependencies);
-			}
-	
-			@Override
-			protected BigDecimal computeValue() {
-				return op1.get().subtract(op2.get());
-			}
-	
-			@Override
-	
-			public ObservableList<?> getDependencies() {
-				return (dependencies.length == 1)?
-						FXCollections.singletonObservableList(dependencies[0])
-						: new ImmutableObservableList<Observable>(dependencies);
-			}
-		};
-	}
 
-	public static BigDecimalBinding subtract(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
-		return Bindings.subtract(op1, op2, op1, op2);
+		if (isConstant(op1) && isConstant(op2)) {
+			return new FoldedBinding() {
+				@Override
+				protected BigDecimal computeValue() {
+					return op1.get().subtract(op2.get());
+				}
+			};
+		}
+		if (isConstant(op2, BigDecimal.ZERO) && (op1 instanceof BigDecimalBinding)) {
+			return (BigDecimalBinding) op1;
+		}
+	
+		return new BigDecimalOperationBinding(Operator.SUBTRACT, op1, op2);
 	}
 
 	public static BigDecimalBinding subtract(final ObservableBigDecimalValue op1, double op2) {
-		return (BigDecimalBinding) Bindings.subtract(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.subtract(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BigDecimalBinding subtract(final ObservableBigDecimalValue op1, int op2) {
-		return (BigDecimalBinding) Bindings.subtract(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.subtract(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BigDecimalBinding subtract(final ObservableBigDecimalValue op1, long op2) {
-		return (BigDecimalBinding) Bindings.subtract(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.subtract(op1, BigDecimalConstant.valueOf(op2));
 	}
 	
 	public static BigDecimalBinding subtract(double op1, final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.subtract(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.subtract(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BigDecimalBinding subtract(int op1, final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.subtract(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.subtract(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BigDecimalBinding subtract(long op1,final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.subtract(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.subtract(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	// =================================================================================================================
 	// Multiply
 	
 
-	private static BigDecimalBinding multiply(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2,
-			final Observable... dependencies) {
+	public static BigDecimalBinding multiply(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
 		if ((op1 == null) || (op2 == null)) {
 			throw new NullPointerException("Operands cannot be null.");
 		}
-		assert (dependencies != null) && (dependencies.length > 0);
-	
-		return new BigDecimalBinding() {
-			{
-				super.bind(dependencies);
-			}
-	
-			@Override
-			public void dispose() {
-				super.unbind(dependencies);
-			}
-	
-			@Override
-			protected BigDecimal computeValue() {
-				return op1.get().multiply(op2.get());
-			}
-	
-			@Override
-	
-			public ObservableList<?> getDependencies() {
-				return (dependencies.length == 1)?
-						FXCollections.singletonObservableList(dependencies[0])
-						: new ImmutableObservableList<Observable>(dependencies);
-			}
-		};
-	}
 
-	public static BigDecimalBinding multiply(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
-		return Bindings.multiply(op1, op2, op1, op2);
+		if (isConstant(op1) && isConstant(op2)) {
+			return new FoldedBinding() {
+				@Override
+				protected BigDecimal computeValue() {
+					return op1.get().multiply(op2.get());
+				}
+			};
+		}
+		if (foldMultiplyByZero && (isConstantZero(op1) || isConstantZero(op2))) {
+			return new FoldedBinding() {
+				@Override
+				protected BigDecimal computeValue() {
+					return BigDecimal.ZERO;
+				}
+			};
+		}
+		if (isConstant(op2, BigDecimal.ONE) && (op1 instanceof BigDecimalBinding)) {
+			return (BigDecimalBinding) op1;
+		}
+		if (isConstant(op1, BigDecimal.ONE) && (op2 instanceof BigDecimalBinding)) {
+			return (BigDecimalBinding) op2;
+		}
+	
+		return new BigDecimalOperationBinding(Operator.MULTIPLY, op1, op2);
 	}
 
 	public static BigDecimalBinding multiply(final ObservableBigDecimalValue op1, double op2) {
-		return (BigDecimalBinding) Bindings.multiply(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.multiply(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BigDecimalBinding multiply(final ObservableBigDecimalValue op1, int op2) {
-		return (BigDecimalBinding) Bindings.multiply(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.multiply(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BigDecimalBinding multiply(final ObservableBigDecimalValue op1, long op2) {
-		return (BigDecimalBinding) Bindings.multiply(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.multiply(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BigDecimalBinding multiply(double op1, final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.multiply(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.multiply(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BigDecimalBinding multiply(int op1, final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.multiply(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.multiply(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BigDecimalBinding multiply(long op1,final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.multiply(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.multiply(BigDecimalConstant.valueOf(op1), op2);
 	}
 	// =================================================================================================================
 	// Multiply
 	
-	private static BigDecimalBinding divide(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2,
-			final Observable... dependencies) {
+	public static BigDecimalBinding divide(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
 		if ((op1 == null) || (op2 == null)) {
 			throw new NullPointerException("Operands cannot be null.");
 		}
-		assert (dependencies != null) && (dependencies.length > 0);
-	
-		return new BigDecimalBinding() {
-			{
-				super.bind(dependencies);
-			}
-	
-			@Override
-			public void dispose() {
-				super.unbind(dependencies);
-			}
-	
-			@Override
-			protected BigDecimal computeValue() {
-				return op1.get().divide(op2.get());
-			}
-	
-			@Override
-	
-			public ObservableList<?> getDependencies() {
-				return (dependencies.length == 1)?
-						FXCollections.singletonObservableList(dependencies[0])
-						: new ImmutableObservableList<Observable>(dependencies);
-			}
-		};
-	}
 
-	public static BigDecimalBinding divide(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
-		return Bindings.divide(op1, op2, op1, op2);
+		if (isConstant(op1) && isConstant(op2)) {
+			return new FoldedBinding() {
+				@Override
+				protected BigDecimal computeValue() {
+					return op1.get().divide(op2.get());
+				}
+			};
+		}
+		if (isConstant(op2, BigDecimal.ONE) && (op1 instanceof BigDecimalBinding)) {
+			return (BigDecimalBinding) op1;
+		}
+	
+		return new BigDecimalOperationBinding(Operator.DIVIDE, op1, op2);
 	}
 
 	public static BigDecimalBinding divide(final ObservableBigDecimalValue op1, double op2) {
-		return (BigDecimalBinding) Bindings.divide(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.divide(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BigDecimalBinding divide(final ObservableBigDecimalValue op1, int op2) {
-		return (BigDecimalBinding) Bindings.divide(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.divide(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BigDecimalBinding divide(final ObservableBigDecimalValue op1, long op2) {
-		return (BigDecimalBinding) Bindings.divide(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BigDecimalBinding) Bindings.divide(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BigDecimalBinding divide(double op1, final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.divide(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.divide(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BigDecimalBinding divide(int op1, final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.divide(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.divide(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BigDecimalBinding divide(long op1,final ObservableBigDecimalValue op2) {
-		return (BigDecimalBinding) Bindings.divide(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BigDecimalBinding) Bindings.divide(BigDecimalConstant.valueOf(op1), op2);
 	}
 	// =================================================================================================================
-	// Equals
-	
-	private static BooleanBinding equal(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2, final Observable... dependencies) {
-		if ((op1 == null) || (op2 == null)) {
+	// Sum and Product
+
+	private static ObservableBigDecimalValue[] operands(final ObservableBigDecimalValue[] values) {
+		if (values == null) {
 			throw new NullPointerException("Operands cannot be null.");
 		}
-		assert (dependencies != null) && (dependencies.length > 0);
-	
-			return new BooleanBinding() {
-				{
-					super.bind(dependencies);
-				}
-	
-				@Override
-				public void dispose() {
-					super.unbind(dependencies);
-				}
-	
-				@Override
-				protected boolean computeValue() {
-					return op1.get().compareTo(op2.get()) == 0;
-				}
-	
-				@Override
-	
-				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
-				}
-			};
+		final ObservableBigDecimalValue[] copy = values.clone();
+		for (final ObservableBigDecimalValue value : copy) {
+			if (value == null) {
+				throw new NullPointerException("Operands cannot be null.");
+			}
+		}
+		return copy;
 	}
 
-	public static BooleanBinding equal(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
-		return Bindings.equal(op1, op2, op1, op2);
+	private static ObservableBigDecimalValue[] operands(final Collection<? extends ObservableBigDecimalValue> values) {
+		if (values == null) {
+			throw new NullPointerException("Operands cannot be null.");
+		}
+		return operands(values.toArray(new ObservableBigDecimalValue[values.size()]));
 	}
 
-	public static BooleanBinding equal(final ObservableBigDecimalValue op1, double op2) {
-		return (BooleanBinding) Bindings.equal(op1, BigDecimalConstant.valueOf(op2), op1);
-	}
+	/**
+	 * Creates a new {@link br.com.fxport.properties.BigDecimalBinding} that
+	 * calculates the sum of all given values.
+	 * <p>
+	 * Unlike a chain of {@link #add(ObservableBigDecimalValue, ObservableBigDecimalValue)}
+	 * calls, the result is a single node: it subscribes once to each operand and
+	 * adds all of them in one loop, so invalidation does not walk a chain of
+	 * intermediate bindings. The sum of no operands is {@code 0}.
+	 *
+	 * @param values
+	 *            the operands
+	 * @return the new {@code BigDecimalBinding}
+	 * @throws NullPointerException
+	 *             if the array or one of the operands is {@code null}
+	 */
+	public static BigDecimalBinding sum(final ObservableBigDecimalValue... values) {
+		final ObservableBigDecimalValue[] ops = operands(values);
 
-	public static BooleanBinding equal(final ObservableBigDecimalValue op1, int op2) {
-		return (BooleanBinding) Bindings.equal(op1, BigDecimalConstant.valueOf(op2), op1);
+		return new BigDecimalBinding() {
+			{
+				super.bind(ops);
+			}
+
+			@Override
+			public void dispose() {
+				super.unbind(ops);
+			}
+
+			@Override
+			protected BigDecimal computeValue() {
+				BigDecimal result = BigDecimal.ZERO;
+				for (final ObservableBigDecimalValue op : ops) {
+					result = result.add(op.get());
+				}
+				return result;
+			}
+
+			private ObservableList<?> dependencyList;
+
+			@Override
+			public ObservableList<?> getDependencies() {
+				if (dependencyList == null) {
+					dependencyList = Bindings.dependencyList(ops);
+				}
+				return dependencyList;
+			}
+		};
 	}
 
-	public static BooleanBinding equal(final ObservableBigDecimalValue op1, long op2) {
-		return (BooleanBinding) Bindings.equal(op1, BigDecimalConstant.valueOf(op2), op1);
+	/**
+	 * Creates a new {@link br.com.fxport.properties.BigDecimalBinding} that
+	 * calculates the sum of all values in the collection. The collection is
+	 * copied, later changes to it are not reflected in the binding.
+	 *
+	 * @param values
+	 *            the operands
+	 * @return the new {@code BigDecimalBinding}
+	 * @throws NullPointerException
+	 *             if the collection or one of the operands is {@code null}
+	 * @see #sum(ObservableBigDecimalValue...)
+	 */
+	public static BigDecimalBinding sum(final Collection<? extends ObservableBigDecimalValue> values) {
+		return sum(operands(values));
 	}
 
-	public static BooleanBinding equal(double op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.equal(BigDecimalConstant.valueOf(op1), op2, op2);
+	/**
+	 * Creates a new {@link br.com.fxport.properties.BigDecimalBinding} that
+	 * calculates the product of all given values as a single node. The product
+	 * of no operands is {@code 1}.
+	 *
+	 * @param values
+	 *            the operands
+	 * @return the new {@code BigDecimalBinding}
+	 * @throws NullPointerException
+	 *             if the array or one of the operands is {@code null}
+	 * @see #sum(ObservableBigDecimalValue...)
+	 */
+	public static BigDecimalBinding product(final ObservableBigDecimalValue... values) {
+		final ObservableBigDecimalValue[] ops = operands(values);
+
+		return new BigDecimalBinding() {
+			{
+				super.bind(ops);
+			}
+
+			@Override
+			public void dispose() {
+				super.unbind(ops);
+			}
+
+			@Override
+			protected BigDecimal computeValue() {
+				BigDecimal result = BigDecimal.ONE;
+				for (final ObservableBigDecimalValue op : ops) {
+					result = result.multiply(op.get());
+				}
+				return result;
+			}
+
+			private ObservableList<?> dependencyList;
+
+			@Override
+			public ObservableList<?> getDependencies() {
+				if (dependencyList == null) {
+					dependencyList = Bindings.dependencyList(ops);
+				}
+				return dependencyList;
+			}
+		};
 	}
 
-	public static BooleanBinding equal(int op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.equal(BigDecimalConstant.valueOf(op1), op2, op2);
+	/**
+	 * Creates a new {@link br.com.fxport.properties.BigDecimalBinding} that
+	 * calculates the product of all values in the collection. The collection
+	 * is copied, later changes to it are not reflected in the binding.
+	 *
+	 * @param values
+	 *            the operands
+	 * @return the new {@code BigDecimalBinding}
+	 * @throws NullPointerException
+	 *             if the collection or one of the operands is {@code null}
+	 * @see #product(ObservableBigDecimalValue...)
+	 */
+	public static BigDecimalBinding product(final Collection<? extends ObservableBigDecimalValue> values) {
+		return product(operands(values));
 	}
 
-	public static BooleanBinding equal(long op1,final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.equal(BigDecimalConstant.valueOf(op1), op2, op2);
+	/**
+	 * Creates a new {@link br.com.fxport.properties.BigDecimalSumBinding} that
+	 * calculates the sum of all given values and, when some of them change,
+	 * updates the total with {@code total - old + new} for the changed operands
+	 * only. This trades one listener and one cached value per operand for
+	 * recomputation work proportional to the number of changed operands, which
+	 * pays off for large sums where few inputs change at a time.
+	 *
+	 * @param values
+	 *            the operands
+	 * @return the new {@code BigDecimalSumBinding}
+	 * @throws NullPointerException
+	 *             if the array or one of the operands is {@code null}
+	 * @see #sum(ObservableBigDecimalValue...)
+	 */
+	public static BigDecimalSumBinding incrementalSum(final ObservableBigDecimalValue... values) {
+		return new BigDecimalSumBinding(operands(values));
+	}
+
+	/**
+	 * Creates a new {@link br.com.fxport.properties.BigDecimalSumBinding} over
+	 * all values in the collection. The collection is copied, later changes to
+	 * it are not reflected in the binding.
+	 *
+	 * @param values
+	 *            the operands
+	 * @return the new {@code BigDecimalSumBinding}
+	 * @throws NullPointerException
+	 *             if the collection or one of the operands is {@code null}
+	 * @see #incrementalSum(ObservableBigDecimalValue...)
+	 */
+	public static BigDecimalSumBinding incrementalSum(final Collection<? extends ObservableBigDecimalValue> values) {
+		return new BigDecimalSumBinding(operands(values));
 	}
 
 	// =================================================================================================================
-	// Not Equals
-	
-	private static BooleanBinding notEqual(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2, final Observable... dependencies) {
+	// List aggregates
+
+	/**
+	 * Creates a new {@link BigDecimalBinding} that calculates the sum of the
+	 * values in an {@link ObservableList} and follows changes of the list as
+	 * well as of its elements. Each change costs work proportional to the
+	 * number of changed elements, see
+	 * {@link br.com.fxport.properties.BigDecimalListAggregateBinding}.
+	 * Elements with a {@code null} value are ignored.
+	 *
+	 * @param list
+	 *            the list of values
+	 * @return the new {@code BigDecimalBinding}
+	 * @throws NullPointerException
+	 *             if the list is {@code null}
+	 */
+	public static BigDecimalBinding sum(final ObservableList<? extends ObservableBigDecimalValue> list) {
+		return new BigDecimalListAggregateBinding(list, false) {
+			@Override
+			protected BigDecimal computeValue() {
+				return getTotal();
+			}
+		};
+	}
+
+	/**
+	 * Creates a new {@link BigDecimalBinding} that calculates the average of
+	 * the values in an {@link ObservableList}, rounded to
+	 * {@link MathContext#DECIMAL128}, and follows changes of the list as well
+	 * as of its elements. Elements with a {@code null} value are ignored, the
+	 * average of no values is zero.
+	 *
+	 * @param list
+	 *            the list of values
+	 * @return the new {@code BigDecimalBinding}
+	 * @throws NullPointerException
+	 *             if the list is {@code null}
+	 * @see #sum(ObservableList)
+	 */
+	public static BigDecimalBinding avg(final ObservableList<? extends ObservableBigDecimalValue> list) {
+		return new BigDecimalListAggregateBinding(list, false) {
+			@Override
+			protected BigDecimal computeValue() {
+				final int count = getCount();
+				return (count == 0) ? BigDecimal.ZERO : getTotal().divide(BigDecimal.valueOf(count), MathContext.DECIMAL128);
+			}
+		};
+	}
+
+	/**
+	 * Creates a new {@link BigDecimalBinding} that calculates the minimum of
+	 * the values in an {@link ObservableList} in O(log n) per changed element.
+	 * Elements with a {@code null} value are ignored, the minimum of no values
+	 * is zero. Of numerically equal values with different scales, any one
+	 * may be returned.
+	 *
+	 * @param list
+	 *            the list of values
+	 * @return the new {@code BigDecimalBinding}
+	 * @throws NullPointerException
+	 *             if the list is {@code null}
+	 * @see #sum(ObservableList)
+	 */
+	public static BigDecimalBinding min(final ObservableList<? extends ObservableBigDecimalValue> list) {
+		return new BigDecimalListAggregateBinding(list, true) {
+			@Override
+			protected BigDecimal computeValue() {
+				final BigDecimal min = getMinimum();
+				return (min == null) ? BigDecimal.ZERO : min;
+			}
+		};
+	}
+
+	/**
+	 * Creates a new {@link BigDecimalBinding} that calculates the maximum of
+	 * the values in an {@link ObservableList} in O(log n) per changed element.
+	 * Elements with a {@code null} value are ignored, the maximum of no values
+	 * is zero. Of numerically equal values with different scales, any one
+	 * may be returned.
+	 *
+	 * @param list
+	 *            the list of values
+	 * @return the new {@code BigDecimalBinding}
+	 * @throws NullPointerException
+	 *             if the list is {@code null}
+	 * @see #sum(ObservableList)
+	 */
+	public static BigDecimalBinding max(final ObservableList<? extends ObservableBigDecimalValue> list) {
+		return new BigDecimalListAggregateBinding(list, true) {
+			@Override
+			protected BigDecimal computeValue() {
+				final BigDecimal max = getMaximum();
+				return (max == null) ? BigDecimal.ZERO : max;
+			}
+		};
+	}
+
+	/**
+	 * Creates a new {@link javafx.beans.binding.IntegerBinding} with the
+	 * position of the smallest value in an {@link ObservableList}, or -1 if
+	 * there is none, backed by a
+	 * {@link br.com.fxport.properties.BigDecimalSegmentTree}. To observe
+	 * several extrema of the same list, create one tree and use its bindings.
+	 *
+	 * @param list
+	 *            the list of values
+	 * @return the new {@code IntegerBinding}
+	 * @throws NullPointerException
+	 *             if the list is {@code null}
+	 */
+	public static IntegerBinding argMin(final ObservableList<? extends ObservableBigDecimalValue> list) {
+		return new BigDecimalSegmentTree(list).argMin();
+	}
+
+	/**
+	 * Creates a new {@link javafx.beans.binding.IntegerBinding} with the
+	 * position of the largest value in an {@link ObservableList}, or -1 if
+	 * there is none, backed by a
+	 * {@link br.com.fxport.properties.BigDecimalSegmentTree}.
+	 *
+	 * @param list
+	 *            the list of values
+	 * @return the new {@code IntegerBinding}
+	 * @throws NullPointerException
+	 *             if the list is {@code null}
+	 * @see #argMin(ObservableList)
+	 */
+	public static IntegerBinding argMax(final ObservableList<? extends ObservableBigDecimalValue> list) {
+		return new BigDecimalSegmentTree(list).argMax();
+	}
+
+	// =================================================================================================================
+	// Fixed point
+
+	private static long unscaledAt(final ObservableFixedPointValue op, final int scale) {
+		return FixedPointArithmetic.rescale(op.getUnscaledValue(), op.getScale(), scale, RoundingMode.UNNECESSARY);
+	}
+
+	/**
+	 * Creates a new {@link br.com.fxport.properties.FixedPointDecimalBinding}
+	 * that calculates the sum of two fixed point values on their unscaled
+	 * {@code long}s. The scale of the result is the larger of both scales, like
+	 * {@link BigDecimal#add(BigDecimal)}. The calculation falls back to
+	 * {@code BigDecimal} if an operand or the result does not fit into a
+	 * {@code long}.
+	 *
+	 * @param op1
+	 *            the first operand
+	 * @param op2
+	 *            the second operand
+	 * @return the new {@code FixedPointDecimalBinding}
+	 * @throws NullPointerException
+	 *             if one of the operands is {@code null}
+	 */
+	public static FixedPointDecimalBinding add(final ObservableFixedPointValue op1, final ObservableFixedPointValue op2) {
 		if ((op1 == null) || (op2 == null)) {
 			throw new NullPointerException("Operands cannot be null.");
 		}
-		assert (dependencies != null) && (dependencies.length > 0);
-	
-			return new BooleanBinding() {
-				{
-					super.bind(dependencies);
+		final int scale = Math.max(op1.getScale(), op2.getScale());
+
+		return new FixedPointDecimalBinding(scale) {
+			{
+				super.bind(op1, op2);
+			}
+
+			@Override
+			public void dispose() {
+				super.unbind(op1, op2);
+			}
+
+			@Override
+			protected long computeUnscaledValue() {
+				return Math.addExact(unscaledAt(op1, scale), unscaledAt(op2, scale));
+			}
+
+			@Override
+			protected BigDecimal computeValue() {
+				return op1.get().add(op2.get());
+			}
+
+			private ObservableList<?> dependencyList;
+
+			@Override
+			public ObservableList<?> getDependencies() {
+				if (dependencyList == null) {
+					dependencyList = Bindings.dependencyList(op1, op2);
 				}
-	
-				@Override
-				public void dispose() {
-					super.unbind(dependencies);
+				return dependencyList;
+			}
+		};
+	}
+
+	/**
+	 * Creates a new {@link br.com.fxport.properties.FixedPointDecimalBinding}
+	 * that calculates the difference of two fixed point values on their
+	 * unscaled {@code long}s. The scale of the result is the larger of both
+	 * scales, like {@link BigDecimal#subtract(BigDecimal)}.
+	 *
+	 * @param op1
+	 *            the first operand
+	 * @param op2
+	 *            the second operand
+	 * @return the new {@code FixedPointDecimalBinding}
+	 * @throws NullPointerException
+	 *             if one of the operands is {@code null}
+	 * @see #add(ObservableFixedPointValue, ObservableFixedPointValue)
+	 */
+	public static FixedPointDecimalBinding subtract(final ObservableFixedPointValue op1, final ObservableFixedPointValue op2) {
+		if ((op1 == null) || (op2 == null)) {
+			throw new NullPointerException("Operands cannot be null.");
+		}
+		final int scale = Math.max(op1.getScale(), op2.getScale());
+
+		return new FixedPointDecimalBinding(scale) {
+			{
+				super.bind(op1, op2);
+			}
+
+			@Override
+			public void dispose() {
+				super.unbind(op1, op2);
+			}
+
+			@Override
+			protected long computeUnscaledValue() {
+				return Math.subtractExact(unscaledAt(op1, scale), unscaledAt(op2, scale));
+			}
+
+			@Override
+			protected BigDecimal computeValue() {
+				return op1.get().subtract(op2.get());
+			}
+
+			private ObservableList<?> dependencyList;
+
+			@Override
+			public ObservableList<?> getDependencies() {
+				if (dependencyList == null) {
+					dependencyList = Bindings.dependencyList(op1, op2);
 				}
-	
-				@Override
-				protected boolean computeValue() {
-					return op1.get().compareTo(op2.get()) != 0;
+				return dependencyList;
+			}
+		};
+	}
+
+	/**
+	 * Creates a new {@link br.com.fxport.properties.FixedPointDecimalBinding}
+	 * that calculates the exact product of two fixed point values on their
+	 * unscaled {@code long}s. The scale of the result is the sum of both
+	 * scales, like {@link BigDecimal#multiply(BigDecimal)}.
+	 *
+	 * @param op1
+	 *            the first operand
+	 * @param op2
+	 *            the second operand
+	 * @return the new {@code FixedPointDecimalBinding}
+	 * @throws NullPointerException
+	 *             if one of the operands is {@code null}
+	 * @see #add(ObservableFixedPointValue, ObservableFixedPointValue)
+	 */
+	public static FixedPointDecimalBinding multiply(final ObservableFixedPointValue op1, final ObservableFixedPointValue op2) {
+		if ((op1 == null) || (op2 == null)) {
+			throw new NullPointerException("Operands cannot be null.");
+		}
+
+		return new FixedPointDecimalBinding(op1.getScale() + op2.getScale()) {
+			{
+				super.bind(op1, op2);
+			}
+
+			@Override
+			public void dispose() {
+				super.unbind(op1, op2);
+			}
+
+			@Override
+			protected long computeUnscaledValue() {
+				return Math.multiplyExact(op1.getUnscaledValue(), op2.getUnscaledValue());
+			}
+
+			@Override
+			protected BigDecimal computeValue() {
+				return op1.get().multiply(op2.get());
+			}
+
+			private ObservableList<?> dependencyList;
+
+			@Override
+			public ObservableList<?> getDependencies() {
+				if (dependencyList == null) {
+					dependencyList = Bindings.dependencyList(op1, op2);
 				}
+				return dependencyList;
+			}
+		};
+	}
+
+	/**
+	 * Creates a new {@link br.com.fxport.properties.FixedPointDecimalBinding}
+	 * that calculates the product of two fixed point values rounded to
+	 * {@code scale}, e.g. a price at scale 8 times a quantity giving an amount
+	 * at scale 2.
+	 *
+	 * @param op1
+	 *            the first operand
+	 * @param op2
+	 *            the second operand
+	 * @param scale
+	 *            the scale of the result
+	 * @param roundingMode
+	 *            the rounding mode used when digits are dropped
+	 * @return the new {@code FixedPointDecimalBinding}
+	 * @throws NullPointerException
+	 *             if one of the operands or the {@code roundingMode} is {@code null}
+	 * @see #multiply(ObservableFixedPointValue, ObservableFixedPointValue)
+	 */
+	public static FixedPointDecimalBinding multiply(final ObservableFixedPointValue op1, final ObservableFixedPointValue op2,
+			final int scale, final RoundingMode roundingMode) {
+		if ((op1 == null) || (op2 == null)) {
+			throw new NullPointerException("Operands cannot be null.");
+		}
+		if (roundingMode == null) {
+			throw new NullPointerException("Rounding mode cannot be null.");
+		}
+
+		return new FixedPointDecimalBinding(scale) {
+			{
+				super.bind(op1, op2);
+			}
+
+			@Override
+			public void dispose() {
+				super.unbind(op1, op2);
+			}
+
+			@Override
+			protected long computeUnscaledValue() {
+				final long product = Math.multiplyExact(op1.getUnscaledValue(), op2.getUnscaledValue());
+				return FixedPointArithmetic.rescale(product, op1.getScale() + op2.getScale(), scale, roundingMode);
+			}
+
+			@Override
+			protected BigDecimal computeValue() {
+				return op1.get().multiply(op2.get()).setScale(scale, roundingMode);
+			}
+
+			private ObservableList<?> dependencyList;
+
+			@Override
+			public ObservableList<?> getDependencies() {
+				if (dependencyList == null) {
+					dependencyList = Bindings.dependencyList(op1, op2);
+				}
+				return dependencyList;
+			}
+		};
+	}
+
+	// =================================================================================================================
+	// Equals
 	
-				@Override
+	public static BooleanBinding equal(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
+		if ((op1 == null) || (op2 == null)) {
+			throw new NullPointerException("Operands cannot be null.");
+		}
 	
-				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
-				}
-			};
+		return new BigDecimalComparisonBinding(Comparison.EQUAL, op1, op2);
+	}
+
+	public static BooleanBinding equal(final ObservableBigDecimalValue op1, double op2) {
+		return (BooleanBinding) Bindings.equal(op1, BigDecimalConstant.valueOf(op2));
+	}
+
+	public static BooleanBinding equal(final ObservableBigDecimalValue op1, int op2) {
+		return (BooleanBinding) Bindings.equal(op1, BigDecimalConstant.valueOf(op2));
 	}
 
+	public static BooleanBinding equal(final ObservableBigDecimalValue op1, long op2) {
+		return (BooleanBinding) Bindings.equal(op1, BigDecimalConstant.valueOf(op2));
+	}
+
+	public static BooleanBinding equal(double op1, final ObservableBigDecimalValue op2) {
+		return (BooleanBinding) Bindings.equal(BigDecimalConstant.valueOf(op1), op2);
+	}
+
+	public static BooleanBinding equal(int op1, final ObservableBigDecimalValue op2) {
+		return (BooleanBinding) Bindings.equal(BigDecimalConstant.valueOf(op1), op2);
+	}
+
+	public static BooleanBinding equal(long op1,final ObservableBigDecimalValue op2) {
+		return (BooleanBinding) Bindings.equal(BigDecimalConstant.valueOf(op1), op2);
+	}
+
+	// =================================================================================================================
+	// Not Equals
+	
 	public static BooleanBinding notEqual(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
-		return Bindings.notEqual(op1, op2, op1, op2);
+		if ((op1 == null) || (op2 == null)) {
+			throw new NullPointerException("Operands cannot be null.");
+		}
+	
+		return new BigDecimalComparisonBinding(Comparison.NOT_EQUAL, op1, op2);
 	}
 
 	public static BooleanBinding notEqual(final ObservableBigDecimalValue op1, double op2) {
-		return (BooleanBinding) Bindings.notEqual(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.notEqual(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BooleanBinding notEqual(final ObservableBigDecimalValue op1, int op2) {
-		return (BooleanBinding) Bindings.notEqual(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.notEqual(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BooleanBinding notEqual(final ObservableBigDecimalValue op1, long op2) {
-		return (BooleanBinding) Bindings.notEqual(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.notEqual(op1, BigDecimalConstant.valueOf(op2));
 	}
 	
 	public static BooleanBinding notEqual(double op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.notEqual(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.notEqual(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BooleanBinding notEqual(int op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.notEqual(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.notEqual(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BooleanBinding notEqual(long op1,final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.notEqual(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.notEqual(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	// =================================================================================================================
 	// greaterThan
 	
-	private static BooleanBinding greaterThan(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2, final Observable... dependencies) {
+	public static BooleanBinding greaterThan(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
 		if ((op1 == null) || (op2 == null)) {
 			throw new NullPointerException("Operands cannot be null.");
 		}
-		assert (dependencies != null) && (dependencies.length > 0);
-	
-			return new BooleanBinding() {
-				{
-					super.bind(dependencies);
-				}
 	
-				@Override
-				public void dispose() {
-					super.unbind(dependencies);
-				}
-	
-				@Override
-				protected boolean computeValue() {
-					return op1.get().compareTo(op2.get()) > 0;
-				}
-	
-				@Override
-	
-				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
-				}
-			};
-	}
-
-	public static BooleanBinding greaterThan(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
-		return Bindings.greaterThan(op1, op2, op1, op2);
+		return new BigDecimalComparisonBinding(Comparison.GREATER_THAN, op1, op2);
 	}
 
 	public static BooleanBinding greaterThan(final ObservableBigDecimalValue op1, double op2) {
-		return (BooleanBinding) Bindings.greaterThan(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.greaterThan(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BooleanBinding greaterThan(final ObservableBigDecimalValue op1, int op2) {
-		return (BooleanBinding) Bindings.greaterThan(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.greaterThan(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BooleanBinding greaterThan(final ObservableBigDecimalValue op1, long op2) {
-		return (BooleanBinding) Bindings.greaterThan(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.greaterThan(op1, BigDecimalConstant.valueOf(op2));
 	}
 	
 	public static BooleanBinding greaterThan(double op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.greaterThan(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.greaterThan(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BooleanBinding greaterThan(int op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.greaterThan(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.greaterThan(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BooleanBinding greaterThan(long op1,final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.greaterThan(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.greaterThan(BigDecimalConstant.valueOf(op1), op2);
 	}
 	// =================================================================================================================
 	// greaterThan
 	
-	private static BooleanBinding lessThan(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2, final Observable... dependencies) {
+	public static BooleanBinding lessThan(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
 		if ((op1 == null) || (op2 == null)) {
 			throw new NullPointerException("Operands cannot be null.");
 		}
-		assert (dependencies != null) && (dependencies.length > 0);
-	
-			return new BooleanBinding() {
-				{
-					super.bind(dependencies);
-				}
-	
-				@Override
-				public void dispose() {
-					super.unbind(dependencies);
-				}
 	
-				@Override
-				protected boolean computeValue() {
-					return op1.get().compareTo(op2.get()) < 0;
-				}
-	
-				@Override
-	
-				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
-				}
-			};
-	}
-
-	public static BooleanBinding lessThan(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
-		return Bindings.lessThan(op1, op2, op1, op2);
+		return new BigDecimalComparisonBinding(Comparison.LESS_THAN, op1, op2);
 	}
 
 	public static BooleanBinding lessThan(final ObservableBigDecimalValue op1, double op2) {
-		return (BooleanBinding) Bindings.lessThan(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.lessThan(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BooleanBinding lessThan(final ObservableBigDecimalValue op1, int op2) {
-		return (BooleanBinding) Bindings.lessThan(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.lessThan(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BooleanBinding lessThan(final ObservableBigDecimalValue op1, long op2) {
-		return (BooleanBinding) Bindings.lessThan(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.lessThan(op1, BigDecimalConstant.valueOf(op2));
 	}
 	
 	public static BooleanBinding lessThan(double op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.lessThan(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.lessThan(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BooleanBinding lessThan(int op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.lessThan(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.lessThan(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BooleanBinding lessThan(long op1,final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.lessThan(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.lessThan(BigDecimalConstant.valueOf(op1), op2);
 	}
 	// =================================================================================================================
 	// greaterThan
 	
-	private static BooleanBinding greaterThanOrEqual(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2, final Observable... dependencies) {
+	public static BooleanBinding greaterThanOrEqual(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
 		if ((op1 == null) || (op2 == null)) {
 			throw new NullPointerException("Operands cannot be null.");
 		}
-		assert (dependencies != null) && (dependencies.length > 0);
-	
-			return new BooleanBinding() {
-				{
-					super.bind(dependencies);
-				}
-	
-				@Override
-				public void dispose() {
-					super.unbind(dependencies);
-				}
-	
-				@Override
-				protected boolean computeValue() {
-					return op1.get().compareTo(op2.get()) >= 0;
-				}
-	
-				@Override
 	
-				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
-				}
-			};
-	}
-
-	public static BooleanBinding greaterThanOrEqual(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
-		return Bindings.greaterThanOrEqual(op1, op2, op1, op2);
+		return new BigDecimalComparisonBinding(Comparison.GREATER_THAN_OR_EQUAL, op1, op2);
 	}
 
 	public static BooleanBinding greaterThanOrEqual(final ObservableBigDecimalValue op1, double op2) {
-		return (BooleanBinding) Bindings.greaterThanOrEqual(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.greaterThanOrEqual(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BooleanBinding greaterThanOrEqual(final ObservableBigDecimalValue op1, int op2) {
-		return (BooleanBinding) Bindings.greaterThanOrEqual(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.greaterThanOrEqual(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BooleanBinding greaterThanOrEqual(final ObservableBigDecimalValue op1, long op2) {
-		return (BooleanBinding) Bindings.greaterThanOrEqual(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.greaterThanOrEqual(op1, BigDecimalConstant.valueOf(op2));
 	}
 	
 	public static BooleanBinding greaterThanOrEqual(double op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.greaterThanOrEqual(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.greaterThanOrEqual(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BooleanBinding greaterThanOrEqual(int op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.greaterThanOrEqual(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.greaterThanOrEqual(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BooleanBinding greaterThanOrEqual(long op1,final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.greaterThanOrEqual(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.greaterThanOrEqual(BigDecimalConstant.valueOf(op1), op2);
 	}
 	// =================================================================================================================
 	// greaterThan
 	
-	private static BooleanBinding lessThanOrEqual(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2, final Observable... dependencies) {
+	public static BooleanBinding lessThanOrEqual(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
 		if ((op1 == null) || (op2 == null)) {
 			throw new NullPointerException("Operands cannot be null.");
 		}
-		assert (dependencies != null) && (dependencies.length > 0);
-	
-			return new BooleanBinding() {
-				{
-					super.bind(dependencies);
-				}
 	
-				@Override
-				public void dispose() {
-					super.unbind(dependencies);
-				}
-	
-				@Override
-				protected boolean computeValue() {
-					return op1.get().compareTo(op2.get()) <= 0;
-				}
-	
-				@Override
-	
-				public ObservableList<?> getDependencies() {
-					return (dependencies.length == 1)?
-							FXCollections.singletonObservableList(dependencies[0])
-							: new ImmutableObservableList<Observable>(dependencies);
-				}
-			};
-	}
-
-	public static BooleanBinding lessThanOrEqual(final ObservableBigDecimalValue op1, final ObservableBigDecimalValue op2) {
-		return Bindings.lessThanOrEqual(op1, op2, op1, op2);
+		return new BigDecimalComparisonBinding(Comparison.LESS_THAN_OR_EQUAL, op1, op2);
 	}
 
 	public static BooleanBinding lessThanOrEqual(final ObservableBigDecimalValue op1, double op2) {
-		return (BooleanBinding) Bindings.lessThanOrEqual(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.lessThanOrEqual(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BooleanBinding lessThanOrEqual(final ObservableBigDecimalValue op1, int op2) {
-		return (BooleanBinding) Bindings.lessThanOrEqual(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.lessThanOrEqual(op1, BigDecimalConstant.valueOf(op2));
 	}
 
 	public static BooleanBinding lessThanOrEqual(final ObservableBigDecimalValue op1, long op2) {
-		return (BooleanBinding) Bindings.lessThanOrEqual(op1, BigDecimalConstant.valueOf(op2), op1);
+		return (BooleanBinding) Bindings.lessThanOrEqual(op1, BigDecimalConstant.valueOf(op2));
 	}
 	
 	public static BooleanBinding lessThanOrEqual(double op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.lessThanOrEqual(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.lessThanOrEqual(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BooleanBinding lessThanOrEqual(int op1, final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.lessThanOrEqual(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.lessThanOrEqual(BigDecimalConstant.valueOf(op1), op2);
 	}
 
 	public static BooleanBinding lessThanOrEqual(long op1,final ObservableBigDecimalValue op2) {
-		return (BooleanBinding) Bindings.lessThanOrEqual(BigDecimalConstant.valueOf(op1), op2, op2);
+		return (BooleanBinding) Bindings.lessThanOrEqual(BigDecimalConstant.valueOf(op1), op2);
 	}
 	
 	
@@ -1786,4 +2293,71 @@ public final class Bindings {
         return StringFormatter.format(locale, format, args);
     }
 
+    /**
+     * Creates a {@link javafx.beans.binding.StringBinding} that holds the
+     * value of an {@link ObservableBigDecimalValue} turned into a
+     * {@code String}, without any formatting applied.
+     *
+     * @param value
+     *            the {@code ObservableBigDecimalValue} to convert
+     * @return the new {@code StringBinding}
+     * @throws NullPointerException
+     *             if {@code value} is {@code null}
+     * @see BigDecimalStringBinding
+     */
+    public static StringBinding convert(ObservableBigDecimalValue value) {
+        return new BigDecimalStringBinding(value, null, "%s");
+    }
+
+    /**
+     * Creates a {@link javafx.beans.binding.StringBinding} that holds the
+     * value of an {@link ObservableBigDecimalValue} formatted according to a
+     * format {@code String}, like {@link #format(String, Object...)}.
+     * <p>
+     * Formats supported by {@link BigDecimalStringBinding} are parsed once and
+     * the binding does not format again for a numerically equal value; other
+     * formats go through {@code java.util.Formatter}.
+     *
+     * @param format
+     *            the formatting {@code String}
+     * @param value
+     *            the {@code ObservableBigDecimalValue} to format
+     * @return the new {@code StringBinding}
+     * @throws NullPointerException
+     *             if {@code format} or {@code value} is {@code null}
+     */
+    public static StringBinding format(String format, ObservableBigDecimalValue value) {
+        if (BigDecimalStringBinding.isSupported(format)) {
+            return new BigDecimalStringBinding(value, format);
+        }
+        return (StringBinding) StringFormatter.format(format, value);
+    }
+
+    /**
+     * Creates a {@link javafx.beans.binding.StringBinding} that holds the
+     * value of an {@link ObservableBigDecimalValue} formatted according to a
+     * format {@code String} and a specified {@code Locale}, like
+     * {@link #format(Locale, String, Object...)}.
+     * <p>
+     * Formats supported by {@link BigDecimalStringBinding} are parsed once and
+     * the binding does not format again for a numerically equal value; other
+     * formats go through {@code java.util.Formatter}.
+     *
+     * @param locale
+     *            the {@code Locale} to use during formatting
+     * @param format
+     *            the formatting {@code String}
+     * @param value
+     *            the {@code ObservableBigDecimalValue} to format
+     * @return the new {@code StringBinding}
+     * @throws NullPointerException
+     *             if {@code format} or {@code value} is {@code null}
+     */
+    public static StringBinding format(Locale locale, String format, ObservableBigDecimalValue value) {
+        if (BigDecimalStringBinding.isSupported(format)) {
+            return new BigDecimalStringBinding(value, locale, format);
+        }
+        return (StringBinding) StringFormatter.format(locale, format, value);
+    }
+
 }
@@ -0,0 +1,272 @@
+package br.com.fxport.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+import javafx.util.StringConverter;
+
+/**
+ * A {@link StringConverter} between {@code BigDecimal} and text written with
+ * the separators of a {@code Locale}, e.g. {@code "1.234.567,89"} for
+ * {@code Locale.GERMANY}.
+ * <p>
+ * {@link #fromString(String)} reads the text in one pass, straight into the
+ * unscaled value and the scale of the result; no {@code Number} or
+ * {@code double} is created on the way, and as long as there are at most 18
+ * digits, no {@code BigInteger} either; longer values are built 18 digits at
+ * a time. It accepts an optional sign, the digits of the locale or ASCII
+ * digits, grouping separators in the integer part, one decimal separator and
+ * an exponent ({@code E} or {@code e}).
+ * Surrounding whitespace is ignored. If the grouping separator of the locale
+ * is a space, any space character is accepted in its place. Empty text gives
+ * {@code null}, anything else that is not a number throws a
+ * {@link NumberFormatException}, so the converter can be used with
+ * {@link Bindings#bindBidirectional(javafx.beans.property.Property, javafx.beans.property.Property, StringConverter)}.
+ * <p>
+ * {@link #toString(BigDecimal)} writes the plain value, without exponent, with
+ * the decimal separator of the locale and, if requested, grouping separators;
+ * its result is read back to an equal value. Instances hold no mutable state
+ * and may be shared between threads.
+ */
+public class DecimalStringConverter extends StringConverter<BigDecimal> {
+
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final BigInteger[] POWERS_OF_TEN = new BigInteger[MAX_LONG_DIGITS + 1];
+
+    static {
+        for (int i = 0; i <= MAX_LONG_DIGITS; i++) {
+            POWERS_OF_TEN[i] = BigInteger.TEN.pow(i);
+        }
+    }
+
+    private final char zero;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final int groupingSize;
+    private final char minusSign;
+    private final boolean spaceGrouping;
+    private final boolean grouping;
+
+    /**
+     * Creates a converter for the default {@code Locale} for formatting,
+     * without grouping separators in {@link #toString(BigDecimal)}.
+     */
+    public DecimalStringConverter() {
+        this(Locale.getDefault(Locale.Category.FORMAT), false);
+    }
+
+    /**
+     * Creates a converter for {@code locale}, without grouping separators in
+     * {@link #toString(BigDecimal)}.
+     *
+     * @param locale
+     *            the {@code Locale} of the text
+     * @throws NullPointerException
+     *             if {@code locale} is {@code null}
+     */
+    public DecimalStringConverter(Locale locale) {
+        this(locale, false);
+    }
+
+    /**
+     * Creates a converter for {@code locale}.
+     *
+     * @param locale
+     *            the {@code Locale} of the text
+     * @param grouping
+     *            {@code true} to write grouping separators in
+     *            {@link #toString(BigDecimal)}
+     * @throws NullPointerException
+     *             if {@code locale} is {@code null}
+     */
+    public DecimalStringConverter(Locale locale, boolean grouping) {
+        if (locale == null) {
+            throw new NullPointerException("Locale cannot be null.");
+        }
+        final DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        this.zero = symbols.getZeroDigit();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.minusSign = symbols.getMinusSign();
+        this.spaceGrouping = Character.isSpaceChar(groupingSeparator);
+        final NumberFormat format = NumberFormat.getNumberInstance(locale);
+        final int size = (format instanceof DecimalFormat) ? ((DecimalFormat) format).getGroupingSize() : 3;
+        this.groupingSize = (size > 0) ? size : 3;
+        this.grouping = grouping;
+    }
+
+    /**
+     * Parses {@code string} as described above.
+     *
+     * @param string
+     *            the text to parse, may be {@code null}
+     * @return the value, or {@code null} if {@code string} is {@code null} or
+     *         blank
+     * @throws NumberFormatException
+     *             if {@code string} is not a number
+     */
+    @Override
+    public BigDecimal fromString(String string) {
+        if (string == null) {
+            return null;
+        }
+        int start = 0;
+        int end = string.length();
+        while ((start < end) && Character.isWhitespace(string.charAt(start))) {
+            start++;
+        }
+        while ((end > start) && Character.isWhitespace(string.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+        int i = start;
+        boolean negative = false;
+        char c = string.charAt(i);
+        if ((c == '-') || (c == minusSign)) {
+            negative = true;
+            i++;
+        } else if (c == '+') {
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        long scale = 0;
+        // the leading digits once they do not fit in a long, in chunks of 18
+        BigInteger big = null;
+        boolean anyDigit = false;
+        boolean fraction = false;
+        boolean afterDigit = false;
+        boolean afterGrouping = false;
+        for (; i < end; i++) {
+            c = string.charAt(i);
+            final int digit = digit(c);
+            if (digit >= 0) {
+                anyDigit = true;
+                afterDigit = true;
+                afterGrouping = false;
+                if (fraction) {
+                    scale++;
+                }
+                if ((big != null) || (digits > 0) || (digit > 0)) {
+                    if (digits == MAX_LONG_DIGITS) {
+                        big = append(big, unscaled, digits);
+                        unscaled = 0;
+                        digits = 0;
+                    }
+                    unscaled = unscaled * 10 + digit;
+                    digits++;
+                }
+            } else if ((c == decimalSeparator) && !fraction && !afterGrouping) {
+                fraction = true;
+                afterDigit = false;
+            } else if (!fraction && afterDigit && isGroupingSeparator(c)) {
+                afterDigit = false;
+                afterGrouping = true;
+            } else if (((c == 'e') || (c == 'E')) && anyDigit && !afterGrouping) {
+                scale -= parseExponent(string, i + 1, end);
+                break;
+            } else {
+                throw invalid(string);
+            }
+        }
+        if (!anyDigit || afterGrouping || (scale != (int) scale)) {
+            throw invalid(string);
+        }
+        if (big == null) {
+            return BigDecimal.valueOf(negative ? -unscaled : unscaled, (int) scale);
+        }
+        final BigInteger value = append(big, unscaled, digits);
+        return new BigDecimal(negative ? value.negate() : value, (int) scale);
+    }
+
+    private static BigInteger append(BigInteger big, long chunk, int digits) {
+        final BigInteger value = BigInteger.valueOf(chunk);
+        return (big == null) ? value : big.multiply(POWERS_OF_TEN[digits]).add(value);
+    }
+
+    private long parseExponent(String string, int from, int end) {
+        int i = from;
+        boolean negative = false;
+        if ((i < end) && ((string.charAt(i) == '-') || (string.charAt(i) == minusSign))) {
+            negative = true;
+            i++;
+        } else if ((i < end) && (string.charAt(i) == '+')) {
+            i++;
+        }
+        if (i == end) {
+            throw invalid(string);
+        }
+        long exponent = 0;
+        for (; i < end; i++) {
+            final int digit = digit(string.charAt(i));
+            if ((digit < 0) || (exponent > Integer.MAX_VALUE)) {
+                throw invalid(string);
+            }
+            exponent = exponent * 10 + digit;
+        }
+        return negative ? -exponent : exponent;
+    }
+
+    private boolean isGroupingSeparator(char c) {
+        return (c == groupingSeparator) || (spaceGrouping && Character.isSpaceChar(c));
+    }
+
+    private static NumberFormatException invalid(String string) {
+        return new NumberFormatException("Not a number: \"" + string + "\"");
+    }
+
+    private int digit(char c) {
+        if ((c >= '0') && (c <= '9')) {
+            return c - '0';
+        }
+        final int d = c - zero;
+        return ((d >= 0) && (d <= 9)) ? d : -1;
+    }
+
+    /**
+     * Writes {@code value} as described above.
+     *
+     * @param value
+     *            the value to write, may be {@code null}
+     * @return the text, or an empty {@code String} if {@code value} is
+     *         {@code null}
+     */
+    @Override
+    public String toString(BigDecimal value) {
+        if (value == null) {
+            return "";
+        }
+        final String plain = value.toPlainString();
+        final int length = plain.length();
+        final int from = (plain.charAt(0) == '-') ? 1 : 0;
+        int dot = plain.indexOf('.');
+        if (dot < 0) {
+            dot = length;
+        }
+        final StringBuilder sb = new StringBuilder(length + (grouping ? dot / groupingSize : 0) + 1);
+        if (from == 1) {
+            sb.append(minusSign);
+        }
+        final int offset = zero - '0';
+        for (int i = from; i < dot; i++) {
+            sb.append((char) (plain.charAt(i) + offset));
+            final int remaining = dot - i - 1;
+            if (grouping && (remaining > 0) && ((remaining % groupingSize) == 0)) {
+                sb.append(groupingSeparator);
+            }
+        }
+        if (dot < length) {
+            sb.append(decimalSeparator);
+            for (int i = dot + 1; i < length; i++) {
+                sb.append((char) (plain.charAt(i) + offset));
+            }
+        }
+        return sb.toString();
+    }
+}
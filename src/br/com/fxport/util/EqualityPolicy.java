@@ -0,0 +1,62 @@
+package br.com.fxport.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Decides whether a new {@code BigDecimal} value is the same as the current
+ * one, i.e. whether storing it should notify listeners and invalidate the
+ * dependent bindings.
+ */
+public enum EqualityPolicy {
+
+    /**
+     * Values are the same only if they are the same instance. A freshly
+     * created {@code BigDecimal} is always a change.
+     */
+    REFERENCE {
+        @Override
+        public boolean isSame(BigDecimal oldValue, BigDecimal newValue) {
+            return oldValue == newValue;
+        }
+    },
+
+    /**
+     * Values are the same if {@link BigDecimal#compareTo(BigDecimal)} returns
+     * {@code 0}, so {@code 10.0} and {@code 10.00} are the same.
+     */
+    NUMERIC {
+        @Override
+        public boolean isSame(BigDecimal oldValue, BigDecimal newValue) {
+            if (oldValue == newValue) {
+                return true;
+            }
+            return (oldValue != null) && (newValue != null) && (oldValue.compareTo(newValue) == 0);
+        }
+    },
+
+    /**
+     * Values are the same if {@link BigDecimal#equals(Object)} returns
+     * {@code true}, so {@code 10.0} and {@code 10.00} are different.
+     */
+    EQUALS {
+        @Override
+        public boolean isSame(BigDecimal oldValue, BigDecimal newValue) {
+            if (oldValue == newValue) {
+                return true;
+            }
+            return (oldValue != null) && oldValue.equals(newValue);
+        }
+    };
+
+    /**
+     * Returns {@code true} if {@code newValue} is the same as
+     * {@code oldValue} under this policy. Both values may be {@code null}.
+     *
+     * @param oldValue
+     *            the current value
+     * @param newValue
+     *            the candidate value
+     * @return {@code true} if the values are the same
+     */
+    public abstract boolean isSame(BigDecimal oldValue, BigDecimal newValue);
+}
@@ -0,0 +1,136 @@
+package br.com.fxport.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Helpers for unscaled {@code long} values at a fixed scale, as used by
+ * {@link br.com.fxport.interfaces.ObservableFixedPointValue}. Every method
+ * either returns an exact (or correctly rounded) result or throws an
+ * {@link ArithmeticException}, so callers can fall back to {@code BigDecimal}.
+ */
+public final class FixedPointArithmetic {
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        long p = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = p;
+            p *= 10;
+        }
+    }
+
+    private FixedPointArithmetic() {
+    }
+
+    /**
+     * Changes the scale of an unscaled value, rounding with {@code mode} when
+     * the scale is reduced.
+     *
+     * @param unscaled
+     *            the unscaled value at {@code fromScale}
+     * @param fromScale
+     *            the current scale
+     * @param toScale
+     *            the requested scale
+     * @param mode
+     *            the rounding mode used when digits are dropped
+     * @return the unscaled value at {@code toScale}
+     * @throws ArithmeticException
+     *             if the result does not fit into a {@code long}, or rounding
+     *             is needed and {@code mode} is {@code UNNECESSARY}
+     */
+    public static long rescale(long unscaled, int fromScale, int toScale, RoundingMode mode) {
+        if (fromScale == toScale) {
+            return unscaled;
+        }
+        final long diff = (long) toScale - fromScale;
+        if (diff > 0) {
+            if (diff >= POWERS_OF_TEN.length) {
+                if (unscaled == 0) {
+                    return 0;
+                }
+                throw new ArithmeticException("Overflow");
+            }
+            return Math.multiplyExact(unscaled, POWERS_OF_TEN[(int) diff]);
+        }
+        if (-diff >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Scale difference too large");
+        }
+        return divide(unscaled, POWERS_OF_TEN[(int) -diff], mode);
+    }
+
+    /**
+     * Divides {@code value} by a positive {@code divisor}, rounding the
+     * quotient with {@code mode} like {@link BigDecimal#divide} would.
+     *
+     * @param value
+     *            the dividend
+     * @param divisor
+     *            the divisor, must be positive
+     * @param mode
+     *            the rounding mode
+     * @return the rounded quotient
+     * @throws ArithmeticException
+     *             if rounding is needed and {@code mode} is
+     *             {@code UNNECESSARY}
+     */
+    public static long divide(long value, long divisor, RoundingMode mode) {
+        final long quotient = value / divisor;
+        final long remainder = value % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        final int sign = (value < 0) ? -1 : 1;
+        final boolean increment;
+        switch (mode) {
+        case UNNECESSARY:
+            throw new ArithmeticException("Rounding necessary");
+        case DOWN:
+            increment = false;
+            break;
+        case UP:
+            increment = true;
+            break;
+        case FLOOR:
+            increment = sign < 0;
+            break;
+        case CEILING:
+            increment = sign > 0;
+            break;
+        default:
+            // |remainder| < divisor <= 10^18, so doubling it cannot overflow
+            final int half = Long.compare(Math.abs(remainder) * 2, divisor);
+            if (half != 0) {
+                increment = half > 0;
+            } else if (mode == RoundingMode.HALF_UP) {
+                increment = true;
+            } else if (mode == RoundingMode.HALF_DOWN) {
+                increment = false;
+            } else {
+                increment = (quotient & 1) != 0;
+            }
+            break;
+        }
+        return increment ? quotient + sign : quotient;
+    }
+
+    /**
+     * Returns the unscaled {@code long} of {@code value} at {@code scale}.
+     *
+     * @param value
+     *            the value to convert
+     * @param scale
+     *            the requested scale
+     * @param mode
+     *            the rounding mode used when digits are dropped
+     * @return the unscaled value
+     * @throws ArithmeticException
+     *             if the value does not fit into a {@code long} at
+     *             {@code scale}
+     */
+    public static long toUnscaled(BigDecimal value, int scale, RoundingMode mode) {
+        return value.setScale(scale, mode).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,363 @@
+package br.com.fxport.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.com.fxport.interfaces.ObservableBigDecimalValue;
+import br.com.fxport.util.BigDecimalExpressionCompiler.Program;
+import com.sun.javafx.binding.Logging;
+
+/**
+ * Generates a hidden class per shape of a compiled formula, see
+ * {@link BigDecimalExpressionCompiler.Backend#BYTECODE}.
+ * <p>
+ * The class implements {@link Evaluator} with straight-line code: every
+ * register of the {@link Program} is a local variable, the leaves are read
+ * with one {@code get()} each, the constants are loaded from an array and
+ * every instruction is one {@code BigDecimal} call. There are no branches,
+ * so the class file needs no stack map frames. Formulas of the same shape,
+ * the same code over different leaves and constants, share the class,
+ * which is kept in a cache of at most {@value #MAX_SHAPES} shapes. A shape
+ * whose code exceeds {@value #MAX_CODE_LENGTH} bytes, or whose class could
+ * not be defined, is cached as unavailable and interpreted.
+ */
+final class FormulaClassGenerator {
+
+    /**
+     * The evaluator of one shape.
+     */
+    interface Evaluator {
+
+        /**
+         * Evaluates the formula.
+         *
+         * @param leaves
+         *            the leaves of the formula
+         * @param constants
+         *            the constants of the formula
+         * @return the value of the formula
+         */
+        BigDecimal evaluate(ObservableBigDecimalValue[] leaves, BigDecimal[] constants);
+    }
+
+    static final int MAX_SHAPES = 1024;
+    // a method may have 65535 bytes of code, but HotSpot does not compile
+    // methods over 8000 bytes (HugeMethodLimit), they would stay in its
+    // bytecode interpreter and be slower than interpreting the program
+    private static final int MAX_CODE_LENGTH = 8000;
+    private static final int MAX_LOCALS = 65535;
+
+    // cached for the shapes that are interpreted, so they are not generated again
+    private static final Evaluator UNAVAILABLE = (leaves, constants) -> {
+        throw new AssertionError();
+    };
+
+    private static final Map<Shape, Evaluator> CACHE = new ConcurrentHashMap<>();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final String CLASS_NAME = "br/com/fxport/util/FormulaClassGenerator$Formula";
+    private static final String EVALUATOR = "br/com/fxport/util/FormulaClassGenerator$Evaluator";
+    private static final String VALUE = "br/com/fxport/interfaces/ObservableBigDecimalValue";
+    private static final String DECIMAL = "java/math/BigDecimal";
+    private static final String UNARY = "()Ljava/math/BigDecimal;";
+    private static final String BINARY = "(Ljava/math/BigDecimal;)Ljava/math/BigDecimal;";
+    private static final String[] OPERATIONS = { "add", "subtract", "multiply", "divide", "negate" };
+
+    private FormulaClassGenerator() {
+    }
+
+    /**
+     * Returns the evaluator of the shape of {@code program}, generating it on
+     * the first use of the shape.
+     *
+     * @param program
+     *            the program
+     * @return the evaluator, or {@code null} if the code of the program is
+     *         too large, the cache is full or the class could not be
+     *         defined; the formula is interpreted then
+     */
+    static Evaluator evaluatorFor(Program program) {
+        if (3 + program.registerCount() > MAX_LOCALS) {
+            return null;
+        }
+        final Shape shape = new Shape(program);
+        Evaluator evaluator = CACHE.get(shape);
+        if (evaluator == null) {
+            if (CACHE.size() >= MAX_SHAPES) {
+                return null;
+            }
+            evaluator = define(program);
+            final Evaluator previous = CACHE.putIfAbsent(shape, evaluator);
+            if (previous != null) {
+                evaluator = previous;
+            }
+        }
+        return (evaluator == UNAVAILABLE) ? null : evaluator;
+    }
+
+    /**
+     * Returns the number of shapes in the cache.
+     */
+    static int getShapeCount() {
+        return CACHE.size();
+    }
+
+    private static Evaluator define(Program program) {
+        try {
+            final byte[] bytes = generate(program);
+            if (bytes == null) {
+                return UNAVAILABLE;
+            }
+            final Class<?> type = LOOKUP.defineHiddenClass(bytes, true).lookupClass();
+            return (Evaluator) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | IOException e) {
+            Logging.getLogger().warning("Could not generate a formula class, interpreting the formula", e);
+            return UNAVAILABLE;
+        }
+    }
+
+    /**
+     * Returns the class file of the shape of {@code program}, or {@code null}
+     * if its {@code evaluate} method would exceed {@value #MAX_CODE_LENGTH}
+     * bytes of code.
+     */
+    private static byte[] generate(Program program) throws IOException {
+        final ConstantPool pool = new ConstantPool();
+        final int thisClass = pool.classRef(CLASS_NAME);
+        final int superClass = pool.classRef("java/lang/Object");
+        final int evaluator = pool.classRef(EVALUATOR);
+        final int objectInit = pool.methodRef("java/lang/Object", "<init>", "()V", false);
+        final int get = pool.methodRef(VALUE, "get", UNARY, true);
+        final int[] operations = new int[OPERATIONS.length];
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            operations[i] = pool.methodRef(DECIMAL, OPERATIONS[i], (i == Program.NEGATE) ? UNARY : BINARY, false);
+        }
+        final int init = pool.utf8("<init>");
+        final int initType = pool.utf8("()V");
+        final int evaluate = pool.utf8("evaluate");
+        final int evaluateType = pool.utf8("([L" + VALUE + ";[L" + DECIMAL + ";)L" + DECIMAL + ";");
+        final int codeAttribute = pool.utf8("Code");
+
+        // locals: 0 this, 1 leaves, 2 constants, 3.. the registers
+        final Code body = new Code();
+        final int leaves = program.leaves.length;
+        final int constants = program.constants.length;
+        for (int i = 0; i < leaves; i++) {
+            body.op(0x2B); // aload_1
+            body.pushInt(i);
+            body.op(0x32); // aaload
+            body.op(0xB9).u2(get).u1(1).u1(0); // invokeinterface get
+            body.local(0x3A, 3 + i); // astore
+        }
+        for (int i = 0; i < constants; i++) {
+            body.op(0x2C); // aload_2
+            body.pushInt(i);
+            body.op(0x32); // aaload
+            body.local(0x3A, 3 + leaves + i); // astore
+        }
+        final int[] code = program.code;
+        int target = leaves + constants;
+        for (int pc = 0; pc < code.length; pc += 3) {
+            body.local(0x19, 3 + code[pc + 1]); // aload
+            if (code[pc] != Program.NEGATE) {
+                body.local(0x19, 3 + code[pc + 2]); // aload
+            }
+            body.op(0xB6).u2(operations[code[pc]]); // invokevirtual
+            body.local(0x3A, 3 + target++); // astore
+        }
+        body.local(0x19, 3 + program.result); // aload
+        body.op(0xB0); // areturn
+        if (body.size() > MAX_CODE_LENGTH) {
+            return null;
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(61); // Java 17
+        pool.write(out);
+        out.writeShort(0x0010 | 0x0020); // final, super
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(1);
+        out.writeShort(evaluator);
+        out.writeShort(0); // fields
+        out.writeShort(2); // methods
+
+        final Code constructor = new Code();
+        constructor.op(0x2A); // aload_0
+        constructor.op(0xB7).u2(objectInit); // invokespecial
+        constructor.op(0xB1); // return
+        writeMethod(out, 0x0001, init, initType, codeAttribute, 1, 1, constructor);
+        writeMethod(out, 0x0001 | 0x0010, evaluate, evaluateType, codeAttribute, 2, 3 + target, body);
+
+        out.writeShort(0); // attributes
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeMethod(DataOutputStream out, int access, int name, int type, int codeAttribute,
+            int maxStack, int maxLocals, Code code) throws IOException {
+        out.writeShort(access);
+        out.writeShort(name);
+        out.writeShort(type);
+        out.writeShort(1);
+        out.writeShort(codeAttribute);
+        out.writeInt(12 + code.size());
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.size());
+        code.writeTo(out);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // attributes
+    }
+
+    /**
+     * The bytecode of a method.
+     */
+    private static final class Code extends ByteArrayOutputStream {
+
+        Code op(int opcode) {
+            write(opcode);
+            return this;
+        }
+
+        Code u1(int value) {
+            write(value);
+            return this;
+        }
+
+        Code u2(int value) {
+            write(value >>> 8);
+            write(value);
+            return this;
+        }
+
+        void pushInt(int value) {
+            if (value <= 5) {
+                op(0x03 + value); // iconst_<n>
+            } else if (value <= Byte.MAX_VALUE) {
+                op(0x10).u1(value); // bipush
+            } else {
+                // larger indexes only occur in bodies over the code limit
+                op(0x11).u2(value); // sipush
+            }
+        }
+
+        void local(int opcode, int index) {
+            if (index <= 0xFF) {
+                op(opcode).u1(index);
+            } else {
+                op(0xC4).op(opcode).u2(index); // wide
+            }
+        }
+    }
+
+    /**
+     * The constant pool of the generated class, without duplicates.
+     */
+    private static final class ConstantPool {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) throws IOException {
+            final Integer index = entries.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            out.writeByte(1);
+            out.writeUTF(value);
+            return add("U" + value);
+        }
+
+        int classRef(String name) throws IOException {
+            final int nameIndex = utf8(name);
+            final Integer index = entries.get("C" + name);
+            if (index != null) {
+                return index;
+            }
+            out.writeByte(7);
+            out.writeShort(nameIndex);
+            return add("C" + name);
+        }
+
+        int methodRef(String owner, String name, String type, boolean isInterface) throws IOException {
+            final int ownerIndex = classRef(owner);
+            final int nameIndex = utf8(name);
+            final int typeIndex = utf8(type);
+            final String key = "N" + name + ' ' + type;
+            Integer nameAndType = entries.get(key);
+            if (nameAndType == null) {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(typeIndex);
+                nameAndType = add(key);
+            }
+            out.writeByte(isInterface ? 11 : 10);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+            return add("M" + owner + '.' + name + type);
+        }
+
+        private int add(String key) {
+            entries.put(key, count);
+            return count++;
+        }
+
+        void write(DataOutputStream target) throws IOException {
+            out.flush();
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+    }
+
+    /**
+     * The shape of a program: its code and register layout, without the
+     * leaves and the values of the constants.
+     */
+    private static final class Shape {
+
+        private final int[] code;
+        private final int leaves;
+        private final int constants;
+        private final int result;
+        private final int hash;
+
+        Shape(Program program) {
+            this.code = program.code;
+            this.leaves = program.leaves.length;
+            this.constants = program.constants.length;
+            this.result = program.result;
+            this.hash = (((((Arrays.hashCode(code) * 31) + leaves) * 31) + constants) * 31) + result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Shape)) {
+                return false;
+            }
+            final Shape other = (Shape) obj;
+            return (hash == other.hash) && (leaves == other.leaves) && (constants == other.constants)
+                    && (result == other.result) && Arrays.equals(code, other.code);
+        }
+    }
+}
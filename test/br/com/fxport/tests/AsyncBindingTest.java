@@ -0,0 +1,108 @@
+package br.com.fxport.tests;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import br.com.fxport.properties.AsyncBigDecimalBinding;
+import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+
+/**
+ * Checks that {@link AsyncBigDecimalBinding} publishes a result for every
+ * change of its dependencies, with the computation on the same thread and on
+ * a background thread, and that a change during a computation restarts it
+ * with the new values.
+ */
+public class AsyncBindingTest {
+
+	public static void main(String[] args) throws InterruptedException {
+		sameThread();
+		backgroundThread();
+		restartedByChange();
+		System.out.println("AsyncBindingTest passed");
+	}
+
+	private static void sameThread() {
+		BigDecimalProperty a = new SimpleBigDecimalProperty(BigDecimal.ONE);
+		BigDecimalProperty b = new SimpleBigDecimalProperty(BigDecimal.TEN);
+		AsyncBigDecimalBinding sum = new AsyncBigDecimalBinding(
+				values -> ((BigDecimal) values[0]).add((BigDecimal) values[1]), Runnable::run, Runnable::run,
+				BigDecimal.ZERO, a, b);
+		int[] notified = new int[1];
+		sum.addListener(observable -> notified[0]++);
+		List<BigDecimal> published = new ArrayList<>();
+		published.add(sum.get());
+		for (int i = 2; i <= 4; i++) {
+			a.set(BigDecimal.valueOf(i));
+			check(!sum.isValid(), "valid after set(" + i + ")");
+			published.add(sum.get());
+			check(sum.isValid(), "invalid after reading set(" + i + ")");
+		}
+		check(published.toString().equals("[11, 12, 13, 14]"), "published " + published);
+		// the first result was published while adding the listener, then
+		// one notification per change and one per result
+		check(notified[0] == 6, "notified " + notified[0]);
+		sum.dispose();
+	}
+
+	private static void backgroundThread() throws InterruptedException {
+		ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "AsyncBindingTest");
+			thread.setDaemon(true);
+			return thread;
+		});
+		BlockingQueue<Runnable> applyQueue = new LinkedBlockingQueue<>();
+		BigDecimalProperty a = new SimpleBigDecimalProperty(BigDecimal.ONE);
+		AsyncBigDecimalBinding doubled = new AsyncBigDecimalBinding(
+				values -> ((BigDecimal) values[0]).multiply(BigDecimal.valueOf(2)), executor, applyQueue::add,
+				BigDecimal.ZERO, a);
+		int[] notified = new int[1];
+		doubled.addListener(observable -> notified[0]++);
+		for (int i = 1; i <= 3; i++) {
+			a.set(BigDecimal.valueOf(i));
+			check(doubled.get().intValue() == 2 * (i - 1), "value served while computing " + i);
+			Runnable apply = applyQueue.poll(10, TimeUnit.SECONDS);
+			check(apply != null, "no result for " + i);
+			apply.run();
+			check(doubled.get().intValue() == 2 * i, "value after " + i + ": " + doubled.get());
+			check(doubled.isValid() && !doubled.isComputing(), "state after " + i + ": " + doubled);
+		}
+		check(notified[0] >= 3, "notified " + notified[0]);
+		doubled.dispose();
+		executor.shutdown();
+	}
+
+	private static void restartedByChange() {
+		List<Runnable> tasks = new ArrayList<>();
+		List<Runnable> applies = new ArrayList<>();
+		BigDecimalProperty a = new SimpleBigDecimalProperty(BigDecimal.ONE);
+		List<BigDecimal> seen = new ArrayList<>();
+		AsyncBigDecimalBinding copy = new AsyncBigDecimalBinding(values -> {
+			seen.add((BigDecimal) values[0]);
+			return (BigDecimal) values[0];
+		}, tasks::add, applies::add, BigDecimal.ZERO, a);
+		copy.get();
+		a.set(BigDecimal.valueOf(5));
+		check(tasks.size() == 2, "computations started " + tasks.size());
+		for (Runnable task : tasks) {
+			task.run();
+		}
+		check(seen.toString().equals("[5]"), "computed " + seen);
+		check(applies.size() == 1, "results handed over " + applies.size());
+		applies.get(0).run();
+		check(copy.get().intValue() == 5, "value after restart " + copy.get());
+		copy.dispose();
+	}
+
+	static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package br.com.fxport.tests;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.BidirectionalBindings;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+/**
+ * Checks {@link BidirectionalBindings} through {@code asObject()}, with a
+ * {@code DoubleProperty} with and without rounding and with a
+ * {@code StringProperty}, including a text that does not parse, and checks
+ * that {@code unbind} stops both directions.
+ */
+public class BidirectionalBindingsTest {
+
+	public static void main(String[] args) {
+		asObject();
+		doubleProperty();
+		roundedDoubleProperty();
+		stringProperty();
+		unbind();
+		System.out.println("BidirectionalBindingsTest passed");
+	}
+
+	private static void asObject() {
+		BigDecimalProperty decimal = new SimpleBigDecimalProperty(new BigDecimal("1.5"));
+		ObjectProperty<BigDecimal> object = decimal.asObject();
+		check(object.get().equals(new BigDecimal("1.5")), "asObject() starts with " + object.get());
+		object.set(new BigDecimal("2.25"));
+		check(decimal.get().equals(new BigDecimal("2.25")), "object to decimal " + decimal.get());
+		decimal.set(new BigDecimal("3"));
+		check(object.get().equals(new BigDecimal("3")), "decimal to object " + object.get());
+		object.set(new BigDecimal("3.00"));
+		check(decimal.get().toString().equals("3"), "numerically equal value written back " + decimal.get());
+	}
+
+	private static void doubleProperty() {
+		BigDecimalProperty decimal = new SimpleBigDecimalProperty(BigDecimal.ZERO);
+		DoubleProperty number = new SimpleDoubleProperty(0.1);
+		BidirectionalBindings.bind(decimal, number);
+		check(decimal.get().equals(new BigDecimal("0.1")), "bind takes the double " + decimal.get());
+		number.set(1.2345);
+		check(decimal.get().equals(new BigDecimal("1.2345")), "double to decimal " + decimal.get());
+		decimal.set(new BigDecimal("7.5"));
+		check(number.get() == 7.5, "decimal to double " + number.get());
+	}
+
+	private static void roundedDoubleProperty() {
+		BigDecimalProperty decimal = new SimpleBigDecimalProperty(BigDecimal.ZERO);
+		DoubleProperty number = new SimpleDoubleProperty(2.999);
+		BidirectionalBindings.bind(decimal, number, 2, RoundingMode.HALF_UP);
+		check(decimal.get().equals(new BigDecimal("3.00")), "bind rounds " + decimal.get());
+		check(number.get() == 3.0, "bind writes the rounded value back " + number.get());
+		number.set(1.2345);
+		check(decimal.get().equals(new BigDecimal("1.23")), "rounded " + decimal.get());
+		check(number.get() == 1.23, "double normalized to " + number.get());
+		number.set(1.2301);
+		check(decimal.get().equals(new BigDecimal("1.23")) && (number.get() == 1.23),
+				"same rounded value " + decimal.get() + ", " + number.get());
+		decimal.set(new BigDecimal("4.5"));
+		check(number.get() == 4.5, "decimal to double " + number.get());
+	}
+
+	private static void stringProperty() {
+		BigDecimalProperty decimal = new SimpleBigDecimalProperty(BigDecimal.ZERO);
+		StringProperty text = new SimpleStringProperty("1.50");
+		BidirectionalBindings.bind(decimal, text);
+		check(decimal.get().equals(new BigDecimal("1.50")), "bind parses " + decimal.get());
+		decimal.set(new BigDecimal("1.5"));
+		check(text.get().equals("1.50"), "text kept as typed " + text.get());
+		// logs the failure and writes the value of decimal back
+		text.set("not a number");
+		check(text.get().equals("1.5"), "text restored after a parse failure " + text.get());
+		check(decimal.get().equals(new BigDecimal("1.5")), "decimal after a parse failure " + decimal.get());
+		text.set("2");
+		check(decimal.get().equals(new BigDecimal("2")), "binding still works after a failure " + decimal.get());
+		decimal.set(new BigDecimal("8.25"));
+		check(text.get().equals("8.25"), "decimal to text " + text.get());
+	}
+
+	private static void unbind() {
+		BigDecimalProperty decimal = new SimpleBigDecimalProperty(BigDecimal.ZERO);
+		DoubleProperty number = new SimpleDoubleProperty(1.0);
+		StringProperty text = new SimpleStringProperty("2");
+		BidirectionalBindings.bind(decimal, number);
+		BidirectionalBindings.unbind(decimal, number);
+		number.set(5.0);
+		check(decimal.get().equals(new BigDecimal("1.0")), "double change after unbind " + decimal.get());
+		BidirectionalBindings.bind(decimal, text);
+		BidirectionalBindings.unbind(decimal, text);
+		decimal.set(BigDecimal.TEN);
+		text.set("3");
+		check(text.get().equals("3") && decimal.get().equals(BigDecimal.TEN),
+				"changes after unbind " + text.get() + ", " + decimal.get());
+	}
+
+	static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
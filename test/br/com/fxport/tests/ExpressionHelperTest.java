@@ -0,0 +1,199 @@
+package br.com.fxport.tests;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import br.com.fxport.util.BigDecimalExpressionHelper;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+
+/**
+ * Checks {@link BigDecimalExpressionHelper} against a list of the added
+ * listeners, for random adds and removes with duplicates while the count
+ * crosses the size where the hash index is built and dropped, and checks
+ * listeners that add or remove listeners during a notification, change
+ * listeners and a throwing listener.
+ */
+public class ExpressionHelperTest {
+
+	private static final SimpleBigDecimalProperty OBSERVABLE = new SimpleBigDecimalProperty(BigDecimal.ZERO);
+
+	private static BigDecimalExpressionHelper helper;
+
+	public static void main(String[] args) {
+		randomOperations(new Random(13), 20000);
+		duplicates(1);
+		duplicates(20);
+		addedDuringNotification(1);
+		addedDuringNotification(3);
+		addedDuringNotification(20);
+		removedDuringNotification(3);
+		removedDuringNotification(20);
+		changeListeners();
+		throwingListener();
+		System.out.println("ExpressionHelperTest passed");
+	}
+
+	private static void randomOperations(Random random, int steps) {
+		helper = null;
+		Counter[] pool = new Counter[24];
+		for (int i = 0; i < pool.length; i++) {
+			pool[i] = new Counter();
+		}
+		List<Counter> added = new ArrayList<>();
+		int maxCount = 0;
+		for (int step = 0; step < steps; step++) {
+			// grow to about 40 listeners and shrink to none, over and over
+			boolean growing = (step / 500) % 2 == 0;
+			Counter counter = pool[random.nextInt(pool.length)];
+			if (random.nextInt(10) < (growing ? 7 : 3)) {
+				helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, counter);
+				added.add(counter);
+			} else {
+				helper = BigDecimalExpressionHelper.removeListener(helper, counter);
+				added.remove(counter);
+			}
+			maxCount = Math.max(maxCount, added.size());
+			check(BigDecimalExpressionHelper.getListenerCount(helper) == added.size(), "count at step " + step);
+			if ((step % 5 == 0) || (added.size() < 3)) {
+				BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+				for (Counter c : pool) {
+					check(c.calls == Collections.frequency(added, c), "calls at step " + step);
+					c.calls = 0;
+				}
+			}
+		}
+		check(maxCount > 32, "never indexed, at most " + maxCount + " listeners");
+	}
+
+	private static void duplicates(int others) {
+		helper = null;
+		addCounters(others);
+		Counter counter = new Counter();
+		for (int i = 0; i < 3; i++) {
+			helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, counter);
+		}
+		helper = BigDecimalExpressionHelper.removeListener(helper, counter);
+		helper = BigDecimalExpressionHelper.removeListener(helper, new Counter());
+		BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+		check(counter.calls == 2, "duplicate notified " + counter.calls + " times, " + others + " others");
+		check(BigDecimalExpressionHelper.getListenerCount(helper) == others + 2, "count with duplicates");
+	}
+
+	private static void addedDuringNotification(int others) {
+		helper = null;
+		Counter late = new Counter();
+		InvalidationListener adding = new InvalidationListener() {
+			@Override
+			public void invalidated(Observable observable) {
+				helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, late);
+			}
+		};
+		helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, adding);
+		Counter[] counters = addCounters(others - 1);
+		BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+		check(late.calls == 0, "listener added during a notification notified, " + others + " listeners");
+		for (Counter c : counters) {
+			check(c.calls == 1, "listener missed while adding, " + others + " listeners");
+		}
+		BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+		check(late.calls == 1, "listener added during a notification not notified after it");
+	}
+
+	private static void removedDuringNotification(int others) {
+		helper = null;
+		Counter[] counters = new Counter[others];
+		InvalidationListener removing = new InvalidationListener() {
+			@Override
+			public void invalidated(Observable observable) {
+				// removes every second one, the first run leaves holes
+				for (int i = 0; i < counters.length; i += 2) {
+					helper = BigDecimalExpressionHelper.removeListener(helper, counters[i]);
+				}
+			}
+		};
+		helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, removing);
+		for (int i = 0; i < others; i++) {
+			counters[i] = new Counter();
+			helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, counters[i]);
+		}
+		BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+		for (int i = 0; i < others; i++) {
+			check(counters[i].calls == (i % 2), "listener " + i + " of " + others + " after removing during a notification");
+		}
+		int remaining = 1 + others / 2;
+		check(BigDecimalExpressionHelper.getListenerCount(helper) == remaining, "count after removing");
+		BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+		for (int i = 1; i < others; i += 2) {
+			check(counters[i].calls == 2, "listener " + i + " of " + others + " after compacting");
+		}
+	}
+
+	private static void changeListeners() {
+		helper = null;
+		OBSERVABLE.set(BigDecimal.ZERO);
+		Counter counter = new Counter();
+		List<String> changes = new ArrayList<>();
+		ChangeListener<BigDecimal> change = (observable, oldValue, newValue) -> changes.add(oldValue + "->" + newValue);
+		helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, change);
+		helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, counter);
+		BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+		OBSERVABLE.set(BigDecimal.ONE);
+		BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+		helper = BigDecimalExpressionHelper.removeListener(helper, change);
+		OBSERVABLE.set(BigDecimal.TEN);
+		BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+		check(changes.equals(List.of("0->1")), "changes " + changes);
+		check(counter.calls == 3, "invalidations " + counter.calls);
+		check(BigDecimalExpressionHelper.getListenerCount(helper) == 1, "count after removing the change listener");
+	}
+
+	private static void throwingListener() {
+		helper = null;
+		helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, (InvalidationListener) observable -> {
+			throw new IllegalStateException("expected by ExpressionHelperTest");
+		});
+		Counter counter = new Counter();
+		helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, counter);
+		int[] caught = new int[1];
+		Thread thread = Thread.currentThread();
+		Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+		thread.setUncaughtExceptionHandler((t, e) -> caught[0]++);
+		try {
+			BigDecimalExpressionHelper.fireValueChangedEvent(helper);
+		} finally {
+			thread.setUncaughtExceptionHandler(handler);
+		}
+		check((counter.calls == 1) && (caught[0] == 1), "notified " + counter.calls + ", caught " + caught[0]);
+	}
+
+	private static Counter[] addCounters(int count) {
+		Counter[] counters = new Counter[count];
+		for (int i = 0; i < count; i++) {
+			counters[i] = new Counter();
+			helper = BigDecimalExpressionHelper.addListener(helper, OBSERVABLE, counters[i]);
+		}
+		return counters;
+	}
+
+	static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+
+	private static class Counter implements InvalidationListener {
+
+		int calls;
+
+		@Override
+		public void invalidated(Observable observable) {
+			calls++;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package br.com.fxport.tests;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import br.com.fxport.properties.BigDecimalProperty;
+import br.com.fxport.properties.BigDecimalSegmentTree;
+import br.com.fxport.properties.SimpleBigDecimalProperty;
+import javafx.beans.InvalidationListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Checks {@link BigDecimalSegmentTree} against a scan of the list, for
+ * random inserts, removes, sets, sorts and value changes, and checks that a
+ * listener removing itself during a notification does not hide it from the
+ * others.
+ */
+public class SegmentTreeTest {
+
+	public static void main(String[] args) {
+		randomOperations(new Random(15), 20000);
+		listenerRemovedDuringNotification();
+		throwingListener();
+		System.out.println("SegmentTreeTest passed");
+	}
+
+	private static void randomOperations(Random random, int steps) {
+		ObservableList<BigDecimalProperty> list = FXCollections.observableArrayList();
+		BigDecimalSegmentTree tree = new BigDecimalSegmentTree(list);
+		for (int step = 0; step < steps; step++) {
+			int operation = random.nextInt(6);
+			if ((operation == 0) || list.isEmpty()) {
+				list.add(random.nextInt(list.size() + 1), property(random));
+			} else if (operation == 1) {
+				list.remove(random.nextInt(list.size()));
+			} else if (operation == 2) {
+				list.set(random.nextInt(list.size()), property(random));
+			} else if (operation == 3) {
+				if (random.nextInt(50) == 0) {
+					FXCollections.sort(list, (a, b) -> compare(a.get(), b.get()));
+				}
+			} else {
+				list.get(random.nextInt(list.size())).set(value(random));
+			}
+			if ((step % 7 == 0) || (list.size() < 4)) {
+				int[] expected = scan(list);
+				check(tree.getArgMin() == expected[0], "argMin at step " + step);
+				check(tree.getArgMax() == expected[1], "argMax at step " + step);
+				check(tree.argMin().get() == expected[0], "argMin() at step " + step);
+				check(tree.argMax().get() == expected[1], "argMax() at step " + step);
+				BigDecimal min = (expected[0] < 0) ? BigDecimal.ZERO : list.get(expected[0]).get();
+				BigDecimal max = (expected[1] < 0) ? BigDecimal.ZERO : list.get(expected[1]).get();
+				check(tree.min().get().equals(min), "min() at step " + step);
+				check(tree.max().get().equals(max), "max() at step " + step);
+			}
+		}
+		tree.dispose();
+	}
+
+	private static void listenerRemovedDuringNotification() {
+		ObservableList<BigDecimalProperty> list = FXCollections.observableArrayList();
+		BigDecimalSegmentTree tree = new BigDecimalSegmentTree(list);
+		int[] notified = new int[2];
+		InvalidationListener first = new InvalidationListener() {
+			@Override
+			public void invalidated(javafx.beans.Observable observable) {
+				notified[0]++;
+				observable.removeListener(this);
+			}
+		};
+		tree.addListener(first);
+		tree.addListener(observable -> notified[1]++);
+		list.add(new SimpleBigDecimalProperty(BigDecimal.ONE));
+		tree.getMax();
+		list.add(new SimpleBigDecimalProperty(BigDecimal.TEN));
+		check((notified[0] == 1) && (notified[1] == 2), "notified " + notified[0] + ", " + notified[1]);
+	}
+
+	private static void throwingListener() {
+		ObservableList<BigDecimalProperty> list = FXCollections.observableArrayList();
+		BigDecimalSegmentTree tree = new BigDecimalSegmentTree(list);
+		int[] notified = new int[1];
+		tree.addListener(observable -> {
+			throw new IllegalStateException("expected by SegmentTreeTest");
+		});
+		tree.addListener(observable -> notified[0]++);
+		Thread thread = Thread.currentThread();
+		Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+		thread.setUncaughtExceptionHandler((t, e) -> {
+		});
+		try {
+			list.add(new SimpleBigDecimalProperty(BigDecimal.ONE));
+		} finally {
+			thread.setUncaughtExceptionHandler(handler);
+		}
+		check(notified[0] == 1, "listener after a throwing one notified " + notified[0]);
+	}
+
+	private static int[] scan(ObservableList<BigDecimalProperty> list) {
+		int min = -1;
+		int max = -1;
+		for (int i = 0; i < list.size(); i++) {
+			BigDecimal value = list.get(i).get();
+			if (value == null) {
+				continue;
+			}
+			if ((min < 0) || (value.compareTo(list.get(min).get()) < 0)) {
+				min = i;
+			}
+			if ((max < 0) || (value.compareTo(list.get(max).get()) > 0)) {
+				max = i;
+			}
+		}
+		return new int[] { min, max };
+	}
+
+	private static int compare(BigDecimal a, BigDecimal b) {
+		if (a == null) {
+			return (b == null) ? 0 : -1;
+		}
+		return (b == null) ? 1 : a.compareTo(b);
+	}
+
+	private static BigDecimalProperty property(Random random) {
+		return new SimpleBigDecimalProperty(value(random));
+	}
+
+	private static BigDecimal value(Random random) {
+		// few distinct values, so ties are common
+		return (random.nextInt(20) == 0) ? null : BigDecimal.valueOf(random.nextInt(40) - 20, random.nextInt(2));
+	}
+
+	static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}